@@ -0,0 +1,109 @@
+package com.collaberadigital.librarysystem.benchmark;
+
+import com.collaberadigital.librarysystem.LibrarySystemApplication;
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.service.BorrowerService;
+import com.collaberadigital.librarysystem.service.BorrowingService;
+import com.collaberadigital.librarysystem.service.LibraryBookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark of the borrow and return flows and of the book listing through the service
+ * layer, against the embedded H2 database of the dev profile. Each borrow invocation borrows
+ * one of the registered books and returns it again, so the book is available for the next round.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingFlowBenchmark {
+
+    /**
+     * Number of books registered and borrowed in turn.
+     */
+    @Param("64")
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private LibraryBookService bookService;
+    private BorrowingService borrowingService;
+    private long[] bookIds;
+    private long borrowerId;
+    private int next;
+
+    /**
+     * Starts the application without a web server and registers the books and the borrower.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibrarySystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=dev",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        bookService = context.getBean(LibraryBookService.class);
+        bookIds = IntStream.range(0, books)
+                .mapToLong(i -> bookService.registerBook(LibraryBookRequestDTO.builder()
+                        .isbn(String.format("978-0-%06d-0", i))
+                        .title("Benchmark title " + i)
+                        .author("Benchmark author")
+                        .build()).getId())
+                .toArray();
+        borrowerId = context.getBean(BorrowerService.class).registerBorrower(BorrowerRequestDTO.builder()
+                .name("Benchmark Borrower")
+                .email("benchmark@library.com")
+                .build()).getId();
+        borrowingService = context.getBean(BorrowingService.class);
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Borrows the next book and returns it.
+     */
+    @Benchmark
+    public BorrowingInfoDTO borrowAndReturnBook() {
+        final long bookId = bookIds[next++ % bookIds.length];
+        final BorrowingInfoDTO borrowing = borrowingService.borrowBook(bookId, borrowerId);
+
+        return borrowingService.returnBook(borrowing.getId());
+    }
+
+    /**
+     * Lists all registered books as a single page, without the total.
+     */
+    @Benchmark
+    public LibraryBookPageResponseDTO listBooks() {
+        return bookService.getAllBooks(0, books, "title", "asc", false);
+    }
+}
@@ -0,0 +1,201 @@
+package com.collaberadigital.librarysystem.benchmark;
+
+import com.collaberadigital.librarysystem.dto.BorrowerDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.mapper.BorrowerMapper;
+import com.collaberadigital.librarysystem.mapper.BorrowingMapper;
+import com.collaberadigital.librarysystem.mapper.LibraryBookMapper;
+import com.collaberadigital.librarysystem.model.BookCatalog;
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.service.impl.LibraryBookServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of the DTO mappers and of the validation and page response helpers of the
+ * services. The mapping of a page of books is also measured with reflective property
+ * copying, as a baseline for the mappers. The service helpers are private, so they are
+ * invoked through method handles, which the JIT inlines like a direct call once the
+ * handles are constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final MethodHandle VALIDATE_ISBN = findHelper(LibraryBookServiceImpl.class,
+            "validateIsbn", MethodType.methodType(void.class, BookCatalog.class, LibraryBookRequestDTO.class));
+
+    private static final MethodHandle CREATE_RESPONSE = findHelper(LibraryBookServiceImpl.class,
+            "createResponse", MethodType.methodType(
+                    LibraryBookPageResponseDTO.class, List.class, Slice.class, int.class, int.class, long.class));
+
+    /**
+     * Number of books on the mapped page.
+     */
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private LibraryBookServiceImpl bookService;
+    private LibraryBook book;
+    private Borrower borrower;
+    private Borrowing borrowing;
+    private LibraryBookRequestDTO bookRequest;
+    private List<LibraryBook> pageBooks;
+    private List<LibraryBookDTO> pageContent;
+    private Slice<LibraryBook> page;
+
+    /**
+     * Creates the services, without repositories or indexes as the helpers do not use them, and the
+     * entities to map.
+     */
+    @Setup
+    public void setUp() {
+        bookService = new LibraryBookServiceImpl(null, null, null, null, null, null);
+
+        final BookCatalog catalog = BookCatalog.builder()
+                .id(1L)
+                .isbn("0-061-96436-0")
+                .title("Secret seven adventures")
+                .author("Enid Bliton")
+                .totalCopies(pageSize)
+                .build();
+        book = LibraryBook.builder().id(1L).catalog(catalog).build();
+        borrower = Borrower.builder().id(1L).name("Udara Wikum").email("udarawikum@gmail.com").build();
+        borrowing = Borrowing.builder()
+                .id(1L)
+                .book(book)
+                .borrower(borrower)
+                .borrowDate(LocalDateTime.now())
+                .build();
+        bookRequest = LibraryBookRequestDTO.builder()
+                .isbn(catalog.getIsbn())
+                .title(catalog.getTitle())
+                .author(catalog.getAuthor())
+                .build();
+
+        pageBooks = IntStream.range(0, pageSize)
+                .<LibraryBook>mapToObj(i -> LibraryBook.builder().id((long) i).catalog(catalog).build())
+                .toList();
+        page = new SliceImpl<>(pageBooks, PageRequest.of(0, pageSize), true);
+        pageContent = pageBooks.stream().map(LibraryBookMapper::toDto).toList();
+    }
+
+    /**
+     * Maps a library book and its catalog entry to a LibraryBookDTO.
+     */
+    @Benchmark
+    public LibraryBookDTO mapToBookDto() {
+        return LibraryBookMapper.toDto(book);
+    }
+
+    /**
+     * Maps a borrower to a BorrowerDTO.
+     */
+    @Benchmark
+    public BorrowerDTO toBorrowerDto() {
+        return BorrowerMapper.toDto(borrower);
+    }
+
+    /**
+     * Maps a borrowing along with its borrower and book to a BorrowingInfoDTO.
+     */
+    @Benchmark
+    public BorrowingInfoDTO mapBorrowingResponse() {
+        return BorrowingMapper.toDto(borrowing);
+    }
+
+    /**
+     * Maps a page of library books to LibraryBookDTOs.
+     */
+    @Benchmark
+    public List<LibraryBookDTO> mapPage() {
+        return pageBooks.stream().map(LibraryBookMapper::toDto).toList();
+    }
+
+    /**
+     * Maps a page of library books to LibraryBookDTOs by reflective property copying.
+     */
+    @Benchmark
+    public List<LibraryBookDTO> mapPageReflective() {
+        return pageBooks.stream().map(MappingBenchmark::toBookDtoReflective).toList();
+    }
+
+    /**
+     * Validates a book against the catalog entry of its ISBN.
+     */
+    @Benchmark
+    public void validateIsbn() throws Throwable {
+        VALIDATE_ISBN.invokeExact(bookService, book.getCatalog(), bookRequest);
+    }
+
+    /**
+     * Assembles the page response of already mapped books.
+     */
+    @Benchmark
+    public LibraryBookPageResponseDTO createResponse() throws Throwable {
+        return (LibraryBookPageResponseDTO) CREATE_RESPONSE.invokeExact(
+                bookService, pageContent, page, 0, pageSize, pageSize * 10L);
+    }
+
+    /**
+     * Maps a library book by reflective property copying.
+     *
+     * @param libraryBook the library book to map.
+     * @return the mapped LibraryBookDTO.
+     */
+    private static LibraryBookDTO toBookDtoReflective(final LibraryBook libraryBook) {
+        final LibraryBookDTO bookDto = new LibraryBookDTO();
+        BeanUtils.copyProperties(libraryBook, bookDto);
+        BeanUtils.copyProperties(libraryBook.getCatalog(), bookDto, "id");
+
+        return bookDto;
+    }
+
+    /**
+     * Looks up a private helper method of a service.
+     *
+     * @param type the service implementation declaring the helper.
+     * @param name the name of the helper.
+     * @param methodType the signature of the helper.
+     * @return the method handle of the helper, taking the service as its first argument.
+     */
+    private static MethodHandle findHelper(final Class<?> type, final String name, final MethodType methodType) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findVirtual(type, name, methodType)
+                    .asType(methodType.insertParameterTypes(0, type));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.collaberadigital.librarysystem.benchmark;
+
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.index.BookSearchIndex;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.BookCatalogView;
+import com.collaberadigital.librarysystem.repository.projection.BookCopyView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of the book search pages, for a common term matching a large share of the catalog,
+ * on its first page and deep into the listing, and for a query matching a few titles.
+ * <p>
+ * The indexes are built from mocked repositories. Titles are drawn from a fixed vocabulary with
+ * a skewed word distribution, each with one to five copies, and every third copy is borrowed, so
+ * the pages interleave available and borrowed copies of the same books.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final List<String> WORDS = List.of(
+            "the", "of", "and", "a", "in", "to", "history", "life", "secret", "adventures", "war",
+            "peace", "garden", "house", "night", "day", "world", "river", "city", "king", "queen",
+            "stranger", "letters", "journey", "island", "mountain", "shadow", "light", "winter",
+            "summer", "children", "memoirs", "introduction", "principles", "art", "science");
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Number of catalog entries in the index.
+     */
+    @Param({"100000", "1000000"})
+    private int titles;
+
+    private BookAvailabilityIndex availabilityIndex;
+
+    private BookSearchIndex searchIndex;
+
+    /**
+     * Builds the availability and search indexes.
+     */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final List<BookCatalogView> catalog = new ArrayList<>(titles);
+        final List<BookCopyView> copies = new ArrayList<>();
+        for (int i = 0; i < titles; i++) {
+            final StringBuilder title = new StringBuilder();
+            for (int words = 2 + random.nextInt(4); words > 0; words--) {
+                title.append(WORDS.get((int) (WORDS.size() * Math.pow(random.nextDouble(), 2)))).append(' ');
+            }
+            catalog.add(new BookCatalogView((long) i, "isbn" + i, title.append(i).toString(), "Author " + i % 1000));
+            for (int copy = 1 + random.nextInt(5); copy > 0; copy--) {
+                copies.add(new BookCopyView(copies.size() + 1L, (long) i));
+            }
+        }
+
+        final BookCatalogRepository catalogRepository = mock(BookCatalogRepository.class);
+        final LibraryBookRepository bookRepository = mock(LibraryBookRepository.class);
+        final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(catalogRepository.findAllViews()).thenReturn(catalog);
+        when(bookRepository.findAllCopyViews()).thenReturn(copies);
+        when(bookRepository.streamIds(any(Sort.class))).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, copies.size()).boxed());
+        when(bookRepository.streamAvailableIds()).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, copies.size()).filter(id -> id % 3 != 0).boxed());
+
+        availabilityIndex = new BookAvailabilityIndex(bookRepository, transactionManager,
+                Duration.ofDays(1), Duration.ofDays(1));
+        availabilityIndex.rebuild();
+        searchIndex = new BookSearchIndex(catalogRepository, bookRepository, availabilityIndex,
+                transactionManager, Duration.ofDays(1));
+        searchIndex.rebuild();
+    }
+
+    /**
+     * Stops the rebuild schedulers of the indexes.
+     */
+    @TearDown
+    public void tearDown() {
+        searchIndex.destroy();
+        availabilityIndex.destroy();
+    }
+
+    /**
+     * Searches the first page of a common term.
+     */
+    @Benchmark
+    public BookSearchIndex.SearchPage searchCommonFirstPage() {
+        return searchIndex.search("the", 0, PAGE_SIZE).orElseThrow();
+    }
+
+    /**
+     * Searches a page of a common term past its available copies.
+     */
+    @Benchmark
+    public BookSearchIndex.SearchPage searchCommonDeepPage() {
+        return searchIndex.search("the", titles / PAGE_SIZE, PAGE_SIZE).orElseThrow();
+    }
+
+    /**
+     * Searches the first page of a query matching a few titles.
+     */
+    @Benchmark
+    public BookSearchIndex.SearchPage searchSelective() {
+        return searchIndex.search("secret garden king", 0, PAGE_SIZE).orElseThrow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.collaberadigital.librarysystem.benchmark;
+
+import com.collaberadigital.librarysystem.index.PrefixDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the type-ahead suggestions of a title dictionary, for short prefixes matching a
+ * large share of the titles and for longer ones matching a few. The setup reports the memory
+ * footprint of the dictionary, scaled to a million titles, next to the bytes taken by the
+ * titles as Java strings.
+ * <p>
+ * Titles are drawn from a fixed vocabulary with a skewed word distribution, weighted by a
+ * random copy count, and every twentieth title is repeated with a different case, so the
+ * dictionary also merges spelling variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SuggestionBenchmark {
+
+    private static final List<String> WORDS = List.of(
+            "the", "of", "and", "a", "in", "to", "history", "life", "secret", "adventures", "war",
+            "peace", "garden", "house", "night", "day", "world", "river", "city", "king", "queen",
+            "stranger", "letters", "journey", "island", "mountain", "shadow", "light", "winter",
+            "summer", "children", "memoirs", "introduction", "principles", "art", "science");
+
+    /**
+     * Number of distinct titles in the dictionary.
+     */
+    @Param({"100000", "1000000"})
+    private int titles;
+
+    private PrefixDictionary dictionary;
+
+    /**
+     * Builds the dictionary and reports its memory footprint.
+     */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final PrefixDictionary.Builder builder = PrefixDictionary.builder();
+        long stringBytes = 0;
+        for (int i = 0; i < titles; i++) {
+            final StringBuilder title = new StringBuilder();
+            for (int words = 2 + random.nextInt(4); words > 0; words--) {
+                final String word = WORDS.get((int) (WORDS.size() * Math.pow(random.nextDouble(), 2)));
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length()).append(' ');
+            }
+            title.append(i);
+            builder.add(title.toString(), 1 + random.nextInt(20));
+            if (i % 20 == 0) {
+                builder.add(title.toString().toUpperCase(), 1);
+            }
+            // Compact Latin-1 string: 24 byte header with its hash, 16 byte byte[] header
+            stringBytes += 40 + title.length();
+        }
+        dictionary = builder.build();
+
+        final double perMillion = 1_000_000.0 / dictionary.size();
+        System.out.printf("%nSuggestion dictionary: %d titles, %.1f MB per million titles "
+                        + "(%.1f MB as Java strings, without their weights)%n",
+                dictionary.size(), dictionary.sizeInBytes() * perMillion / (1 << 20),
+                stringBytes * perMillion / (1 << 20));
+    }
+
+    /**
+     * Suggests titles for a one letter prefix.
+     */
+    @Benchmark
+    public List<PrefixDictionary.Match> suggestOneLetter() {
+        return dictionary.suggest("s", 10);
+    }
+
+    /**
+     * Suggests titles for a prefix ending in the middle of a word.
+     */
+    @Benchmark
+    public List<PrefixDictionary.Match> suggestPartialWord() {
+        return dictionary.suggest("the adv", 10);
+    }
+
+    /**
+     * Suggests titles for a prefix matching a handful of titles.
+     */
+    @Benchmark
+    public List<PrefixDictionary.Match> suggestSelective() {
+        return dictionary.suggest("secret garden of the king 12", 10);
+    }
+}
@@ -0,0 +1,27 @@
+package com.collaberadigital.librarysystem.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a write operation on a library book to be serialized in-process with the other
+ * operations on the same book. Concurrent callers of one book queue for a local lock in
+ * arrival order instead of contending for its row in the database, while operations on
+ * other books proceed in parallel. The lock is held around the whole transaction,
+ * including its retries on conflicts with other nodes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BookLock {
+
+    /**
+     * SpEL expression evaluating to the ID of the book to lock, such as {@code #bookId}.
+     * Method parameters are available by name and beans by {@code @beanName}. The operation
+     * runs without the lock when the expression evaluates to null.
+     *
+     * @return the expression of the book ID.
+     */
+    String value();
+}
@@ -0,0 +1,18 @@
+package com.collaberadigital.librarysystem.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional write operation to be retried when its transaction fails on a
+ * concurrent update of the same rows, such as an optimistic lock version conflict or a
+ * deadlock. Each attempt runs in a new transaction, so the operation re-reads the current
+ * state of the rows and re-validates it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+}
@@ -0,0 +1,111 @@
+package com.collaberadigital.librarysystem.aspect;
+
+import com.collaberadigital.librarysystem.annotations.BookLock;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aspect serializing the operations marked with {@link BookLock} per book on this node.
+ * Callers queue for a fair striped lock of the book before the operation starts its
+ * transaction, so waiting for another operation on the book holds no connection and no
+ * row locks. Runs outside the conflict retries, which are only left to handle conflicts
+ * with other nodes. The locks, their timeout and wait metric are those of {@link BookLocks}.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class BookLockAspect {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    /**
+     * Locks of the books.
+     */
+    private final BookLocks locks;
+
+    /**
+     * Resolver of the beans referenced by the book ID expressions.
+     */
+    private final BeanFactoryResolver beanResolver;
+
+    /**
+     * Parsed book ID expressions by their text.
+     */
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for BookLockAspect.
+     *
+     * @param beanFactory Factory of the beans referenced by the book ID expressions.
+     * @param locks       Locks of the books.
+     */
+    public BookLockAspect(final BeanFactory beanFactory, final BookLocks locks) {
+        this.locks = locks;
+        this.beanResolver = new BeanFactoryResolver(beanFactory);
+    }
+
+    /**
+     * Runs an operation while holding the lock of its book.
+     *
+     * @param joinPoint the operation to run.
+     * @param bookLock the annotation marking the operation.
+     * @return the result of the operation.
+     * @throws Throwable the failure of the operation.
+     * @throws CannotAcquireLockException if the lock of the book is not acquired within the timeout.
+     */
+    @Around("@annotation(bookLock)")
+    public Object lock(final ProceedingJoinPoint joinPoint, final BookLock bookLock) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        final Object bookId = evaluate(joinPoint, bookLock.value());
+        if (bookId == null) {
+            return joinPoint.proceed();
+        }
+
+        final ReentrantLock lock = locks.acquire(bookId);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evaluates the book ID expression of an operation against its arguments.
+     *
+     * @param joinPoint the operation.
+     * @param expression the book ID expression.
+     * @return the ID of the book, or null if there is none.
+     */
+    private Object evaluate(final ProceedingJoinPoint joinPoint, final String expression) {
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        final MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                null, method, joinPoint.getArgs(), PARAMETER_NAMES);
+        context.setBeanResolver(beanResolver);
+
+        return expressions.computeIfAbsent(expression, PARSER::parseExpression).getValue(context);
+    }
+}
@@ -0,0 +1,117 @@
+package com.collaberadigital.librarysystem.aspect;
+
+import com.collaberadigital.librarysystem.util.StripedLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process locks of the library books, shared by the operations locking their book before
+ * their transaction through {@link BookLockAspect} and those locking it within their transaction
+ * once they have read which book they change. A caller still waiting after the timeout fails
+ * with a {@link CannotAcquireLockException}, reported as a conflict to retry later.
+ * Time spent waiting is recorded in the {@code library.book.lock.wait} metric.
+ */
+@Component
+public class BookLocks {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookLocks.class);
+
+    /**
+     * Locks of the books.
+     */
+    private final StripedLock locks;
+
+    /**
+     * Maximum time a caller waits for the lock of a book.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Timer of the lock waits.
+     */
+    private final Timer waits;
+
+    /**
+     * Constructor for BookLocks.
+     *
+     * @param meterRegistry Registry of the lock wait timer.
+     * @param stripes       Number of lock stripes shared by the books.
+     * @param timeout       Maximum time a caller waits for the lock of a book.
+     */
+    public BookLocks(
+            final MeterRegistry meterRegistry,
+            @Value("${library.lock.stripes:1024}") final int stripes,
+            @Value("${library.lock.timeout:2s}") final Duration timeout) {
+
+        this.locks = new StripedLock(stripes);
+        this.timeoutMillis = timeout.toMillis();
+        this.waits = Timer.builder("library.book.lock.wait")
+                .description("Time spent waiting for the in-process lock of a book")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Acquires the lock of a book, which the caller must release.
+     *
+     * @param bookId the ID of the book.
+     * @return the acquired lock.
+     * @throws CannotAcquireLockException if the lock is not acquired within the timeout.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public ReentrantLock acquire(final Object bookId) throws InterruptedException {
+        final ReentrantLock lock = locks.get(bookId);
+        final long start = System.nanoTime();
+        final boolean acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            LOGGER.error("Timed out waiting for the lock of Library Book with ID: {}", bookId);
+            throw new CannotAcquireLockException("Library Book with ID: " + bookId + " is busy");
+        }
+        return lock;
+    }
+
+    /**
+     * Acquires the lock of a book until the current transaction completes. The caller holds
+     * its connection while waiting, unlike the operations locking their book before their
+     * transaction.
+     *
+     * @param bookId the ID of the book.
+     * @throws CannotAcquireLockException if the lock is not acquired within the timeout, or the
+     *                                    thread is interrupted while waiting.
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void lockUntilCompletion(final Object bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No transaction to hold the lock of Library Book with ID: " + bookId);
+        }
+
+        final ReentrantLock lock;
+        try {
+            lock = acquire(bookId);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for Library Book with ID: " + bookId, exception);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
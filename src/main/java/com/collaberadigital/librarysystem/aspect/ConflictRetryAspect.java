@@ -0,0 +1,152 @@
+package com.collaberadigital.librarysystem.aspect;
+
+import com.collaberadigital.librarysystem.annotations.RetryOnConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspect retrying the operations marked with {@link RetryOnConflict} when they fail on a
+ * concurrent update. Attempts are separated by an exponential backoff with full jitter, so
+ * that the callers which collided on a popular book spread out instead of colliding again.
+ * Runs just outside the transaction and cache advice, each attempt getting a new transaction.
+ * Operations called within an outer transaction are not retried, as the conflict has marked
+ * that transaction for rollback; it is left to the outermost operation to retry.
+ * Conflicts are counted in the {@code library.conflicts} metric, tagged with the operation
+ * and whether it was retried, recovered on a later attempt or gave up.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConflictRetryAspect {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+    private static final String METRIC = "library.conflicts";
+
+    /**
+     * Registry of the conflict counters.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Maximum number of attempts of an operation, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Upper bound of the backoff before the first retry, doubled on each further retry.
+     */
+    private final long initialBackoffMillis;
+
+    /**
+     * Upper bound of the backoff before any retry.
+     */
+    private final long maxBackoffMillis;
+
+    /**
+     * Constructor for ConflictRetryAspect.
+     *
+     * @param meterRegistry  Registry of the conflict counters.
+     * @param maxAttempts    Maximum number of attempts of an operation, including the first one.
+     * @param initialBackoff Upper bound of the backoff before the first retry.
+     * @param maxBackoff     Upper bound of the backoff before any retry.
+     */
+    public ConflictRetryAspect(
+            final MeterRegistry meterRegistry,
+            @Value("${library.retry.max-attempts:4}") final int maxAttempts,
+            @Value("${library.retry.initial-backoff:10ms}") final Duration initialBackoff,
+            @Value("${library.retry.max-backoff:200ms}") final Duration maxBackoff) {
+
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    /**
+     * Runs an operation, retrying it on concurrent update conflicts until it succeeds, fails
+     * otherwise or runs out of attempts.
+     *
+     * @param joinPoint the operation to run.
+     * @param retryOnConflict the annotation marking the operation.
+     * @return the result of the operation.
+     * @throws Throwable the failure of the operation, or the conflict of its last attempt.
+     */
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(final ProceedingJoinPoint joinPoint, final RetryOnConflict retryOnConflict)
+            throws Throwable {
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        final String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                final Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    conflicts(operation, "recovered").increment();
+                }
+                return result;
+            } catch (ConcurrencyFailureException exception) {
+                if (attempt >= maxAttempts) {
+                    conflicts(operation, "exhausted").increment();
+                    LOGGER.error("{} failed on a concurrent update after {} attempts", operation, attempt);
+                    throw exception;
+                }
+
+                conflicts(operation, "retried").increment();
+                LOGGER.warn("{} failed on a concurrent update, retrying attempt {} of {}: {}",
+                        operation, attempt + 1, maxAttempts, exception.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Waits before retrying an operation, for a random time of up to the initial backoff
+     * doubled for each failed attempt and capped at the maximum backoff.
+     *
+     * @param attempt the number of the failed attempt, starting at 1.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private void backOff(final int attempt) throws InterruptedException {
+        final long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    /**
+     * Returns the conflict counter of an operation and outcome.
+     *
+     * @param operation the name of the operation.
+     * @param outcome the outcome of the conflict.
+     * @return the counter.
+     */
+    private Counter conflicts(final String operation, final String outcome) {
+        return Counter.builder(METRIC)
+                .description("Concurrent update conflicts of write operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
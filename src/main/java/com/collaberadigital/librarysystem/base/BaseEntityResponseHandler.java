@@ -8,6 +8,7 @@ import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
 import lombok.NoArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -107,6 +108,24 @@ public class BaseEntityResponseHandler {
                 .body(new CommonResponseHandler(exception.getMessage()));
     }
 
+    /**
+     * Handles ConcurrencyFailureException, raised when a write still conflicts with concurrent
+     * updates of the same rows after its retries, and returns a ResponseEntity with
+     * an appropriate error message and HTTP status code.
+     * @param exception The ConcurrencyFailureException object.
+     * @return ResponseEntity containing an error message and HTTP status code.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<CommonResponseHandler> handleConcurrencyFailureException(
+            final ConcurrencyFailureException exception) {
+        if (LOGGER.isWarnEnabled()) {
+            LOGGER.warn("Concurrency Failure Exception: {}", exception.getMessage());
+        }
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new CommonResponseHandler("The record was updated concurrently, please retry"));
+    }
+
     /**
      * Handles general exceptions and returns a ResponseEntity with
      * an appropriate error message and HTTP status code.
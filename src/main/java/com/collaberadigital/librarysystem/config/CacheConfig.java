@@ -0,0 +1,45 @@
+package com.collaberadigital.librarysystem.config;
+
+import com.collaberadigital.librarysystem.util.AppConstant;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the application caches.
+ * Library books and borrowers looked up by ID are cached in bounded Caffeine caches that
+ * evict by size and age, so a missed invalidation is never served for longer than the TTL.
+ * The library wide book counts are never invalidated and only expire, keeping them accurate
+ * to within their own, shorter, TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Creates the cache manager for the book and borrower caches. Puts and evictions made inside
+     * a transaction are applied once it commits, so an eviction always follows the change it
+     * invalidates. A reader that loaded the row just before that commit may still cache it
+     * afterwards, which the TTL bounds.
+     *
+     * @param spec the Caffeine specification of the caches, such as the maximum size and TTL.
+     * @param countSpec the Caffeine specification of the book count cache.
+     * @return the transaction aware cache manager.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${library.cache.spec}") final String spec,
+                                     @Value("${library.cache.count-spec}") final String countSpec) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                AppConstant.BOOK_CACHE, AppConstant.BORROWER_CACHE);
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.registerCustomCache(AppConstant.BOOK_COUNT_CACHE,
+                Caffeine.from(countSpec).recordStats().build());
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
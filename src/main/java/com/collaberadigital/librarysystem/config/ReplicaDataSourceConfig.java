@@ -0,0 +1,129 @@
+package com.collaberadigital.librarysystem.config;
+
+import com.collaberadigital.librarysystem.datasource.ReadYourWritesFilter;
+import com.collaberadigital.librarysystem.datasource.ReplicaLagMonitor;
+import com.collaberadigital.librarysystem.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for serving reads from a replica, active when
+ * {@code library.datasource.replica.url} is set. Read-only transactions are routed to the
+ * replica pool and all other transactions to the primary pool configured by
+ * {@code spring.datasource}, on which the migrations also run. A caller is pinned to the
+ * primary for the maximum lag plus one heartbeat interval after its own write, and all
+ * reads fall back to the primary while the replica lags by more than the maximum lag.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Creates the connection pool of the primary.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @return the primary data source.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Binds the connection properties of the replica. Not a candidate for autowiring, leaving
+     * the {@code spring.datasource} properties as the only injected ones.
+     *
+     * @return the {@code library.datasource.replica} properties.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("library.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Creates the connection pool of the replica.
+     *
+     * @return the replica data source.
+     */
+    @Bean
+    @ConfigurationProperties("library.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        final HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the monitor of the replication lag.
+     *
+     * @param primary the primary data source.
+     * @param replica the replica data source.
+     * @param maxLag the maximum lag at which reads are still served by the replica.
+     * @param interval the time between two heartbeats.
+     * @return the replica lag monitor.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") final DataSource primary,
+            @Qualifier("replicaDataSource") final DataSource replica,
+            @Value("${library.datasource.replica.max-lag:5s}") final Duration maxLag,
+            @Value("${library.datasource.replica.heartbeat-interval:1s}") final Duration interval) {
+        return new ReplicaLagMonitor(primary, replica, maxLag, interval);
+    }
+
+    /**
+     * Creates the filter pinning the reads of a caller to the primary after its own write, until
+     * the replica either caught up with the write or is noticed to lag and bypassed.
+     *
+     * @param maxLag the maximum lag at which reads are still served by the replica.
+     * @param interval the time between two heartbeats.
+     * @return the read-your-writes filter.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${library.datasource.replica.max-lag:5s}") final Duration maxLag,
+            @Value("${library.datasource.replica.heartbeat-interval:1s}") final Duration interval) {
+        return new ReadYourWritesFilter(maxLag.plus(interval));
+    }
+
+    /**
+     * Creates the data source used by the application, fetching a connection from the primary
+     * or the replica on the first statement of a transaction.
+     *
+     * @param primary the primary data source.
+     * @param replica the replica data source.
+     * @param readYourWrites the read-your-writes filter.
+     * @param lagMonitor the replica lag monitor.
+     * @return the routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+                                 @Qualifier("replicaDataSource") final DataSource replica,
+                                 final ReadYourWritesFilter readYourWrites, final ReplicaLagMonitor lagMonitor) {
+        final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replica, readYourWrites, lagMonitor);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -114,4 +114,63 @@ public class BorrowerController {
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(response);
     }
+
+    /**
+     * Fetches all borrowers using keyset pagination. Pass the returned continuation token
+     * as the cursor to fetch the next page.
+     *
+     * @param cursor   the continuation token of the previous page, omitted for the first page.
+     * @param pageSize the number of items per page.
+     * @param sortBy   the index-backed field to sort by (id, name or email).
+     * @param sortDir  the direction of sorting (asc/desc).
+     * @return a page of borrowers along with the continuation token of the next page.
+     */
+    @Operation(tags = TAG_NAME, description = "Scroll through all borrowers using a continuation token")
+    @CommonApiResponses
+    @GetMapping(value = "/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponseDTO<BorrowerDTO>> scrollAllBorrower(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
+            @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir) {
+
+        log.info("Received request to scroll all borrowers");
+
+        final CursorPageResponseDTO<BorrowerDTO> response = borrowerService.scrollAllBorrower(
+                cursor, pageSize, sortBy, sortDir);
+
+        log.info("Scrolled all borrowers successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    /**
+     * Searches the borrowers by the prefix of their name, of a word of their name, or of their
+     * email, ignoring case. The matching borrowers are listed by the name or email they match.
+     * The matches are not counted, the total number of borrowers and pages being -1.
+     *
+     * @param query    the prefix of the name or email.
+     * @param pageNo   the page number to retrieve.
+     * @param pageSize the number of items per page.
+     * @return a paginated list of the matching borrowers.
+     */
+    @Operation(tags = TAG_NAME, description = "Search borrowers by name or email prefix")
+    @CommonApiResponses
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BorrowerPageResponseDTO> searchBorrowers(
+            @RequestParam(value = "query") final String query,
+            @RequestParam(value = "pageNo", defaultValue = AppConstant.DEFAULT_PAGE_NO) final int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize) {
+
+        log.info("Received request to search borrowers matching: {}", query);
+
+        final BorrowerPageResponseDTO response = borrowerService.searchBorrowers(query, pageNo, pageSize);
+        log.info("Searched borrowers successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
 }
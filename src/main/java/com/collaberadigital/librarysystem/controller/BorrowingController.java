@@ -3,6 +3,7 @@ package com.collaberadigital.librarysystem.controller;
 import com.collaberadigital.librarysystem.annotations.CommonApiResponses;
 import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
 import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.service.BorrowingService;
 import com.collaberadigital.librarysystem.util.AppConstant;
 import io.swagger.v3.oas.annotations.Operation;
@@ -73,6 +74,7 @@ public class BorrowingController {
      * @param pageSize the number of items per page.
      * @param sortBy the field to sort by.
      * @param sortDir the direction of sorting (asc/desc).
+     * @param withTotal whether to include the total number of borrowings and pages, -1 otherwise.
      * @return a paginated list of borrowed books.
      */
     @Operation(tags = TAG_NAME, description = "Get all books borrowed by borrower")
@@ -83,12 +85,13 @@ public class BorrowingController {
             @RequestParam(value = "pageNo", defaultValue = AppConstant.DEFAULT_PAGE_NO) final int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = "DESC") final String sortDir) {
+            @RequestParam(value = "sortDir", defaultValue = "DESC") final String sortDir,
+            @RequestParam(value = "withTotal", defaultValue = AppConstant.DEFAULT_WITH_TOTAL) final boolean withTotal) {
 
         log.info("Received request to fetch all books borrowed by borrowerId: {}", borrowerId);
 
         final BorrowingPageResponseDTO response = borrowingService.getBorrowingInfoByBorrower(
-                borrowerId, pageNo, pageSize, sortBy, sortDir);
+                borrowerId, pageNo, pageSize, sortBy, sortDir, withTotal);
 
         log.info("Fetched all books borrowed by borrowerId {} successfully: {}", borrowerId, response);
 
@@ -97,6 +100,39 @@ public class BorrowingController {
                 .body(response);
     }
 
+    /**
+     * Fetches all books borrowed by a borrower using keyset pagination. Pass the returned
+     * continuation token as the cursor to fetch the next page.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param cursor the continuation token of the previous page, omitted for the first page.
+     * @param pageSize the number of items per page.
+     * @param sortBy the index-backed field to sort by (id or borrowDate).
+     * @param sortDir the direction of sorting (asc/desc).
+     * @return a page of borrowed books along with the continuation token of the next page.
+     */
+    @Operation(tags = TAG_NAME, description = "Scroll through all books borrowed by borrower using a continuation token")
+    @CommonApiResponses
+    @GetMapping(value = "/{borrowerId}/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponseDTO<BorrowingInfoDTO>> scrollAllBooksByBorrower(
+            @PathVariable final Long borrowerId,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
+            @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = "DESC") final String sortDir) {
+
+        log.info("Received request to scroll all books borrowed by borrowerId: {}", borrowerId);
+
+        final CursorPageResponseDTO<BorrowingInfoDTO> response = borrowingService.scrollBorrowingInfoByBorrower(
+                borrowerId, cursor, pageSize, sortBy, sortDir);
+
+        log.info("Scrolled all books borrowed by borrowerId {} successfully: {}", borrowerId, response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
     /**
      * Borrows a book for a borrower.
      *
@@ -106,6 +142,9 @@ public class BorrowingController {
      */
     @Operation(tags = TAG_NAME, description = "Borrow a book")
     @CommonApiResponses
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "409", description = "Concurrent update of the book, retry the request")
+    })
     @PostMapping(value = "/{bookId}/borrow",
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BorrowingInfoDTO> borrowBook(
@@ -122,6 +161,34 @@ public class BorrowingController {
                 .body(response);
     }
 
+    /**
+     * Borrows any available copy of a book for a borrower.
+     *
+     * @param isbn the ISBN of the book to borrow.
+     * @param borrowerId the ID of the borrower.
+     * @return the borrowing information of the borrowed copy.
+     */
+    @Operation(tags = TAG_NAME, description = "Borrow any available copy of a book by ISBN")
+    @CommonApiResponses
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "409", description = "Concurrent update of the book, retry the request")
+    })
+    @PostMapping(value = "/isbn/{isbn}/borrow",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BorrowingInfoDTO> borrowBookByIsbn(
+            @PathVariable final String isbn, @RequestParam final Long borrowerId) {
+
+        log.info("Received request to borrow book with isbn: {} for borrowerId: {}", isbn, borrowerId);
+
+        final BorrowingInfoDTO response = borrowingService.borrowBookByIsbn(isbn, borrowerId);
+
+        log.info("LibraryBook borrowed successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
     /**
      * Returns a borrowed book.
      *
@@ -130,6 +197,9 @@ public class BorrowingController {
      */
     @Operation(tags = TAG_NAME, description = "Return a borrowed book")
     @CommonApiResponses
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "409", description = "Concurrent update of the book, retry the request")
+    })
     @PutMapping(value = "/{borrowingId}/return",
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BorrowingInfoDTO> returnBook(
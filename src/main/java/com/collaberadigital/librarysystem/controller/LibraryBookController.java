@@ -1,11 +1,18 @@
 package com.collaberadigital.librarysystem.controller;
 
 import com.collaberadigital.librarysystem.annotations.CommonApiResponses;
+import com.collaberadigital.librarysystem.dto.BookMatchDTO;
+import com.collaberadigital.librarysystem.dto.BookSuggestionDTO;
+import com.collaberadigital.librarysystem.dto.BulkRegistrationResponseDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.service.BulkBookRegistrationService;
 import com.collaberadigital.librarysystem.service.LibraryBookService;
 import com.collaberadigital.librarysystem.util.AppConstant;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,6 +23,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * Controller class for managing operations related to books in the library system.
  * This class handles HTTP requests related to library book management.
@@ -31,13 +42,25 @@ public class LibraryBookController {
     // Service instance for handling library book operations
     private final LibraryBookService libraryBookService;
 
+    // Service instance for handling bulk library book registrations
+    private final BulkBookRegistrationService bulkRegistrationService;
+
+    // Mapper used to stream the books of bulk registrations
+    private final ObjectMapper objectMapper;
+
     /**
-     * Constructor to initialize the LibraryBookController with a LibraryBookService instance.
+     * Constructor to initialize the LibraryBookController with its service instances.
      *
      * @param bookService the service instance used to interact with library book data
+     * @param bulkRegistrationService the service instance used to register books in bulk
+     * @param objectMapper the mapper used to read bulk registration payloads
      */
-    public LibraryBookController(final LibraryBookService bookService) {
+    public LibraryBookController(final LibraryBookService bookService,
+                                 final BulkBookRegistrationService bulkRegistrationService,
+                                 final ObjectMapper objectMapper) {
         this.libraryBookService = bookService;
+        this.bulkRegistrationService = bulkRegistrationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -66,6 +89,35 @@ public class LibraryBookController {
     }
 
 
+    /**
+     * Registers a collection of books to the library. The books are read as a stream from
+     * either a JSON array or newline delimited JSON, and are registered in chunks.
+     *
+     * @param books the request body containing the book details to register.
+     * @return the summary of the registration along with the outcome of every book.
+     * @throws IOException if the request body cannot be read.
+     */
+    @Operation(tags = TAG_NAME, description = "Register a collection of books to the library")
+    @CommonApiResponses
+    @PostMapping(value = "/register/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkRegistrationResponseDTO> registerBooks(final InputStream books) throws IOException {
+        log.info("Received request to register books in bulk");
+
+        final BulkRegistrationResponseDTO response;
+        try (MappingIterator<LibraryBookRequestDTO> bookIterator = objectMapper
+                .readerFor(LibraryBookRequestDTO.class).readValues(books)) {
+            response = bulkRegistrationService.registerBooks(bookIterator);
+        }
+        log.info("Bulk registration completed, registered: {}, rejected: {}",
+                response.getRegistered(), response.getRejected());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
     /**
      * Fetches the details of a book by its ID.
      *
@@ -96,6 +148,7 @@ public class LibraryBookController {
      * @param pageSize the number of items per page.
      * @param sortBy   the field to sort by.
      * @param sortDir  the direction of sorting (asc/desc).
+     * @param withTotal whether to include the total number of books and pages, -1 otherwise.
      * @return a paginated list of books.
      */
     @Operation(tags = TAG_NAME, description = "Fetch all books")
@@ -105,12 +158,13 @@ public class LibraryBookController {
             @RequestParam(value = "pageNo", defaultValue = AppConstant.DEFAULT_PAGE_NO) final int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir) {
+            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir,
+            @RequestParam(value = "withTotal", defaultValue = AppConstant.DEFAULT_WITH_TOTAL) final boolean withTotal) {
 
         log.info("Received request to fetch all books");
 
         final LibraryBookPageResponseDTO response = libraryBookService.getAllBooks(
-                pageNo, pageSize, sortBy, sortDir);
+                pageNo, pageSize, sortBy, sortDir, withTotal);
         log.info("Fetched all books successfully: {}", response);
 
         return ResponseEntity.ok()
@@ -125,6 +179,7 @@ public class LibraryBookController {
      * @param pageSize the number of items per page.
      * @param sortBy   the field to sort by.
      * @param sortDir  the direction of sorting (asc/desc).
+     * @param withTotal whether to include the total number of available books and pages, -1 otherwise.
      * @return a paginated list of available books for borrowing.
      */
     @Operation(tags = TAG_NAME, description = "Fetch all available books to borrow")
@@ -134,16 +189,155 @@ public class LibraryBookController {
             @RequestParam(value = "pageNo", defaultValue = AppConstant.DEFAULT_PAGE_NO) final int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir) {
+            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir,
+            @RequestParam(value = "withTotal", defaultValue = AppConstant.DEFAULT_WITH_TOTAL) final boolean withTotal) {
 
         log.info("Received request to fetch all available books to borrow");
 
         final LibraryBookPageResponseDTO response = libraryBookService.getAllAvailableBorrow(
-                pageNo, pageSize, sortBy, sortDir);
+                pageNo, pageSize, sortBy, sortDir, withTotal);
         log.info("Fetched all available books to borrow successfully: {}", response);
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(response);
     }
+
+    /**
+     * Searches the books by title and author, ignoring case and diacritics. Books holding every
+     * term of the query are ranked by relevance, with the available copies listed first.
+     *
+     * @param query    the search terms.
+     * @param pageNo   the page number to retrieve.
+     * @param pageSize the number of items per page.
+     * @return a paginated list of the matching books.
+     */
+    @Operation(tags = TAG_NAME, description = "Search books by title and author")
+    @CommonApiResponses
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LibraryBookPageResponseDTO> searchBooks(
+            @RequestParam(value = "query") final String query,
+            @RequestParam(value = "pageNo", defaultValue = AppConstant.DEFAULT_PAGE_NO) final int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize) {
+
+        log.info("Received request to search books matching: {}", query);
+
+        final LibraryBookPageResponseDTO response = libraryBookService.searchBooks(query, pageNo, pageSize);
+        log.info("Searched books successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    /**
+     * Suggests the titles and authors starting with a prefix as the user types, ignoring case
+     * and diacritics. The suggestions with the most copies come first.
+     *
+     * @param prefix the typed prefix.
+     * @param limit  the maximum number of suggestions.
+     * @return the suggested titles and authors.
+     */
+    @Operation(tags = TAG_NAME, description = "Suggest titles and authors starting with a prefix")
+    @CommonApiResponses
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BookSuggestionDTO>> suggestBooks(
+            @RequestParam(value = "prefix") final String prefix,
+            @RequestParam(value = "limit", defaultValue = AppConstant.DEFAULT_SUGGESTION_LIMIT) final int limit) {
+
+        log.debug("Received request to suggest books starting with: {}", prefix);
+
+        final List<BookSuggestionDTO> response = libraryBookService.suggestBooks(prefix, limit);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    /**
+     * Looks up the books closest to a title, author or ISBN that may hold typos, such as a
+     * mistyped digit of an ISBN or a misspelled word of a title.
+     *
+     * @param query       the title or author terms, or the ISBN.
+     * @param maxDistance the maximum number of edited characters per term or ISBN.
+     * @param limit       the maximum number of books.
+     * @return the closest books along with their distances, closest first.
+     */
+    @Operation(tags = TAG_NAME, description = "Look up books by title, author or ISBN, tolerating typos")
+    @CommonApiResponses
+    @GetMapping(value = "/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BookMatchDTO>> lookupBooks(
+            @RequestParam(value = "query") final String query,
+            @RequestParam(value = "maxDistance", defaultValue = AppConstant.DEFAULT_LOOKUP_DISTANCE) final int maxDistance,
+            @RequestParam(value = "limit", defaultValue = AppConstant.DEFAULT_LOOKUP_LIMIT) final int limit) {
+
+        log.info("Received request to look up books close to: {}", query);
+
+        final List<BookMatchDTO> response = libraryBookService.lookupBooks(query, maxDistance, limit);
+        log.info("Looked up books successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    /**
+     * Fetches all books using keyset pagination. Pass the returned continuation token
+     * as the cursor to fetch the next page.
+     *
+     * @param cursor   the continuation token of the previous page, omitted for the first page.
+     * @param pageSize the number of items per page.
+     * @param sortBy   the index-backed field to sort by (id, isbn or title).
+     * @param sortDir  the direction of sorting (asc/desc).
+     * @return a page of books along with the continuation token of the next page.
+     */
+    @Operation(tags = TAG_NAME, description = "Scroll through all books using a continuation token")
+    @CommonApiResponses
+    @GetMapping(value = "/getAllBooks/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponseDTO<LibraryBookDTO>> scrollAllBooks(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
+            @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir) {
+
+        log.info("Received request to scroll all books");
+
+        final CursorPageResponseDTO<LibraryBookDTO> response = libraryBookService.scrollAllBooks(
+                cursor, pageSize, sortBy, sortDir);
+        log.info("Scrolled all books successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    /**
+     * Fetches all available books for borrowing using keyset pagination. Pass the returned
+     * continuation token as the cursor to fetch the next page.
+     *
+     * @param cursor   the continuation token of the previous page, omitted for the first page.
+     * @param pageSize the number of items per page.
+     * @param sortBy   the index-backed field to sort by (id, isbn or title).
+     * @param sortDir  the direction of sorting (asc/desc).
+     * @return a page of available books along with the continuation token of the next page.
+     */
+    @Operation(tags = TAG_NAME, description = "Scroll through all available books to borrow using a continuation token")
+    @CommonApiResponses
+    @GetMapping(value = "/getAvailable/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponseDTO<LibraryBookDTO>> scrollAvailableToBorrow(
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstant.DEFAULT_PAGE_SIZE) final int pageSize,
+            @RequestParam(value = "sortBy", defaultValue = AppConstant.DEFAULT_SORT_BY) final String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = AppConstant.DEF_SORT_DIR) final String sortDir) {
+
+        log.info("Received request to scroll all available books to borrow");
+
+        final CursorPageResponseDTO<LibraryBookDTO> response = libraryBookService.scrollAvailableBorrow(
+                cursor, pageSize, sortBy, sortDir);
+        log.info("Scrolled all available books to borrow successfully: {}", response);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
 }
@@ -0,0 +1,132 @@
+package com.collaberadigital.librarysystem.datasource;
+
+import com.collaberadigital.librarysystem.util.AppConstant;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter giving callers read-your-writes consistency when reads are served by a replica.
+ * The first write of a request sets a cookie pinning the reads of the caller to the primary
+ * until the replica is guaranteed to have caught up with that write, and the reads made
+ * later in the same request are pinned to the primary right away.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * State of the request handled by the current thread, null outside requests.
+     */
+    private static final ThreadLocal<RequestState> REQUEST_STATE = new ThreadLocal<>();
+
+    /**
+     * Time after a write during which the reads of its caller are pinned to the primary.
+     */
+    private final Duration window;
+
+    /**
+     * Constructor for ReadYourWritesFilter.
+     *
+     * @param window Time after a write during which the reads of its caller are pinned to the primary.
+     */
+    public ReadYourWritesFilter(final Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Pins the reads of the request to the primary when its caller wrote within the window.
+     *
+     * @param request the HTTP request.
+     * @param response the HTTP response.
+     * @param filterChain the filter chain to continue with.
+     * @throws ServletException if the request cannot be handled.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+
+        REQUEST_STATE.set(new RequestState(response, wroteRecently(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            REQUEST_STATE.remove();
+        }
+    }
+
+    /**
+     * Records a write made by the current request, pinning its later reads and the reads of
+     * its caller within the window to the primary. Writes made outside requests are ignored.
+     */
+    public void recordWrite() {
+        final RequestState state = REQUEST_STATE.get();
+        if (state == null || state.cookieSet) {
+            return;
+        }
+
+        final Cookie cookie = new Cookie(AppConstant.PRIMARY_UNTIL_COOKIE,
+                String.valueOf(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        state.response.addCookie(cookie);
+        state.cookieSet = true;
+        state.pinned = true;
+    }
+
+    /**
+     * Checks if the reads of the current request must be served by the primary.
+     *
+     * @return true if the request or its caller wrote within the window, false otherwise.
+     */
+    public boolean isPinnedToPrimary() {
+        final RequestState state = REQUEST_STATE.get();
+        return state != null && state.pinned;
+    }
+
+    /**
+     * Checks if the caller of a request wrote within the window, as recorded by its cookie.
+     *
+     * @param request the HTTP request.
+     * @return true if the cookie has not expired yet, false if it is missing, expired or malformed.
+     */
+    private static boolean wroteRecently(final HttpServletRequest request) {
+        final Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+
+        for (final Cookie cookie : cookies) {
+            if (AppConstant.PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Routing state of a request.
+     */
+    private static final class RequestState {
+
+        private final HttpServletResponse response;
+
+        private boolean pinned;
+
+        private boolean cookieSet;
+
+        private RequestState(final HttpServletResponse response, final boolean pinned) {
+            this.response = response;
+            this.pinned = pinned;
+        }
+    }
+}
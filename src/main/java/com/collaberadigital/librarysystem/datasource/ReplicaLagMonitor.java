@@ -0,0 +1,136 @@
+package com.collaberadigital.librarysystem.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitors the replication lag of the replica through a heartbeat row. On every heartbeat the
+ * current time is written to the row on the primary and read back from the replica, the age of
+ * the replicated value being the lag. Reads fall back to the primary while the lag exceeds the
+ * maximum or the replica cannot be queried, and until the first heartbeat succeeded.
+ * As the replica shows the previous beat until the latest one is replicated, the measured lag
+ * includes up to one heartbeat interval.
+ */
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String WRITE_BEAT = "update replica_heartbeat set beat_time = ? where id = 1";
+
+    private static final String READ_BEAT = "select beat_time from replica_heartbeat where id = 1";
+
+    /**
+     * Template writing the heartbeat to the primary.
+     */
+    private final JdbcTemplate primary;
+
+    /**
+     * Template reading the heartbeat from the replica.
+     */
+    private final JdbcTemplate replica;
+
+    /**
+     * Maximum lag at which reads are still served by the replica.
+     */
+    private final Duration maxLag;
+
+    /**
+     * Time between two heartbeats.
+     */
+    private final Duration interval;
+
+    /**
+     * Scheduler running the heartbeats.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Whether the replica was within the maximum lag on the last heartbeat.
+     */
+    private volatile boolean inSync;
+
+    /**
+     * Constructor for ReplicaLagMonitor.
+     *
+     * @param primary  Data source of the primary.
+     * @param replica  Data source of the replica.
+     * @param maxLag   Maximum lag at which reads are still served by the replica.
+     * @param interval Time between two heartbeats.
+     */
+    public ReplicaLagMonitor(final DataSource primary, final DataSource replica,
+                             final Duration maxLag, final Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the first heartbeat and schedules the next ones.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        checkLag();
+        scheduler.scheduleWithFixedDelay(this::checkLag,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the heartbeats.
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Writes a heartbeat to the primary and measures the lag of the replica against it.
+     */
+    public void checkLag() {
+        try {
+            final long now = System.currentTimeMillis();
+            primary.update(WRITE_BEAT, now);
+            final Long beat = replica.queryForObject(READ_BEAT, Long.class);
+
+            final long lag = now - (beat == null ? 0 : beat);
+            final boolean wasInSync = inSync;
+            inSync = lag <= maxLag.toMillis();
+            if (wasInSync && !inSync) {
+                LOGGER.warn("Replica lags by {} ms, serving reads from the primary", lag);
+            } else if (!wasInSync && inSync) {
+                LOGGER.info("Replica caught up with a lag of {} ms, serving reads from the replica", lag);
+            }
+        } catch (RuntimeException e) {
+            if (inSync) {
+                LOGGER.warn("Replica heartbeat failed, serving reads from the primary", e);
+            }
+            inSync = false;
+        }
+    }
+
+    /**
+     * Checks if reads can be served by the replica.
+     *
+     * @return true if the replica was within the maximum lag on the last heartbeat, false otherwise.
+     */
+    public boolean isInSync() {
+        return inSync;
+    }
+}
@@ -0,0 +1,65 @@
+package com.collaberadigital.librarysystem.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Data source routing the connections of read-only transactions to the replica and all other
+ * connections to the primary. Reads stay on the primary while the caller is pinned to it after
+ * a write and while the replica lags. Wrapped in a lazy connection proxy, the route is chosen on
+ * the first statement of a transaction, once its read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    /**
+     * Filter recording the writes of the current request.
+     */
+    private final ReadYourWritesFilter readYourWrites;
+
+    /**
+     * Monitor of the replication lag.
+     */
+    private final ReplicaLagMonitor lagMonitor;
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary        Data source of the primary.
+     * @param replica        Data source of the replica.
+     * @param readYourWrites Filter recording the writes of the current request.
+     * @param lagMonitor     Monitor of the replication lag.
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica,
+                                    final ReadYourWritesFilter readYourWrites,
+                                    final ReplicaLagMonitor lagMonitor) {
+        this.readYourWrites = readYourWrites;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Chooses the replica for read-only transactions, unless pinned to the primary or lagging,
+     * and records the writes of read-write transactions.
+     *
+     * @return the key of the data source to connect to.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return PRIMARY;
+        }
+
+        return readYourWrites.isPinnedToPrimary() || !lagMonitor.isInSync() ? PRIMARY : REPLICA;
+    }
+}
@@ -0,0 +1,19 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing a book found by a typo tolerant lookup, along with
+ * the number of characters edited between the lookup query and the book.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookMatchDTO {
+    private LibraryBookDTO book;
+    private int distance;
+}
@@ -0,0 +1,34 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of registering a single book
+ * as part of a bulk registration.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRegistrationResultDTO {
+
+    /**
+     * Outcome of a book registration.
+     */
+    public enum Status {
+        REGISTERED,
+        REJECTED
+    }
+
+    /**
+     * Zero-based position of the book in the bulk registration request.
+     */
+    private long index;
+    private String isbn;
+    private Status status;
+    private Long bookId;
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing a type-ahead suggestion of the book search, a title
+ * or author along with the number of copies registered under it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookSuggestionDTO {
+
+    /**
+     * Field of the catalog a suggestion comes from.
+     */
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+
+    private String text;
+    private Type type;
+    private int copies;
+}
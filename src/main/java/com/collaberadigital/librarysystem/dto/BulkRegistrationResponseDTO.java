@@ -0,0 +1,21 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the summary of a bulk book registration.
+ * This class encapsulates the item counts along with the outcome of every item.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResponseDTO {
+    private long totalItems;
+    private long registered;
+    private long rejected;
+    private List<BookRegistrationResultDTO> results;
+}
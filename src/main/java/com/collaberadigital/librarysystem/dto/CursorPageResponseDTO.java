@@ -0,0 +1,24 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a page fetched with keyset (seek) pagination.
+ * The next page is requested with the opaque continuation token in {@code nextCursor}.
+ *
+ * @param <T> the type of the page content.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class CursorPageResponseDTO<T> {
+    private List<T> content;
+    private int pageSize;
+    private long numberOfElements;
+    private String nextCursor;
+    private boolean last;
+}
@@ -0,0 +1,23 @@
+package com.collaberadigital.librarysystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing the summary of a catalog file ingestion.
+ * This class encapsulates the row counts, the throughput and the location of the rejected rows.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class IngestionReportDTO {
+    private String file;
+    private long resumedFromLine;
+    private long processedRows;
+    private long registered;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private String rejectsFile;
+}
@@ -12,10 +12,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class ResourceNotFoundException extends RuntimeException {
     private final String resourceName;
     private final String fieldName;
-    private final Long  fieldValue;
+    private final Object fieldValue;
 
     public ResourceNotFoundException(
-            final String resourceName, final String fieldName, final Long fieldValue) {
+            final String resourceName, final String fieldName, final Object fieldValue) {
         super(String.format("%s not found with %s : '%s'", resourceName, fieldName, fieldValue));
 
         this.resourceName = resourceName;
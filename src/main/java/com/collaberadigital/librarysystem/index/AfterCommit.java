@@ -0,0 +1,35 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers the updates of the in-memory indexes until the transaction making the change commits,
+ * so rolled back changes never reach them.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away outside transactions.
+     *
+     * @param action the action to run.
+     */
+    static void run(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.collaberadigital.librarysystem.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Burkhard-Keller tree of strings under the Levenshtein distance, finding the strings within an
+ * edit distance of a query. Each child is filed under its distance to its parent, so by the
+ * triangle inequality a search only descends into the children whose distance to the parent is
+ * within the bound of the query's own distance to it, and leaves the rest of the tree unvisited.
+ * <p>
+ * Not thread-safe: callers guard additions and searches.
+ */
+final class BkTree {
+
+    private Node root;
+
+    private int size;
+
+    /**
+     * Adds a string to the tree.
+     *
+     * @param key the string to add.
+     * @return true if added, false if the tree already held it.
+     */
+    boolean add(final String key) {
+        if (root == null) {
+            root = new Node(key);
+            size++;
+            return true;
+        }
+
+        final Distance distance = new Distance(key.length());
+        Node node = root;
+        while (true) {
+            final int toNode = distance.between(key, node.key);
+            if (toNode == 0) {
+                return false;
+            }
+            final Node child = node.child(toNode);
+            if (child == null) {
+                node.addChild(toNode, new Node(key));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Number of strings in the tree.
+     *
+     * @return the number of strings.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the strings within an edit distance of a query.
+     *
+     * @param query the query.
+     * @param maxDistance the maximum edit distance.
+     * @param matches receives each string found along with its distance to the query.
+     */
+    void search(final String query, final int maxDistance, final ObjIntConsumer<String> matches) {
+        if (root == null) {
+            return;
+        }
+
+        final Distance distance = new Distance(query.length());
+        final Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            final Node node = pending.pop();
+            final int toNode = distance.between(query, node.key);
+            if (toNode <= maxDistance) {
+                matches.accept(node.key, toNode);
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                if (Math.abs(node.distances[i] - toNode) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * String of the tree along with its children, by their distance to it.
+     */
+    private static final class Node {
+
+        private final String key;
+
+        private int[] distances = new int[0];
+
+        private Node[] children = new Node[0];
+
+        private int childCount;
+
+        private Node(final String key) {
+            this.key = key;
+        }
+
+        private Node child(final int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(final int distance, final Node child) {
+            if (childCount == children.length) {
+                distances = Arrays.copyOf(distances, Math.max(2, childCount * 2));
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            distances[childCount] = distance;
+            children[childCount++] = child;
+        }
+    }
+
+    /**
+     * Levenshtein distances from one string, reusing its two rows of the dynamic programming
+     * table across comparisons.
+     */
+    private static final class Distance {
+
+        private int[] previous;
+
+        private int[] current;
+
+        private Distance(final int length) {
+            this.previous = new int[length + 1];
+            this.current = new int[length + 1];
+        }
+
+        /**
+         * Computes the number of single character insertions, deletions and substitutions
+         * turning one string into another.
+         *
+         * @param from the string the rows are sized for.
+         * @param to the other string.
+         * @return the edit distance.
+         */
+        private int between(final String from, final String to) {
+            for (int i = 0; i <= from.length(); i++) {
+                previous[i] = i;
+            }
+            for (int j = 1; j <= to.length(); j++) {
+                current[0] = j;
+                final char target = to.charAt(j - 1);
+                for (int i = 1; i <= from.length(); i++) {
+                    final int substitution = previous[i - 1] + (from.charAt(i - 1) == target ? 0 : 1);
+                    current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+                }
+                final int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[from.length()];
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.collaberadigital.librarysystem.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings: a bit set where each added string sets a few bits picked by its hash,
+ * so a string with any of its bits unset was definitely never added, while one with all of them
+ * set was probably added. The number of bits and of hash functions are sized for an expected
+ * number of strings and a false positive rate, which grows past that number.
+ * <p>
+ * Thread-safe: bits are set atomically and never cleared, so concurrent additions and lookups
+ * need no locking.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedInsertions the number of strings the filter is sized for.
+     * @param falsePositiveRate the rate of false positives once that many strings are added.
+     */
+    BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        final long insertions = Math.max(1, expectedInsertions);
+        final long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (bits + 63) / 64)));
+        this.bitCount = 64L * words.length();
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param key the string to add.
+     */
+    void add(final String key) {
+        final long hash = hash(key);
+        final long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(hash + i * step, bitCount);
+            final long mask = 1L << bit;
+            final int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndUpdate(word, value -> value | mask);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a string may have been added to the filter.
+     *
+     * @param key the string to check.
+     * @return false if the string was definitely never added, true if it probably was.
+     */
+    boolean mightContain(final String key) {
+        final long hash = hash(key);
+        final long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Size of the bit set.
+     *
+     * @return the number of bits.
+     */
+    long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Number of bits set by each string.
+     *
+     * @return the number of hash functions.
+     */
+    int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of a string, mixed so every bit depends on every character.
+     */
+    private static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreading the bits of a 64-bit value.
+     */
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+}
@@ -0,0 +1,360 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the books available to borrow, serving the pages and totals of the
+ * available book listing without querying the books. For each supported sort key, the book IDs
+ * are ranked in the order the database sorts them, and the ranks of the available books are
+ * held in a compressed bitmap, so a page is selected by rank and only its rows are loaded.
+ * <p>
+ * Borrows and returns update the bitmaps once they commit. Registrations change the ranks, so
+ * the index is rebuilt from the database shortly after them, and the books they registered are
+ * left out of the listing until then. The index is also rebuilt periodically, which bounds how
+ * long the borrows and returns of other nodes go unnoticed. Until it is built, the listing is
+ * served by the database.
+ */
+@Component
+public class BookAvailabilityIndex
+        extends ReplayingIndex<BookAvailabilityIndex.Snapshot, BookAvailabilityIndex.Change> {
+
+    /**
+     * Property paths of the sort keys served by the index.
+     */
+    private static final List<String> SORT_PROPERTIES = List.of(
+            AppConstant.RECORD_ID, "isbn", "title", "catalog.author");
+
+    /**
+     * Repository loading the book IDs.
+     */
+    private final LibraryBookRepository bookRepository;
+
+    /**
+     * Time waited after a registration before rebuilding, so registrations close together
+     * share a rebuild.
+     */
+    private final Duration rebuildDelay;
+
+    /**
+     * Whether a rebuild following a registration is scheduled.
+     */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /**
+     * Number of registrations committed, telling whether a rebuild may have missed some.
+     */
+    private final AtomicLong registrations = new AtomicLong();
+
+    /**
+     * Constructor for BookAvailabilityIndex.
+     *
+     * @param bookRepository     Repository loading the book IDs.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     * @param rebuildDelay       Time waited after a registration before rebuilding.
+     */
+    public BookAvailabilityIndex(
+            final LibraryBookRepository bookRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${library.availability.refresh:30s}") final Duration refresh,
+            @Value("${library.availability.rebuild-delay:1s}") final Duration rebuildDelay) {
+
+        super("Book availability index", transactionManager, refresh);
+        this.bookRepository = bookRepository;
+        this.rebuildDelay = rebuildDelay;
+    }
+
+    /**
+     * Finds a page of the available books, ordered by a sort key and then by ID.
+     *
+     * @param sortProperty the property path of the sort key.
+     * @param ascending whether to sort in ascending order.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of books per page.
+     * @return the IDs of the books on the page and the number of available books, or an empty
+     *         Optional if the index is not built or does not serve the sort key.
+     */
+    public Optional<AvailablePage> findAvailable(final String sortProperty, final boolean ascending,
+                                                 final int pageNo, final int pageSize) {
+        readLock().lock();
+        try {
+            final Snapshot snapshot = snapshot();
+            final Ordering ordering = snapshot == null ? null : snapshot.orderings.get(sortProperty);
+            if (ordering == null) {
+                return Optional.empty();
+            }
+
+            final long total = ordering.available.getLongCardinality();
+            final long offset = (long) pageNo * pageSize;
+            final long end = Math.min(total, offset + pageSize);
+
+            final List<Long> bookIds = new ArrayList<>((int) Math.max(0, end - offset));
+            for (long index = offset; index < end; index++) {
+                final int rank = ordering.available.select((int) (ascending ? index : total - 1 - index));
+                bookIds.add(snapshot.ids[ordering.slot(rank)]);
+            }
+
+            return Optional.of(new AvailablePage(bookIds, total));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the availability of books with a consistent view of the index. The view is only
+     * valid during the call, which holds the read lock of the index.
+     *
+     * @param reader the function reading the availability, given a predicate telling whether a
+     *               book is available, or null if the index is not built. Books registered since
+     *               the index was built are reported as not available.
+     * @param <T> the type of the result of the reader.
+     * @return the result of the reader.
+     */
+    public <T> T readAvailability(final Function<LongPredicate, T> reader) {
+        readLock().lock();
+        try {
+            final Snapshot snapshot = snapshot();
+            if (snapshot == null) {
+                return reader.apply(null);
+            }
+
+            final long[] ids = snapshot.ids;
+            final RoaringBitmap available = snapshot.orderings.get(AppConstant.RECORD_ID).available;
+            return reader.apply(bookId -> {
+                final int slot = Arrays.binarySearch(ids, bookId);
+                return slot >= 0 && available.contains(slot);
+            });
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a book as borrowed once the current transaction commits.
+     *
+     * @param bookId the ID of the borrowed book.
+     */
+    public void recordBorrowed(final long bookId) {
+        AfterCommit.run(() -> apply(new Change(bookId, false)));
+    }
+
+    /**
+     * Records a book as returned once the current transaction commits.
+     *
+     * @param bookId the ID of the returned book.
+     */
+    public void recordReturned(final long bookId) {
+        AfterCommit.run(() -> apply(new Change(bookId, true)));
+    }
+
+    /**
+     * Records the registration of books once the current transaction commits. The current index
+     * keeps serving the listing without the new books, as they change the ranks of the others,
+     * until the rebuild scheduled after the rebuild delay.
+     */
+    public void recordRegistered() {
+        AfterCommit.run(() -> {
+            registrations.incrementAndGet();
+            scheduleRebuild();
+        });
+    }
+
+    /**
+     * Rebuilds the index from the database. Availability changes committed while loading are
+     * replayed on the rebuilt index. If books were registered in the meantime, the rebuilt
+     * index still replaces the current one, and another rebuild is scheduled for them.
+     */
+    @Override
+    public synchronized void rebuild() {
+        final long generation = registrations.get();
+        super.rebuild();
+        if (generation != registrations.get()) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Schedules a rebuild after the rebuild delay, unless one is already scheduled.
+     */
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            schedule(() -> {
+                rebuildScheduled.set(false);
+                rebuildQuietly();
+            }, rebuildDelay);
+        }
+    }
+
+    /**
+     * Loads the book IDs in the order of each sort key, and the IDs of the available books.
+     * The IDs are streamed into primitive arrays and bitmaps rather than collected first.
+     *
+     * @return the loaded snapshot.
+     */
+    @Override
+    protected Snapshot load() {
+        final long[] ids;
+        try (Stream<Long> sortedIds = bookRepository.streamIds(Sort.by(AppConstant.RECORD_ID))) {
+            ids = sortedIds.mapToLong(Long::longValue).toArray();
+        }
+
+        final Map<String, Ordering> orderings = new HashMap<>();
+        for (String property : SORT_PROPERTIES) {
+            if (AppConstant.RECORD_ID.equals(property)) {
+                orderings.put(property, new Ordering(null));
+                continue;
+            }
+            try (Stream<Long> sortedIds = bookRepository.streamIds(Sort.by(property, AppConstant.RECORD_ID))) {
+                orderings.put(property, new Ordering(toSlots(ids, sortedIds.iterator())));
+            }
+        }
+
+        final Snapshot loaded = new Snapshot(ids, orderings);
+        try (Stream<Long> availableIds = bookRepository.streamAvailableIds()) {
+            availableIds.forEach(id -> loaded.setAvailable(id, true));
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void replay(final Snapshot target, final Change change) {
+        target.setAvailable(change.bookId(), change.available());
+    }
+
+    @Override
+    protected String describe(final Snapshot rebuilt) {
+        return rebuilt.ids.length + " books";
+    }
+
+    /**
+     * Converts the book IDs of a sort order into their slots in the ID order. Books registered
+     * between the queries of a rebuild may be missing from one order or the other, the books
+     * missing from the sort order are ranked last.
+     *
+     * @param ids the book IDs in ascending order.
+     * @param sortedIds the book IDs in the sort order.
+     * @return the slots of the books, by rank.
+     */
+    private static int[] toSlots(final long[] ids, final Iterator<Long> sortedIds) {
+        final int[] slots = new int[ids.length];
+        final boolean[] ranked = new boolean[ids.length];
+        int rank = 0;
+        while (sortedIds.hasNext()) {
+            final int slot = Arrays.binarySearch(ids, sortedIds.next());
+            if (slot >= 0 && !ranked[slot]) {
+                ranked[slot] = true;
+                slots[rank++] = slot;
+            }
+        }
+        for (int slot = 0; slot < ids.length && rank < ids.length; slot++) {
+            if (!ranked[slot]) {
+                slots[rank++] = slot;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Page of available books selected by the index.
+     *
+     * @param bookIds the IDs of the books on the page, in order.
+     * @param total the number of available books.
+     */
+    public record AvailablePage(List<Long> bookIds, long total) {
+    }
+
+    /**
+     * Borrow or return of a book, changing its availability.
+     *
+     * @param bookId the ID of the book.
+     * @param available whether the book is available.
+     */
+    record Change(long bookId, boolean available) {
+    }
+
+    /**
+     * Book IDs and their availability in every sort order. Books are identified by their
+     * slot, their position in ascending ID order.
+     */
+    static final class Snapshot {
+
+        private final long[] ids;
+
+        private final Map<String, Ordering> orderings;
+
+        private Snapshot(final long[] ids, final Map<String, Ordering> orderings) {
+            this.ids = ids;
+            this.orderings = orderings;
+        }
+
+        /**
+         * Updates the availability of a book in every order, ignoring books not in the snapshot.
+         */
+        private void setAvailable(final long bookId, final boolean available) {
+            final int slot = Arrays.binarySearch(ids, bookId);
+            if (slot < 0) {
+                return;
+            }
+            for (Ordering ordering : orderings.values()) {
+                if (available) {
+                    ordering.available.add(ordering.rank(slot));
+                } else {
+                    ordering.available.remove(ordering.rank(slot));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sort order of the books, with the ranks of the available books. The ID order leaves
+     * out the rank arrays, its ranks being the slots.
+     */
+    private static final class Ordering {
+
+        private final int[] slotsByRank;
+
+        private final int[] ranksBySlot;
+
+        private final RoaringBitmap available = new RoaringBitmap();
+
+        private Ordering(final int[] slotsByRank) {
+            this.slotsByRank = slotsByRank;
+            if (slotsByRank == null) {
+                this.ranksBySlot = null;
+            } else {
+                this.ranksBySlot = new int[slotsByRank.length];
+                for (int rank = 0; rank < slotsByRank.length; rank++) {
+                    ranksBySlot[slotsByRank[rank]] = rank;
+                }
+            }
+        }
+
+        private int slot(final int rank) {
+            return slotsByRank == null ? rank : slotsByRank[rank];
+        }
+
+        private int rank(final int slot) {
+            return ranksBySlot == null ? slot : ranksBySlot[slot];
+        }
+    }
+}
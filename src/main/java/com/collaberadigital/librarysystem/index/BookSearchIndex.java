@@ -0,0 +1,534 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.BookCatalogView;
+import com.collaberadigital.librarysystem.repository.projection.BookCopyView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of the titles and authors of the catalog, serving the book search.
+ * Each catalog entry is a document, and each folded term of its title and author lists the
+ * documents holding it along with its frequency in them. A search matches the documents
+ * holding every term of the query, ranked by term frequency weighted by the rarity of the
+ * term and normalized by the length of the document, and returns their copies with the
+ * available ones first.
+ * <p>
+ * The terms and the ISBNs of the catalog are also held in BK-trees, serving a typo tolerant
+ * lookup: each term of the query matches the indexed terms within a few edits of it, and an ISBN
+ * matches the ISBNs within a few edited digits. The trees only visit the terms and ISBNs close
+ * to the query, so a lookup does not scan the catalog.
+ * <p>
+ * The index is built from the database at startup and updated with the registered books once
+ * they commit. It is also rebuilt periodically to pick up the books registered by other nodes.
+ */
+@Component
+public class BookSearchIndex extends ReplayingIndex<BookSearchIndex.Snapshot, List<BookSearchIndex.Copy>> {
+
+    /**
+     * Characters other than digits and check characters, ignored in ISBNs.
+     */
+    private static final Pattern ISBN_SEPARATORS = Pattern.compile("[^0-9Xx]+");
+
+    /**
+     * Lookup queries looked up as ISBNs once their separators are removed.
+     */
+    private static final Pattern ISBN_QUERY = Pattern.compile("[0-9]{6,}X?");
+
+    /**
+     * Repository loading the catalog entries.
+     */
+    private final BookCatalogRepository catalogRepository;
+
+    /**
+     * Repository loading the book copies.
+     */
+    private final LibraryBookRepository bookRepository;
+
+    /**
+     * Index telling which copies are available, to list them first.
+     */
+    private final BookAvailabilityIndex availabilityIndex;
+
+    /**
+     * Constructor for BookSearchIndex.
+     *
+     * @param catalogRepository  Repository loading the catalog entries.
+     * @param bookRepository     Repository loading the book copies.
+     * @param availabilityIndex  Index telling which copies are available.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    public BookSearchIndex(
+            final BookCatalogRepository catalogRepository,
+            final LibraryBookRepository bookRepository,
+            final BookAvailabilityIndex availabilityIndex,
+            final PlatformTransactionManager transactionManager,
+            @Value("${library.search.refresh:10m}") final Duration refresh) {
+
+        super("Book search index", transactionManager, refresh);
+        this.catalogRepository = catalogRepository;
+        this.bookRepository = bookRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Searches the copies of the books whose title and author hold every term of a query.
+     * Available copies come first, then the borrowed ones, each in the rank of their book,
+     * copies of the same book in ID order. While the availability of the copies is not known,
+     * they are only ordered by rank. The total is the sum of the copy counts of the matching
+     * books, and only the copies up to the end of the page are visited, unless the page reaches
+     * past the available copies.
+     *
+     * @param query the search query.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of copies per page.
+     * @return the IDs of the copies on the page and the number of matching copies, or an empty
+     *         Optional if the index is not built yet.
+     */
+    public Optional<SearchPage> search(final String query, final int pageNo, final int pageSize) {
+        readLock().lock();
+        try {
+            final Snapshot snapshot = snapshot();
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+
+            final Document[] ranked = snapshot.rankedDocuments(
+                    new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query))));
+            long total = 0;
+            for (Document document : ranked) {
+                total += document.copyCount;
+            }
+
+            final long offset = (long) pageNo * pageSize;
+            final List<Long> bookIds = offset >= total ? List.of()
+                    : availabilityIndex.readAvailability(available -> page(ranked, available, offset, pageSize));
+            return Optional.of(new SearchPage(bookIds, total));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up the copies of the books closest to a query that may hold typos. A query made of
+     * digits is looked up as an ISBN, ignoring hyphens and spaces, and matches the ISBNs within
+     * the maximum distance. Otherwise each term of the query matches the terms of the titles and
+     * authors within its own maximum distance: none for terms of up to two characters, one for
+     * terms of up to five, and the maximum distance for longer ones. Books matching every term
+     * are ranked by the sum of the distances of their closest terms.
+     *
+     * @param query the lookup query.
+     * @param maxDistance the maximum number of edited characters per term or ISBN.
+     * @param limit the maximum number of copies to return.
+     * @return the closest copies and their distances, closest first and copies of the same book
+     *         in ID order, or an empty Optional if the index is not built yet.
+     */
+    public Optional<List<LookupMatch>> lookup(final String query, final int maxDistance, final int limit) {
+        final List<LookupMatch> matches = new ArrayList<>();
+        readLock().lock();
+        try {
+            final Snapshot snapshot = snapshot();
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+
+            final String isbn = normalizeIsbn(query);
+            final List<RankedDocument> ranked = ISBN_QUERY.matcher(isbn).matches()
+                    ? snapshot.closestIsbns(isbn, maxDistance)
+                    : snapshot.closestDocuments(new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query))),
+                            maxDistance);
+            for (RankedDocument document : ranked) {
+                for (int i = 0; i < document.document().copyCount && matches.size() < limit; i++) {
+                    matches.add(new LookupMatch(document.document().copies[i], document.distance()));
+                }
+            }
+        } finally {
+            readLock().unlock();
+        }
+
+        return Optional.of(matches);
+    }
+
+    /**
+     * Records the registration of books once the current transaction commits.
+     *
+     * @param books the registered books, along with their catalog entries.
+     */
+    public void recordRegistered(final Collection<LibraryBook> books) {
+        final List<Copy> copies = books.stream()
+                .map(book -> new Copy(book.getId(), book.getCatalog().getId(), book.getCatalog().getIsbn(),
+                        book.getCatalog().getTitle(), book.getCatalog().getAuthor()))
+                .toList();
+
+        AfterCommit.run(() -> apply(copies));
+    }
+
+    /**
+     * Loads the catalog entries and the copies they hold.
+     *
+     * @return the loaded snapshot.
+     */
+    @Override
+    protected Snapshot load() {
+        final Snapshot loaded = new Snapshot();
+        for (BookCatalogView catalog : catalogRepository.findAllViews()) {
+            loaded.addDocument(catalog.id(), catalog.isbn(), catalog.title(), catalog.author());
+        }
+        for (BookCopyView copy : bookRepository.findAllCopyViews()) {
+            loaded.addCopy(copy.catalogId(), copy.id(), false);
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void replay(final Snapshot target, final List<Copy> copies) {
+        copies.forEach(target::add);
+    }
+
+    @Override
+    protected String describe(final Snapshot rebuilt) {
+        return rebuilt.documents.size() + " catalog entries and " + rebuilt.postings.size() + " terms";
+    }
+
+    /**
+     * Strips the separators of an ISBN and upper cases its check character.
+     *
+     * @param isbn the ISBN.
+     * @return the ISBN as indexed.
+     */
+    private static String normalizeIsbn(final String isbn) {
+        return ISBN_SEPARATORS.matcher(isbn).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Maximum distance of a lookup term to the indexed terms, lower for short terms as a couple
+     * of edits turn them into unrelated words.
+     *
+     * @param term the lookup term.
+     * @param maxDistance the maximum distance of the lookup.
+     * @return the maximum distance of the term.
+     */
+    private static int termDistance(final String term, final int maxDistance) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return Math.min(maxDistance, term.length() <= 5 ? 1 : 2);
+    }
+
+    /**
+     * Selects a page of the copies of ranked documents, with the available ones first. The
+     * available copies are walked until the page is full; if it reaches past them, they have all
+     * been counted, and the borrowed copies are walked from the start to fill the rest.
+     *
+     * @param ranked the matching documents, in rank order.
+     * @param available whether a copy is available, or null if not known.
+     * @param offset the position of the first copy of the page.
+     * @param pageSize the number of copies per page.
+     * @return the IDs of the copies on the page, in order.
+     */
+    private static List<Long> page(final Document[] ranked, final LongPredicate available,
+                                   final long offset, final int pageSize) {
+        final List<Long> bookIds = new ArrayList<>(pageSize);
+        long position = 0;
+        for (Document document : ranked) {
+            for (int i = 0; i < document.copyCount && bookIds.size() < pageSize; i++) {
+                if ((available == null || available.test(document.copies[i])) && position++ >= offset) {
+                    bookIds.add(document.copies[i]);
+                }
+            }
+            if (bookIds.size() == pageSize) {
+                return bookIds;
+            }
+        }
+        if (available == null) {
+            return bookIds;
+        }
+
+        for (Document document : ranked) {
+            for (int i = 0; i < document.copyCount && bookIds.size() < pageSize; i++) {
+                if (!available.test(document.copies[i]) && position++ >= offset) {
+                    bookIds.add(document.copies[i]);
+                }
+            }
+            if (bookIds.size() == pageSize) {
+                return bookIds;
+            }
+        }
+        return bookIds;
+    }
+
+    /**
+     * Page of matching copies selected by the index.
+     *
+     * @param bookIds the IDs of the copies on the page, in order.
+     * @param total the number of matching copies.
+     */
+    public record SearchPage(List<Long> bookIds, long total) {
+    }
+
+    /**
+     * Copy found by a typo tolerant lookup.
+     *
+     * @param bookId the ID of the copy.
+     * @param distance the number of edits between the query and the book.
+     */
+    public record LookupMatch(long bookId, int distance) {
+    }
+
+    /**
+     * Registered copy along with the searchable fields of its catalog entry.
+     */
+    record Copy(long bookId, long catalogId, String isbn, String title, String author) {
+    }
+
+    /**
+     * Document matched by a lookup along with its distance to the query.
+     */
+    private record RankedDocument(Document document, int distance) {
+    }
+
+    /**
+     * Documents of the catalog entries and the postings of their terms. Documents are
+     * identified by their ordinal, in the order they were added, so the postings of every
+     * term are sorted by ordinal.
+     */
+    static final class Snapshot {
+
+        private final List<Document> documents = new ArrayList<>();
+
+        private final Map<Long, Document> documentsByCatalog = new HashMap<>();
+
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        private final BkTree termTree = new BkTree();
+
+        private final Map<String, Document> documentsByIsbn = new HashMap<>();
+
+        private final BkTree isbnTree = new BkTree();
+
+        /**
+         * Adds a registered copy, along with the document of its catalog entry if new. The copy
+         * may already be in a snapshot loaded after it was registered.
+         */
+        private void add(final Copy copy) {
+            if (!documentsByCatalog.containsKey(copy.catalogId())) {
+                addDocument(copy.catalogId(), copy.isbn(), copy.title(), copy.author());
+            }
+            addCopy(copy.catalogId(), copy.bookId(), true);
+        }
+
+        private void addDocument(final long catalogId, final String isbn, final String title, final String author) {
+            final List<String> terms = TextTokenizer.tokenize(title);
+            terms.addAll(TextTokenizer.tokenize(author));
+
+            final Document document = new Document(documents.size(), terms.size());
+            documents.add(document);
+            documentsByCatalog.put(catalogId, document);
+            if (isbn != null) {
+                documentsByIsbn.put(normalizeIsbn(isbn), document);
+                isbnTree.add(normalizeIsbn(isbn));
+            }
+
+            final Map<String, Integer> frequencies = new HashMap<>();
+            terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> {
+                termTree.add(key);
+                return new Postings();
+            }).add(document.ordinal, frequency));
+        }
+
+        /**
+         * Finds the documents whose ISBN is within a distance of an ISBN, closest first.
+         */
+        private List<RankedDocument> closestIsbns(final String isbn, final int maxDistance) {
+            final List<RankedDocument> ranked = new ArrayList<>();
+            isbnTree.search(isbn, maxDistance, (match, distance) ->
+                    ranked.add(new RankedDocument(documentsByIsbn.get(match), distance)));
+            return sortByDistance(ranked);
+        }
+
+        /**
+         * Finds the documents holding, for every term, a term within its distance of it,
+         * ranked by the sum of the distances of their closest terms.
+         */
+        private List<RankedDocument> closestDocuments(final List<String> queryTerms, final int maxDistance) {
+            Map<Integer, Integer> distances = null;
+            for (String queryTerm : queryTerms) {
+                final Map<Integer, Integer> termDistances = new HashMap<>();
+                termTree.search(queryTerm, termDistance(queryTerm, maxDistance), (match, distance) -> {
+                    final Postings termPostings = postings.get(match);
+                    for (int i = 0; i < termPostings.size; i++) {
+                        termDistances.merge(termPostings.ordinals[i], distance, Math::min);
+                    }
+                });
+
+                if (distances != null) {
+                    final Map<Integer, Integer> previous = distances;
+                    termDistances.keySet().retainAll(previous.keySet());
+                    termDistances.replaceAll((ordinal, distance) -> distance + previous.get(ordinal));
+                }
+                distances = termDistances;
+                if (distances.isEmpty()) {
+                    break;
+                }
+            }
+            if (distances == null) {
+                return List.of();
+            }
+
+            final List<RankedDocument> ranked = new ArrayList<>(distances.size());
+            distances.forEach((ordinal, distance) -> ranked.add(new RankedDocument(documents.get(ordinal), distance)));
+            return sortByDistance(ranked);
+        }
+
+        private static List<RankedDocument> sortByDistance(final List<RankedDocument> ranked) {
+            ranked.sort(Comparator.comparingInt(RankedDocument::distance)
+                    .thenComparingInt(document -> document.document().ordinal));
+            return ranked;
+        }
+
+        /**
+         * Adds a copy to the document of its catalog entry, ignoring copies of entries not in the
+         * snapshot. Only replayed copies are checked against the copies already added, the
+         * loaded copies being distinct.
+         */
+        private void addCopy(final long catalogId, final long bookId, final boolean replayed) {
+            final Document document = documentsByCatalog.get(catalogId);
+            if (document != null && !(replayed && document.hasCopy(bookId))) {
+                document.addCopy(bookId);
+            }
+        }
+
+        /**
+         * Finds the documents holding every term, in rank order.
+         */
+        private Document[] rankedDocuments(final List<String> terms) {
+            if (terms.isEmpty()) {
+                return new Document[0];
+            }
+
+            final List<Postings> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                final Postings termPosting = postings.get(term);
+                if (termPosting == null) {
+                    return new Document[0];
+                }
+                termPostings.add(termPosting);
+            }
+            termPostings.sort(Comparator.comparingInt(termPosting -> termPosting.size));
+
+            final Postings rarest = termPostings.get(0);
+            final long[] ranked = new long[rarest.size];
+            int matches = 0;
+            for (int i = 0; i < rarest.size; i++) {
+                final int ordinal = rarest.ordinals[i];
+                double score = rarest.frequencies[i] * idf(rarest);
+                for (int t = 1; t < termPostings.size() && score > 0; t++) {
+                    final Postings other = termPostings.get(t);
+                    final int position = Arrays.binarySearch(other.ordinals, 0, other.size, ordinal);
+                    score = position < 0 ? 0 : score + other.frequencies[position] * idf(other);
+                }
+                if (score > 0) {
+                    final Document document = documents.get(ordinal);
+                    ranked[matches++] = rankKey((float) (score / Math.sqrt(document.length)), ordinal);
+                }
+            }
+            Arrays.sort(ranked, 0, matches);
+
+            final Document[] rankedDocuments = new Document[matches];
+            for (int i = 0; i < matches; i++) {
+                rankedDocuments[i] = documents.get((int) ranked[i]);
+            }
+            return rankedDocuments;
+        }
+
+        /**
+         * Weight of a term, higher for terms held by fewer documents.
+         */
+        private double idf(final Postings termPostings) {
+            return Math.log(1 + (double) documents.size() / termPostings.size);
+        }
+
+        /**
+         * Packs a score and an ordinal into a key sorting by descending score, then by
+         * ascending ordinal. The ordinal is recovered from the low bits.
+         */
+        private static long rankKey(final float score, final int ordinal) {
+            return ((long) ~Float.floatToIntBits(score) << 32) | ordinal;
+        }
+    }
+
+    /**
+     * Catalog entry indexed as a document, with the IDs of its copies in registration order.
+     */
+    private static final class Document {
+
+        private final int ordinal;
+
+        private final int length;
+
+        private long[] copies = new long[1];
+
+        private int copyCount;
+
+        private Document(final int ordinal, final int length) {
+            this.ordinal = ordinal;
+            this.length = Math.max(1, length);
+        }
+
+        private boolean hasCopy(final long bookId) {
+            for (int i = copyCount - 1; i >= 0; i--) {
+                if (copies[i] == bookId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void addCopy(final long bookId) {
+            if (copyCount == copies.length) {
+                copies = Arrays.copyOf(copies, copyCount * 2);
+            }
+            copies[copyCount++] = bookId;
+        }
+    }
+
+    /**
+     * Documents holding a term, by ascending ordinal, along with the frequency of the term in them.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[1];
+
+        private int[] frequencies = new int[1];
+
+        private int size;
+
+        private void add(final int ordinal, final int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = frequency;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.projection.CopyCountView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory dictionaries of the titles and authors of the catalog, serving the type-ahead
+ * suggestions of the search box without querying the database on every keystroke. Titles and
+ * authors are weighted by the number of copies registered under them, and each is held in a
+ * compact {@link PrefixDictionary}.
+ * <p>
+ * The dictionaries are immutable. They are built from the database at startup and rebuilt
+ * periodically in the background, each rebuild replacing both at once, so new registrations are
+ * suggested after the next rebuild.
+ */
+@Component
+public class BookSuggestionIndex extends RebuildingIndex<BookSuggestionIndex.Snapshot> {
+
+    /**
+     * Repository counting the copies of the titles and authors.
+     */
+    private final BookCatalogRepository catalogRepository;
+
+    /**
+     * Constructor for BookSuggestionIndex.
+     *
+     * @param catalogRepository  Repository counting the copies of the titles and authors.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    public BookSuggestionIndex(
+            final BookCatalogRepository catalogRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${library.suggestion.refresh:5m}") final Duration refresh) {
+
+        super("Book suggestion index", transactionManager, refresh);
+        this.catalogRepository = catalogRepository;
+    }
+
+    /**
+     * Suggests the titles and authors starting with a prefix, ignoring case and diacritics.
+     * The suggestions with the most copies come first, titles before authors on equal counts.
+     *
+     * @param prefix the typed prefix.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, or an empty Optional if the index is not built yet.
+     */
+    public Optional<List<Suggestion>> suggest(final String prefix, final int limit) {
+        final Snapshot current = snapshot();
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        final List<Suggestion> suggestions = new ArrayList<>(2 * limit);
+        current.titles().suggest(prefix, limit).forEach(match ->
+                suggestions.add(new Suggestion(match.text(), Field.TITLE, match.weight())));
+        current.authors().suggest(prefix, limit).forEach(match ->
+                suggestions.add(new Suggestion(match.text(), Field.AUTHOR, match.weight())));
+        suggestions.sort(Comparator.comparingInt(Suggestion::copies).reversed());
+
+        return Optional.of(suggestions.subList(0, Math.min(limit, suggestions.size())));
+    }
+
+    /**
+     * Loads the dictionaries of the titles and authors.
+     *
+     * @return the loaded dictionaries.
+     */
+    @Override
+    protected Snapshot load() {
+        return new Snapshot(load(catalogRepository.countCopiesByTitle()), load(catalogRepository.countCopiesByAuthor()));
+    }
+
+    @Override
+    protected String describe(final Snapshot rebuilt) {
+        return rebuilt.titles().size() + " titles and " + rebuilt.authors().size() + " authors in "
+                + (rebuilt.titles().sizeInBytes() + rebuilt.authors().sizeInBytes()) + " bytes";
+    }
+
+    private static PrefixDictionary load(final List<CopyCountView> counts) {
+        final PrefixDictionary.Builder builder = PrefixDictionary.builder();
+        counts.forEach(count -> builder.add(count.text(), count.copies().intValue()));
+        return builder.build();
+    }
+
+    /**
+     * Field of the catalog a suggestion comes from.
+     */
+    public enum Field {
+        TITLE,
+        AUTHOR
+    }
+
+    /**
+     * Suggested title or author along with the number of copies registered under it.
+     *
+     * @param text the title or author.
+     * @param field the field of the catalog it comes from.
+     * @param copies the number of copies registered under it.
+     */
+    public record Suggestion(String text, Field field, int copies) {
+    }
+
+    /**
+     * Dictionaries of the titles and authors, replaced together.
+     */
+    record Snapshot(PrefixDictionary titles, PrefixDictionary authors) {
+    }
+}
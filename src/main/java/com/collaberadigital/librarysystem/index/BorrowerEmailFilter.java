@@ -0,0 +1,105 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory {@link BloomFilter} of the emails of the borrowers, letting registrations skip the
+ * duplicate email query for the emails that are definitely new. Emails are filed stripped and in
+ * lower case, so an email differing from a registered one only by case is still checked.
+ * <p>
+ * The filter only spares queries: the unique constraint on the email remains the guard against
+ * duplicates, so an email missing from the filter, such as one registered by another node since
+ * the last rebuild, is rejected on insert instead. The filter is built from the database at
+ * startup and rebuilt periodically, sized for twice the registered borrowers to leave room for
+ * the registrations until the next rebuild.
+ */
+@Component
+public class BorrowerEmailFilter extends ReplayingIndex<BloomFilter, String> {
+
+    /**
+     * Rate of emails wrongly reported as registered, at the sized number of emails.
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Least number of emails the filter is sized for.
+     */
+    private static final long MIN_CAPACITY = 1024;
+
+    /**
+     * Repository loading the emails.
+     */
+    private final BorrowerRepository borrowerRepository;
+
+    /**
+     * Constructor for BorrowerEmailFilter.
+     *
+     * @param borrowerRepository Repository loading the emails.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    public BorrowerEmailFilter(
+            final BorrowerRepository borrowerRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${library.borrower-email-filter.refresh:1h}") final Duration refresh) {
+
+        super("Borrower email filter", transactionManager, refresh);
+        this.borrowerRepository = borrowerRepository;
+    }
+
+    /**
+     * Checks whether an email may belong to a registered borrower.
+     *
+     * @param email the email to check.
+     * @return false if no borrower known to the filter has the email, true if one may have it
+     *         or the filter is not built yet.
+     */
+    public boolean mightBeRegistered(final String email) {
+        final BloomFilter current = snapshot();
+        return current == null || current.mightContain(normalize(email));
+    }
+
+    /**
+     * Records the email of a registered borrower. It is recorded right away, since an email left
+     * in the filter by a rolled back registration only costs a query.
+     *
+     * @param email the email of the registered borrower.
+     */
+    public void recordRegistered(final String email) {
+        apply(normalize(email));
+    }
+
+    /**
+     * Loads the emails of all borrowers into a filter sized for twice their number.
+     *
+     * @return the loaded filter.
+     */
+    @Override
+    protected BloomFilter load() {
+        final List<String> emails = borrowerRepository.findAllEmails();
+        final BloomFilter loaded = new BloomFilter(Math.max(MIN_CAPACITY, 2L * emails.size()), FALSE_POSITIVE_RATE);
+        emails.forEach(email -> loaded.add(normalize(email)));
+        return loaded;
+    }
+
+    @Override
+    protected void replay(final BloomFilter target, final String email) {
+        target.add(email);
+    }
+
+    @Override
+    protected String describe(final BloomFilter rebuilt) {
+        return rebuilt.bitCount() + " bits and " + rebuilt.hashCount() + " hashes";
+    }
+
+    private static String normalize(final String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+}
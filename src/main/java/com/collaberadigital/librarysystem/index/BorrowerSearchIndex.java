@@ -0,0 +1,229 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of the borrowers by name and email, serving the borrower search at the desk
+ * without querying the database. Each borrower is filed in a sorted map under its folded name,
+ * under each later word of its name so surnames match, and under its lower cased email, so the
+ * borrowers whose name or email starts with a prefix are a range of the map. A search pages
+ * through that range in key order, listing each borrower under the first of its keys in the range,
+ * so it neither collects nor sorts the matches. Borrowers are not updated once registered, so the
+ * index holds their listed fields and serves whole pages.
+ * <p>
+ * The index is built from the database at startup and updated with the registered borrowers once
+ * they commit. It is also rebuilt periodically to pick up the borrowers registered by other nodes.
+ */
+@Component
+public class BorrowerSearchIndex
+        extends ReplayingIndex<NavigableMap<BorrowerSearchIndex.Key, BorrowerSearchIndex.Filed>, BorrowerView> {
+
+    /**
+     * Repository loading the borrowers.
+     */
+    private final BorrowerRepository borrowerRepository;
+
+    /**
+     * Constructor for BorrowerSearchIndex.
+     *
+     * @param borrowerRepository Repository loading the borrowers.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    public BorrowerSearchIndex(
+            final BorrowerRepository borrowerRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${library.borrower-search.refresh:10m}") final Duration refresh) {
+
+        super("Borrower search index", transactionManager, refresh);
+        this.borrowerRepository = borrowerRepository;
+    }
+
+    /**
+     * Searches the borrowers whose name, a word of their name, or email starts with a prefix,
+     * ignoring case, and diacritics in names. The matching keys are walked in order up to the
+     * first match past the page, which tells whether the page is the last, so a page costs its
+     * offset and size rather than the number of matches.
+     *
+     * @param prefix the prefix of the name or email.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of borrowers per page.
+     * @return the borrowers on the page, by the name, word or email they match then by ID, and
+     *         whether it is the last page, or an empty Optional if the index is not built yet.
+     */
+    public Optional<BorrowerPage> search(final String prefix, final int pageNo, final int pageSize) {
+        final NavigableMap<Key, Filed> current = snapshot();
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        final List<String> prefixes = prefixes(nameKey(prefix), emailKey(prefix));
+        final long offset = (long) pageNo * pageSize;
+        final List<BorrowerView> borrowers = new ArrayList<>();
+        long matches = 0;
+        boolean last = true;
+        for (int i = 0; i < prefixes.size() && last; i++) {
+            final Iterator<Map.Entry<Key, Filed>> entries = range(current, prefixes.get(i)).entrySet().iterator();
+            while (entries.hasNext() && last) {
+                final Map.Entry<Key, Filed> entry = entries.next();
+                if (!entry.getValue().firstMatch(entry.getKey().text(), prefixes)) {
+                    continue;
+                }
+                if (borrowers.size() == pageSize) {
+                    last = false;
+                } else if (matches++ >= offset) {
+                    borrowers.add(entry.getValue().view());
+                }
+            }
+        }
+
+        return Optional.of(new BorrowerPage(List.copyOf(borrowers), last));
+    }
+
+    /**
+     * Records the registration of a borrower once the current transaction commits.
+     *
+     * @param borrower the registered borrower.
+     */
+    public void recordRegistered(final Borrower borrower) {
+        final BorrowerView view = new BorrowerView(borrower.getId(), borrower.getName(), borrower.getEmail());
+
+        AfterCommit.run(() -> apply(view));
+    }
+
+    /**
+     * Loads all borrowers.
+     *
+     * @return the loaded entries.
+     */
+    @Override
+    protected NavigableMap<Key, Filed> load() {
+        final NavigableMap<Key, Filed> loaded = new ConcurrentSkipListMap<>();
+        for (BorrowerView view : borrowerRepository.findAllViews()) {
+            add(loaded, view);
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void replay(final NavigableMap<Key, Filed> target, final BorrowerView view) {
+        add(target, view);
+    }
+
+    @Override
+    protected String describe(final NavigableMap<Key, Filed> rebuilt) {
+        return rebuilt.size() + " keys";
+    }
+
+    /**
+     * Files a borrower under its name, the later words of its name and its email.
+     */
+    private static void add(final NavigableMap<Key, Filed> target, final BorrowerView view) {
+        final List<String> terms = TextTokenizer.tokenize(view.name());
+        final List<String> keys = new ArrayList<>(terms.size() + 1);
+        for (int first = 0; first < terms.size(); first++) {
+            keys.add(String.join(" ", terms.subList(first, terms.size())));
+        }
+        if (view.email() != null) {
+            keys.add(emailKey(view.email()));
+        }
+        keys.sort(null);
+
+        final Filed filed = new Filed(view, List.copyOf(keys));
+        keys.forEach(key -> target.put(new Key(key, view.id()), filed));
+    }
+
+    /**
+     * Keeps the non-empty prefixes of a search, and only the shorter one if it is a prefix of the
+     * other, so the ranges they start are disjoint and walked in key order.
+     */
+    private static List<String> prefixes(final String namePrefix, final String emailPrefix) {
+        if (namePrefix.isEmpty()) {
+            return emailPrefix.isEmpty() ? List.of() : List.of(emailPrefix);
+        }
+        if (emailPrefix.isEmpty() || emailPrefix.startsWith(namePrefix)) {
+            return List.of(namePrefix);
+        }
+        if (namePrefix.startsWith(emailPrefix)) {
+            return List.of(emailPrefix);
+        }
+        return namePrefix.compareTo(emailPrefix) < 0
+                ? List.of(namePrefix, emailPrefix) : List.of(emailPrefix, namePrefix);
+    }
+
+    /**
+     * Range of the keys starting with a prefix.
+     */
+    private static NavigableMap<Key, Filed> range(final NavigableMap<Key, Filed> source, final String prefix) {
+        return source.subMap(new Key(prefix, Long.MIN_VALUE), true,
+                new Key(prefix + Character.MAX_VALUE, Long.MIN_VALUE), false);
+    }
+
+    private static String nameKey(final String name) {
+        return String.join(" ", TextTokenizer.tokenize(name));
+    }
+
+    private static String emailKey(final String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Page of matching borrowers selected by the index.
+     *
+     * @param borrowers the borrowers on the page, in order.
+     * @param last whether no borrower matches past the page.
+     */
+    public record BorrowerPage(List<BorrowerView> borrowers, boolean last) {
+    }
+
+    /**
+     * Borrower filed in the index, along with all its keys in ascending order.
+     */
+    record Filed(BorrowerView view, List<String> keys) {
+
+        /**
+         * Tells whether a key of the borrower is the first of its keys starting with one of the
+         * prefixes, the one it is listed under.
+         */
+        private boolean firstMatch(final String key, final List<String> prefixes) {
+            for (String other : keys) {
+                if (other.equals(key)) {
+                    return true;
+                }
+                for (String prefix : prefixes) {
+                    if (other.startsWith(prefix)) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Key a borrower is filed under, along with its ID so borrowers sharing a name have their own entry.
+     */
+    record Key(String text, long borrowerId) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(final Key other) {
+            final int comparison = text.compareTo(other.text);
+            return comparison != 0 ? comparison : Long.compare(borrowerId, other.borrowerId);
+        }
+    }
+}
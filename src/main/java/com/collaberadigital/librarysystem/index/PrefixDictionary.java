@@ -0,0 +1,449 @@
+package com.collaberadigital.librarysystem.index;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable dictionary of weighted texts, suggesting the heaviest texts starting with a prefix.
+ * Texts are keyed by their folded terms joined by single spaces, so "Émile Zola" is suggested
+ * for "emile z". Texts with the same key are merged, summing their weights and keeping the
+ * spelling of the heaviest.
+ * <p>
+ * Keys and texts are front coded in a single UTF-8 byte array, sorted by key in blocks of
+ * {@value #BLOCK_SIZE} entries. The first entry of a block is stored whole and the others as
+ * the length of the prefix they share with the previous entry followed by the rest, so shared
+ * prefixes and repeated spellings are stored once per block. The entries matching a prefix are
+ * a range of the sorted keys, and a segment tree over the heaviest entry of each block finds
+ * the heaviest entries of the range without scanning it.
+ */
+public final class PrefixDictionary {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private static final Comparator<byte[]> KEY_ORDER = Arrays::compareUnsigned;
+
+    /**
+     * Front coded keys and texts.
+     */
+    private final byte[] data;
+
+    /**
+     * Offset in the data of the first entry of each block.
+     */
+    private final int[] blockOffsets;
+
+    /**
+     * Weight of each entry, in key order.
+     */
+    private final int[] weights;
+
+    /**
+     * Segment tree of the heaviest entry of each block, the leaves starting at {@link #leaves}.
+     * Internal nodes hold the heavier entry of their children, and unused leaves hold -1.
+     */
+    private final int[] tree;
+
+    private final int leaves;
+
+    private PrefixDictionary(final byte[] data, final int[] blockOffsets, final int[] weights) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.weights = weights;
+
+        this.leaves = Integer.highestOneBit(Math.max(1, blockOffsets.length - 2)) << 1;
+        this.tree = new int[2 * leaves];
+        Arrays.fill(tree, -1);
+        for (int entry = 0; entry < weights.length; entry++) {
+            final int leaf = leaves + entry / BLOCK_SIZE;
+            tree[leaf] = heavier(tree[leaf], entry);
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Creates a builder of a dictionary.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Folds a text to its key: its folded terms joined by single spaces.
+     *
+     * @param text the text to fold.
+     * @return the key of the text, empty if the text holds no term.
+     */
+    static String key(final String text) {
+        return String.join(" ", TextTokenizer.tokenize(text));
+    }
+
+    /**
+     * Folds a typed prefix to the key prefix it matches. A prefix ending with a separator keeps
+     * a trailing space, so a prefix ending a word only matches the keys holding that word whole.
+     *
+     * @param prefix the typed prefix.
+     * @return the key prefix, empty if the prefix holds no term.
+     */
+    static String prefixKey(final String prefix) {
+        final String key = key(prefix);
+        if (key.isEmpty()) {
+            return key;
+        }
+
+        final int last = prefix.codePointBefore(prefix.length());
+        return Character.isLetterOrDigit(last) || Character.getType(last) == Character.NON_SPACING_MARK
+                ? key
+                : key + " ";
+    }
+
+    /**
+     * Number of entries in the dictionary.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Approximate memory footprint of the dictionary, counting its arrays.
+     *
+     * @return the footprint in bytes.
+     */
+    public long sizeInBytes() {
+        return data.length + 4L * (blockOffsets.length + weights.length + tree.length);
+    }
+
+    /**
+     * Suggests the heaviest texts whose key starts with the key of a prefix.
+     *
+     * @param prefix the typed prefix.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions by descending weight, ties in key order.
+     */
+    public List<Match> suggest(final String prefix, final int limit) {
+        final byte[] folded = prefixKey(prefix).getBytes(StandardCharsets.UTF_8);
+        if (folded.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        final int from = lowerBound(folded, false);
+        final int to = lowerBound(folded, true);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Pops the heaviest entry of the best range, then splits the range around it
+        final PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> heavier(a[0], b[0]) == a[0] ? -1 : 1);
+        ranges.add(new int[]{heaviest(from, to), from, to});
+        final List<Match> matches = new ArrayList<>(limit);
+        final Cursor cursor = new Cursor();
+        while (matches.size() < limit && !ranges.isEmpty()) {
+            final int[] range = ranges.poll();
+            final int entry = range[0];
+            cursor.seek(entry);
+            matches.add(new Match(cursor.text(), weights[entry]));
+
+            if (range[1] < entry) {
+                ranges.add(new int[]{heaviest(range[1], entry), range[1], entry});
+            }
+            if (entry + 1 < range[2]) {
+                ranges.add(new int[]{heaviest(entry + 1, range[2]), entry + 1, range[2]});
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the first entry whose key, truncated to the length of a prefix, is not below it, or
+     * above it when strict. The entries between the two bounds start with the prefix.
+     */
+    private int lowerBound(final byte[] prefix, final boolean strict) {
+        final Cursor cursor = new Cursor();
+
+        // First block whose first entry is past the bound, the bound being in the block before
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            cursor.seekBlock(middle);
+            if (isPast(cursor.compareTruncated(prefix), strict)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (low == 0) {
+            return 0;
+        }
+
+        cursor.seekBlock(low - 1);
+        final int end = Math.min(low * BLOCK_SIZE, weights.length);
+        for (int entry = (low - 1) * BLOCK_SIZE; entry < end; entry++, cursor.next()) {
+            if (isPast(cursor.compareTruncated(prefix), strict)) {
+                return entry;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isPast(final int comparison, final boolean strict) {
+        return strict ? comparison > 0 : comparison >= 0;
+    }
+
+    /**
+     * Finds the heaviest entry in a non-empty range of entries.
+     */
+    private int heaviest(final int from, final int to) {
+        final int firstBlock = from / BLOCK_SIZE;
+        final int lastBlock = (to - 1) / BLOCK_SIZE;
+        if (firstBlock == lastBlock) {
+            return scan(from, to, -1);
+        }
+
+        int best = scan(from, (firstBlock + 1) * BLOCK_SIZE, -1);
+        best = scan(lastBlock * BLOCK_SIZE, to, best);
+        for (int left = firstBlock + 1 + leaves, right = lastBlock + leaves; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                best = heavier(best, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = heavier(best, tree[--right]);
+            }
+        }
+        return best;
+    }
+
+    private int scan(final int from, final int to, final int best) {
+        int heaviest = best;
+        for (int entry = from; entry < to; entry++) {
+            heaviest = heavier(heaviest, entry);
+        }
+        return heaviest;
+    }
+
+    /**
+     * Picks the heavier of two entries, the first in key order on equal weights. Entries are
+     * -1 when absent.
+     */
+    private int heavier(final int first, final int second) {
+        if (first < 0 || second < 0) {
+            return Math.max(first, second);
+        }
+        if (weights[first] != weights[second]) {
+            return weights[first] > weights[second] ? first : second;
+        }
+        return Math.min(first, second);
+    }
+
+    /**
+     * Suggested text along with its weight.
+     *
+     * @param text the text, as spelled in its heaviest variant.
+     * @param weight the summed weight of the variants of the text.
+     */
+    public record Match(String text, int weight) {
+    }
+
+    /**
+     * Collects the texts of a dictionary along with their weights.
+     */
+    public static final class Builder {
+
+        private final Map<String, Merged> entries = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a weighted text, ignoring texts holding no term.
+         *
+         * @param text the text.
+         * @param weight the weight of the text.
+         * @return this builder.
+         */
+        public Builder add(final String text, final int weight) {
+            final String key = key(text);
+            if (key.isEmpty()) {
+                return this;
+            }
+
+            final Merged merged = entries.computeIfAbsent(key, k -> new Merged(k.getBytes(StandardCharsets.UTF_8)));
+            merged.weight += weight;
+            if (merged.text == null || weight > merged.textWeight) {
+                merged.text = text.strip();
+                merged.textWeight = weight;
+            }
+            return this;
+        }
+
+        /**
+         * Builds the dictionary from the added texts.
+         *
+         * @return the dictionary.
+         */
+        public PrefixDictionary build() {
+            final List<Merged> sorted = new ArrayList<>(entries.values());
+            sorted.sort(Comparator.comparing(merged -> merged.key, KEY_ORDER));
+
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            final int[] blockOffsets = new int[(sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE + 1];
+            final int[] weights = new int[sorted.size()];
+            byte[] previousKey = new byte[0];
+            byte[] previousText = new byte[0];
+            for (int entry = 0; entry < sorted.size(); entry++) {
+                final Merged merged = sorted.get(entry);
+                final byte[] text = merged.text.getBytes(StandardCharsets.UTF_8);
+                if (entry % BLOCK_SIZE == 0) {
+                    blockOffsets[entry / BLOCK_SIZE] = data.size();
+                    previousKey = new byte[0];
+                    previousText = new byte[0];
+                }
+                writeFrontCoded(data, previousKey, merged.key);
+                writeFrontCoded(data, previousText, text);
+                weights[entry] = (int) Math.min(Integer.MAX_VALUE, merged.weight);
+                previousKey = merged.key;
+                previousText = text;
+            }
+            blockOffsets[blockOffsets.length - 1] = data.size();
+
+            return new PrefixDictionary(data.toByteArray(), blockOffsets, weights);
+        }
+
+        private static void writeFrontCoded(final ByteArrayOutputStream data, final byte[] previous, final byte[] value) {
+            final int mismatch = Arrays.mismatch(previous, value);
+            final int shared = mismatch < 0 ? value.length : mismatch;
+            writeVarInt(data, shared);
+            writeVarInt(data, value.length - shared);
+            data.write(value, shared, value.length - shared);
+        }
+
+        private static void writeVarInt(final ByteArrayOutputStream data, final int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                data.write((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            data.write(remaining);
+        }
+    }
+
+    /**
+     * Text merged from the variants of a key.
+     */
+    private static final class Merged {
+
+        private final byte[] key;
+
+        private String text;
+
+        private int textWeight;
+
+        private long weight;
+
+        private Merged(final byte[] key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Decodes the entries of a block in turn, rebuilding each key and text from the previous ones.
+     */
+    private final class Cursor {
+
+        private byte[] key = new byte[64];
+
+        private int keyLength;
+
+        private byte[] text = new byte[64];
+
+        private int textLength;
+
+        private int offset;
+
+        private int decodedLength;
+
+        /**
+         * Decodes the first entry of a block.
+         */
+        private void seekBlock(final int block) {
+            offset = blockOffsets[block];
+            keyLength = 0;
+            textLength = 0;
+            next();
+        }
+
+        /**
+         * Decodes an entry, walking from the first entry of its block.
+         */
+        private void seek(final int entry) {
+            seekBlock(entry / BLOCK_SIZE);
+            for (int skip = entry % BLOCK_SIZE; skip > 0; skip--) {
+                next();
+            }
+        }
+
+        /**
+         * Decodes the next entry, if the current one is not the last of the dictionary.
+         */
+        private void next() {
+            if (offset >= data.length) {
+                return;
+            }
+            key = readFrontCoded(key, keyLength);
+            keyLength = decodedLength;
+            text = readFrontCoded(text, textLength);
+            textLength = decodedLength;
+        }
+
+        private byte[] readFrontCoded(final byte[] previous, final int previousLength) {
+            final int shared = Math.min(readVarInt(), previousLength);
+            final int suffix = readVarInt();
+            final byte[] value = previous.length < shared + suffix
+                    ? Arrays.copyOf(previous, Math.max(shared + suffix, previous.length * 2))
+                    : previous;
+            System.arraycopy(data, offset, value, shared, suffix);
+            offset += suffix;
+            decodedLength = shared + suffix;
+            return value;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                final byte next = data[offset++];
+                value |= (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        /**
+         * Compares the key of the current entry, truncated to the length of a prefix, with it.
+         */
+        private int compareTruncated(final byte[] prefix) {
+            final int length = Math.min(keyLength, prefix.length);
+            final int comparison = Arrays.compareUnsigned(key, 0, length, prefix, 0, length);
+            if (comparison != 0 || keyLength >= prefix.length) {
+                return comparison;
+            }
+            return -1;
+        }
+
+        private String text() {
+            return new String(text, 0, textLength, StandardCharsets.UTF_8);
+        }
+    }
+}
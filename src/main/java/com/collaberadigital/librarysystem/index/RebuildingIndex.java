@@ -0,0 +1,214 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index built from the database at startup and rebuilt periodically in the background.
+ * A rebuild loads a new snapshot outside the lock, then replaces the current one under the write
+ * lock. Indexes taking changes between rebuilds extend {@link ReplayingIndex}.
+ *
+ * @param <S> the type of the snapshot.
+ */
+abstract class RebuildingIndex<S> implements InitializingBean, DisposableBean {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RebuildingIndex.class);
+
+    /**
+     * Name of the index in the logs.
+     */
+    private final String name;
+
+    /**
+     * Template running the rebuilds in a single read-write transaction, so they read from the primary.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Time between two periodic rebuilds.
+     */
+    private final Duration refresh;
+
+    /**
+     * Scheduler running the rebuilds.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Lock guarding the swap of the snapshot.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Current snapshot, null until built.
+     */
+    private volatile S snapshot;
+
+    /**
+     * Constructor for RebuildingIndex.
+     *
+     * @param name               Name of the index in the logs and of its rebuild thread.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    protected RebuildingIndex(final String name,
+                              final PlatformTransactionManager transactionManager,
+                              final Duration refresh) {
+
+        this.name = name;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refresh = refresh;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, name.toLowerCase(Locale.ROOT).replace(' ', '-'));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules the initial build and the periodic rebuilds.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, refresh.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the rebuilds.
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the index from the database, replacing the current snapshot once loaded.
+     */
+    public synchronized void rebuild() {
+        final long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuildStarted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        S rebuilt = null;
+        try {
+            rebuilt = transactionTemplate.execute(status -> load());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildFinished(rebuilt);
+                if (rebuilt != null) {
+                    snapshot = rebuilt;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{} rebuilt with {} in {} ms", name, describe(rebuilt), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Rebuilds the index, keeping the current snapshot if the rebuild fails. Any failure is
+     * caught, such as a transaction that cannot be opened while the database is down, since an
+     * exception escaping a scheduled rebuild would cancel all the following ones.
+     */
+    protected final void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOGGER.warn("{} rebuild failed", name, e);
+        }
+    }
+
+    /**
+     * Runs a task on the rebuild thread after a delay.
+     *
+     * @param task the task to run.
+     * @param delay the time to wait before running it.
+     */
+    protected final void schedule(final Runnable task, final Duration delay) {
+        scheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the current snapshot. Readers needing it not to change while they read must hold
+     * the read lock.
+     *
+     * @return the current snapshot, or null if not built yet.
+     */
+    protected final S snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the read lock of the snapshot.
+     *
+     * @return the read lock.
+     */
+    protected final Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Gets the write lock of the snapshot.
+     *
+     * @return the write lock.
+     */
+    protected final Lock writeLock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Called under the write lock when a rebuild starts loading.
+     */
+    protected void rebuildStarted() {
+        // No state to prepare by default
+    }
+
+    /**
+     * Called under the write lock when a rebuild has loaded, before its snapshot replaces the
+     * current one.
+     *
+     * @param rebuilt the rebuilt snapshot, or null if loading failed.
+     */
+    protected void rebuildFinished(final S rebuilt) {
+        // No state to carry over by default
+    }
+
+    /**
+     * Loads a new snapshot from the database, within the transaction of the rebuild.
+     *
+     * @return the loaded snapshot.
+     */
+    protected abstract S load();
+
+    /**
+     * Describes the size of a rebuilt snapshot for the logs.
+     *
+     * @param rebuilt the rebuilt snapshot.
+     * @return the description of its size.
+     */
+    protected abstract String describe(S rebuilt);
+}
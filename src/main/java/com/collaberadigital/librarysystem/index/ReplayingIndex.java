@@ -0,0 +1,83 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory index taking changes between its rebuilds. The changes applied while a rebuild loads
+ * are recorded and replayed on the rebuilt snapshot before it replaces the current one, so none
+ * are lost.
+ * <p>
+ * The snapshot is changed under the write lock. Indexes whose snapshot may be read while it
+ * changes read it without locking. The others read it under the read lock.
+ *
+ * @param <S> the type of the snapshot.
+ * @param <C> the type of the changes applied to the snapshot.
+ */
+abstract class ReplayingIndex<S, C> extends RebuildingIndex<S> {
+
+    /**
+     * Changes applied while a rebuild loads, replayed on the rebuilt snapshot. Null while no
+     * rebuild is running.
+     */
+    private List<C> changesDuringRebuild;
+
+    /**
+     * Constructor for ReplayingIndex.
+     *
+     * @param name               Name of the index in the logs and of its rebuild thread.
+     * @param transactionManager Transaction manager of the rebuilds.
+     * @param refresh            Time between two periodic rebuilds.
+     */
+    protected ReplayingIndex(final String name,
+                             final PlatformTransactionManager transactionManager,
+                             final Duration refresh) {
+        super(name, transactionManager, refresh);
+    }
+
+    /**
+     * Applies a change to the current snapshot, and records it for the snapshot being rebuilt.
+     *
+     * @param change the change to apply.
+     */
+    protected final void apply(final C change) {
+        writeLock().lock();
+        try {
+            final S current = snapshot();
+            if (current != null) {
+                replay(current, change);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected final void rebuildStarted() {
+        changesDuringRebuild = new ArrayList<>();
+    }
+
+    @Override
+    protected final void rebuildFinished(final S rebuilt) {
+        if (rebuilt != null) {
+            for (C change : changesDuringRebuild) {
+                replay(rebuilt, change);
+            }
+        }
+        changesDuringRebuild = null;
+    }
+
+    /**
+     * Applies a change to a snapshot, under the write lock.
+     *
+     * @param target the snapshot to change.
+     * @param change the change to apply.
+     */
+    protected abstract void replay(S target, C change);
+}
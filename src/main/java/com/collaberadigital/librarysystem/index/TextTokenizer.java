@@ -0,0 +1,55 @@
+package com.collaberadigital.librarysystem.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits titles, authors and search queries into the terms matched by the search indexes.
+ * Terms are folded to lower case without diacritics, so "Émile" and "emile" match, and are
+ * separated by any character other than a letter or digit.
+ */
+public final class TextTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextTokenizer() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Folds a text to lower case and strips its diacritics.
+     *
+     * @param text the text to fold.
+     * @return the folded text.
+     */
+    public static String fold(final String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a text into its folded terms, in order and including repeated terms.
+     *
+     * @param text the text to split, may be null.
+     * @return the terms of the text.
+     */
+    public static List<String> tokenize(final String text) {
+        final List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
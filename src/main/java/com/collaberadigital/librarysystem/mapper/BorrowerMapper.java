@@ -0,0 +1,59 @@
+package com.collaberadigital.librarysystem.mapper;
+
+import com.collaberadigital.librarysystem.dto.BorrowerDTO;
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
+
+/**
+ * Maps borrowers to and from their DTOs.
+ * The fields are copied explicitly, so the mapping does not introspect the classes on each call.
+ */
+public final class BorrowerMapper {
+
+    private BorrowerMapper() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Converts a Borrower entity to a BorrowerDTO.
+     *
+     * @param borrower the Borrower entity to convert.
+     * @return the converted BorrowerDTO.
+     */
+    public static BorrowerDTO toDto(final Borrower borrower) {
+        return BorrowerDTO.builder()
+                .id(borrower.getId())
+                .name(borrower.getName())
+                .email(borrower.getEmail())
+                .build();
+    }
+
+    /**
+     * Converts a BorrowerView projection to a BorrowerDTO.
+     *
+     * @param view the BorrowerView to convert.
+     * @return the converted BorrowerDTO.
+     */
+    public static BorrowerDTO toDto(final BorrowerView view) {
+        return BorrowerDTO.builder()
+                .id(view.id())
+                .name(view.name())
+                .email(view.email())
+                .build();
+    }
+
+    /**
+     * Converts a BorrowerRequestDTO to a Borrower entity.
+     *
+     * @param borrowerDto the BorrowerRequestDTO to convert.
+     * @return the converted Borrower entity.
+     */
+    public static Borrower toEntity(final BorrowerRequestDTO borrowerDto) {
+        return Borrower.builder()
+                .name(borrowerDto.getName())
+                .email(borrowerDto.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.collaberadigital.librarysystem.mapper;
+
+import com.collaberadigital.librarysystem.dto.BorrowerDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.repository.projection.BorrowingView;
+
+/**
+ * Maps borrowings to their DTOs, along with the borrower and the book of the borrowing.
+ */
+public final class BorrowingMapper {
+
+    private BorrowingMapper() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Converts a Borrowing entity to a BorrowingInfoDTO.
+     *
+     * @param borrowing the Borrowing entity to convert.
+     * @return the converted BorrowingInfoDTO.
+     */
+    public static BorrowingInfoDTO toDto(final Borrowing borrowing) {
+        return toDto(borrowing,
+                BorrowerMapper.toDto(borrowing.getBorrower()), LibraryBookMapper.toDto(borrowing.getBook()));
+    }
+
+    /**
+     * Converts a BorrowingView projection to a BorrowingInfoDTO along with its borrower and book details.
+     *
+     * @param view the BorrowingView to convert.
+     * @return the converted BorrowingInfoDTO.
+     */
+    public static BorrowingInfoDTO toDto(final BorrowingView view) {
+        return BorrowingInfoDTO.builder()
+                .id(view.id())
+                .borrower(BorrowerDTO.builder()
+                        .id(view.borrowerId())
+                        .name(view.borrowerName())
+                        .email(view.borrowerEmail())
+                        .build())
+                .bookInfo(LibraryBookDTO.builder()
+                        .id(view.bookId())
+                        .isbn(view.isbn())
+                        .title(view.title())
+                        .author(view.author())
+                        .borrowed(view.borrowed())
+                        .build())
+                .borrowDate(view.borrowDate())
+                .returnDate(view.returnDate())
+                .build();
+    }
+
+    /**
+     * Converts a Borrowing entity to a BorrowingInfoDTO with the given borrower and book details.
+     *
+     * @param borrowing the Borrowing entity to convert.
+     * @param borrowerDto the details of the borrower.
+     * @param bookDto the details of the book.
+     * @return the converted BorrowingInfoDTO.
+     */
+    public static BorrowingInfoDTO toDto(
+            final Borrowing borrowing, final BorrowerDTO borrowerDto, final LibraryBookDTO bookDto) {
+        return BorrowingInfoDTO.builder()
+                .id(borrowing.getId())
+                .borrower(borrowerDto)
+                .bookInfo(bookDto)
+                .borrowDate(borrowing.getBorrowDate())
+                .returnDate(borrowing.getReturnDate())
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.collaberadigital.librarysystem.mapper;
+
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.model.BookCatalog;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
+
+/**
+ * Maps library books and their catalog entries to and from their DTOs.
+ * The fields are copied explicitly, so the mapping does not introspect the classes on each call.
+ */
+public final class LibraryBookMapper {
+
+    private LibraryBookMapper() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Converts a LibraryBook entity to a LibraryBookDTO, taking the ISBN, title and author
+     * from its catalog entry.
+     *
+     * @param book the LibraryBook entity to convert.
+     * @return the converted LibraryBookDTO.
+     */
+    public static LibraryBookDTO toDto(final LibraryBook book) {
+        final BookCatalog catalog = book.getCatalog();
+
+        return LibraryBookDTO.builder()
+                .id(book.getId())
+                .isbn(catalog.getIsbn())
+                .title(catalog.getTitle())
+                .author(catalog.getAuthor())
+                .borrowed(book.isBorrowed())
+                .build();
+    }
+
+    /**
+     * Converts a LibraryBookView projection to a LibraryBookDTO.
+     *
+     * @param view the LibraryBookView to convert.
+     * @return the converted LibraryBookDTO.
+     */
+    public static LibraryBookDTO toDto(final LibraryBookView view) {
+        return LibraryBookDTO.builder()
+                .id(view.id())
+                .isbn(view.isbn())
+                .title(view.title())
+                .author(view.author())
+                .borrowed(view.borrowed())
+                .build();
+    }
+
+    /**
+     * Copies a LibraryBookDTO, so that a shared instance such as a cached one is never modified.
+     *
+     * @param bookDto the LibraryBookDTO to copy.
+     * @return the copy of the LibraryBookDTO.
+     */
+    public static LibraryBookDTO copy(final LibraryBookDTO bookDto) {
+        return LibraryBookDTO.builder()
+                .id(bookDto.getId())
+                .isbn(bookDto.getIsbn())
+                .title(bookDto.getTitle())
+                .author(bookDto.getAuthor())
+                .borrowed(bookDto.isBorrowed())
+                .build();
+    }
+
+    /**
+     * Converts a LibraryBookRequestDTO to a BookCatalog entity without any copies.
+     *
+     * @param bookDto the LibraryBookRequestDTO to convert.
+     * @return the converted BookCatalog entity.
+     */
+    public static BookCatalog toCatalog(final LibraryBookRequestDTO bookDto) {
+        return BookCatalog.builder()
+                .isbn(bookDto.getIsbn())
+                .title(bookDto.getTitle())
+                .author(bookDto.getAuthor())
+                .build();
+    }
+
+    /**
+     * Creates an available copy of a catalog entry, along with the ISBN and title it is sorted by.
+     *
+     * @param catalog the catalog entry of the copy.
+     * @return the new LibraryBook entity.
+     */
+    public static LibraryBook toCopy(final BookCatalog catalog) {
+        return LibraryBook.builder()
+                .catalog(catalog)
+                .isbn(catalog.getIsbn())
+                .title(catalog.getTitle())
+                .borrowed(Boolean.FALSE)
+                .build();
+    }
+}
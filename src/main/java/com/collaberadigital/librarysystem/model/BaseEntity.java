@@ -10,6 +10,8 @@ import java.io.Serializable;
 
 /**
  * Base entity class providing common fields for all entities.
+ * IDs are drawn from a pooled sequence per entity (emulated with a table on MySQL), so
+ * Hibernate can assign IDs without an insert round trip and batch the inserts.
  */
 @Data
 @SuperBuilder
@@ -20,7 +22,7 @@ public abstract class BaseEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Version
@@ -0,0 +1,39 @@
+package com.collaberadigital.librarysystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import java.io.Serial;
+
+/**
+ * Represents a catalog entry in the library system, one per ISBN.
+ * Every copy of a title references its catalog entry, which holds the title and author
+ * along with the number of registered copies. The copies available to borrow are counted from
+ * the copies themselves, so borrowings and returns never update the catalog entry.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@Entity
+@Table(name = "book_catalog", indexes = {
+        @Index(name = "idx_book_catalog_title", columnList = "title")
+})
+@EqualsAndHashCode(callSuper = true)
+public class BookCatalog extends BaseEntity {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false, unique = true)
+    private String isbn;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String author;
+
+    @Column(nullable = false)
+    private int totalCopies;
+}
@@ -15,7 +15,9 @@ import java.io.Serial;
 @SuperBuilder
 @NoArgsConstructor
 @Entity
-@Table(name = "borrower")
+@Table(name = "borrower", indexes = {
+        @Index(name = "idx_borrower_name", columnList = "name, id")
+})
 @EqualsAndHashCode(callSuper = true)
 public class Borrower extends BaseEntity {
     @Serial
@@ -27,4 +29,10 @@ public class Borrower extends BaseEntity {
     @Column(nullable = false, unique = true)
     private String email;
 
+    /**
+     * Number of borrowings made by the borrower, maintained with relative updates.
+     */
+    @Column(nullable = false)
+    private long borrowingCount;
+
 }
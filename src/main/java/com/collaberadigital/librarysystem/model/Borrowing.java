@@ -14,7 +14,11 @@ import java.time.LocalDateTime;
 @SuperBuilder
 @NoArgsConstructor
 @Entity
-@Table(name = "borrow_map")
+@Table(name = "borrow_map", indexes = {
+        @Index(name = "idx_borrow_map_borrower_date", columnList = "borrower_id, borrowDate, id"),
+        @Index(name = "idx_borrow_map_borrower_book_date", columnList = "borrower_id, book_id, borrowDate"),
+        @Index(name = "idx_borrow_map_book_return", columnList = "book_id, returnDate")
+})
 @EqualsAndHashCode(callSuper = true)
 public class Borrowing extends BaseEntity {
     @Serial
@@ -33,4 +37,11 @@ public class Borrowing extends BaseEntity {
 
     @Column(nullable = true)
     private LocalDateTime returnDate;
+
+    /**
+     * ID of the borrowed book while the borrowing is open, cleared on return.
+     * The unique constraint guarantees at most one open borrowing per book.
+     */
+    @Column(name = "active_book_id", unique = true)
+    private Long activeBookId;
 }
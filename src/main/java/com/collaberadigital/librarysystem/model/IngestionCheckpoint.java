@@ -0,0 +1,52 @@
+package com.collaberadigital.librarysystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Represents the progress of a catalog file ingestion. The checkpoint is saved in the
+ * transaction registering each block of the file, so it never runs ahead of or behind the
+ * registered books.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "ingestion_checkpoint")
+public class IngestionCheckpoint implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name identifying the ingestion.
+     */
+    @Id
+    private String name;
+
+    /**
+     * Size and modification time of the catalog file the progress was recorded for.
+     */
+    @Column(nullable = false)
+    private String fingerprint;
+
+    /**
+     * Number of the last line of the last registered block.
+     */
+    @Column(nullable = false)
+    private long line;
+
+    @Column(nullable = false)
+    private long registered;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    /**
+     * Size of the rejects file once the rejections of the last registered block were written.
+     */
+    @Column(nullable = false)
+    private long rejectsSize;
+}
@@ -9,27 +9,42 @@ import lombok.experimental.SuperBuilder;
 import java.io.Serial;
 
 /**
- * Represents a book entity in the library system.
+ * Represents a copy of a book in the library system.
+ * The ISBN, title and author of the copy are held by its catalog entry. The ISBN and title are
+ * also copied onto the copy, so the listings sorted by them seek the copy indexes without
+ * joining the catalog; they never change, as the title of an ISBN is fixed once registered.
  */
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @Entity
-@Table(name = "library_book")
+@Table(name = "library_book", indexes = {
+        @Index(name = "idx_library_book_catalog", columnList = "catalog_id, borrowed, id"),
+        @Index(name = "idx_library_book_borrowed", columnList = "borrowed, id"),
+        @Index(name = "idx_library_book_isbn", columnList = "isbn, id"),
+        @Index(name = "idx_library_book_title", columnList = "title, id")
+})
 @EqualsAndHashCode(callSuper = true)
 public class LibraryBook extends BaseEntity {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "catalog_id", nullable = false)
+    private BookCatalog catalog;
+
+    /**
+     * ISBN of the catalog entry, the sort key of the listings by ISBN.
+     */
     @Column(nullable = false)
     private String isbn;
 
+    /**
+     * Title of the catalog entry, the sort key of the listings by title.
+     */
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    private String author;
-
     @Column(nullable = false)
     private boolean borrowed;
 
@@ -0,0 +1,86 @@
+package com.collaberadigital.librarysystem.repository;
+
+import com.collaberadigital.librarysystem.model.BookCatalog;
+import com.collaberadigital.librarysystem.repository.projection.BookCatalogView;
+import com.collaberadigital.librarysystem.repository.projection.CopyCountView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing BookCatalog entities.
+ * Copy counters are only changed with relative updates, so concurrent registrations of the
+ * same title never overwrite each other. Borrowings and returns leave the catalog untouched.
+ */
+@Repository
+public interface BookCatalogRepository extends JpaRepository<BookCatalog, Long> {
+
+    /**
+     * Finds the catalog entry of an ISBN.
+     *
+     * @param isbn the ISBN of the catalog entry to find.
+     * @return the catalog entry, or an empty Optional if the ISBN is not registered.
+     */
+    Optional<BookCatalog> findByIsbn(String isbn);
+
+    /**
+     * Finds the catalog entries of a set of ISBNs with a single query.
+     *
+     * @param isbns the ISBNs to look up.
+     * @return the catalog entries of the registered ISBNs.
+     */
+    List<BookCatalog> findByIsbnIn(Collection<String> isbns);
+
+    /**
+     * Finds the searchable fields of all catalog entries, without loading the entries.
+     *
+     * @return the views of all catalog entries.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.BookCatalogView("
+            + "c.id, c.isbn, c.title, c.author) from BookCatalog c")
+    List<BookCatalogView> findAllViews();
+
+    /**
+     * Counts the copies registered under each distinct title.
+     *
+     * @return the titles along with their number of copies.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.CopyCountView("
+            + "c.title, sum(c.totalCopies)) from BookCatalog c group by c.title")
+    List<CopyCountView> countCopiesByTitle();
+
+    /**
+     * Counts the copies registered under each distinct author.
+     *
+     * @return the authors along with their number of copies.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.CopyCountView("
+            + "c.author, sum(c.totalCopies)) from BookCatalog c group by c.author")
+    List<CopyCountView> countCopiesByAuthor();
+
+    /**
+     * Adds newly registered copies to a catalog entry.
+     *
+     * @param catalogId the ID of the catalog entry.
+     * @param copies the number of copies registered.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("update BookCatalog c set c.totalCopies = c.totalCopies + :copies, c.version = c.version + 1 "
+            + "where c.id = :catalogId")
+    int addCopies(@Param("catalogId") Long catalogId, @Param("copies") int copies);
+
+    /**
+     * Sums the copy counters of all catalog entries, giving the number of books in the library.
+     *
+     * @return the number of books in the library.
+     */
+    @Query("select coalesce(sum(c.totalCopies), 0) from BookCatalog c")
+    long sumTotalCopies();
+}
@@ -1,9 +1,22 @@
 package com.collaberadigital.librarysystem.repository;
 
 import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Borrower entities.
  */
@@ -17,4 +30,63 @@ public interface BorrowerRepository extends JpaRepository<Borrower, Long> {
      * @return true if a borrower with the specified email exists, false otherwise.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Finds a page of all borrowers as read-only views holding only the listed columns, so no
+     * entities are loaded into the persistence context.
+     *
+     * @param pageable pagination information.
+     * @return a page of borrower views.
+     */
+    @Query(value = "select new com.collaberadigital.librarysystem.repository.projection.BorrowerView("
+            + "b.id, b.name, b.email) from Borrower b",
+            countQuery = "select count(b) from Borrower b")
+    Page<BorrowerView> findAllViews(Pageable pageable);
+
+    /**
+     * Finds all borrowers as read-only views holding only the listed columns, to build the
+     * borrower search index.
+     *
+     * @return the views of all borrowers.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.BorrowerView("
+            + "b.id, b.name, b.email) from Borrower b")
+    List<BorrowerView> findAllViews();
+
+    /**
+     * Finds the emails of all borrowers, to build the borrower email filter.
+     *
+     * @return the emails of all borrowers.
+     */
+    @Query("select b.email from Borrower b")
+    List<String> findAllEmails();
+
+    /**
+     * Finds the number of borrowings made by a borrower.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @return the number of borrowings, or an empty Optional if the borrower is not found.
+     */
+    @Query("select b.borrowingCount from Borrower b where b.id = :borrowerId")
+    Optional<Long> findBorrowingCountById(@Param("borrowerId") Long borrowerId);
+
+    /**
+     * Increments the number of borrowings made by a borrower.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query("update Borrower b set b.borrowingCount = b.borrowingCount + 1 where b.id = :borrowerId")
+    int incrementBorrowingCount(@Param("borrowerId") Long borrowerId);
+
+    /**
+     * Scrolls through all borrowers using keyset pagination.
+     *
+     * @param position the position to continue from.
+     * @param sort the index-backed sort of the borrowers.
+     * @param limit the maximum number of borrowers to return.
+     * @return a window of borrowers following the given position.
+     */
+    Window<Borrower> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
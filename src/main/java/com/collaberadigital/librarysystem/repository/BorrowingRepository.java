@@ -1,27 +1,38 @@
 package com.collaberadigital.librarysystem.repository;
 
 import com.collaberadigital.librarysystem.model.Borrowing;
-import org.springframework.data.domain.Page;
+import com.collaberadigital.librarysystem.repository.projection.BorrowingView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 /**
  * Repository interface for managing Borrowing entities.
+ * Every read fetches the borrowed book, its catalog entry and the borrower along with the
+ * borrowing record, so mapping the results never triggers additional lazy loads.
  */
 @Repository
 public interface BorrowingRepository extends JpaRepository<Borrowing, Long> {
 
     /**
-     * Checks if there is an active borrowing record for a given book ID.
-     * An active borrowing record is one where the return date is null.
+     * Finds a borrowing record by its ID along with its book and borrower.
      *
-     * @param bookId the ID of the book to check.
-     * @return true if there is an active borrowing record for the book, false otherwise.
+     * @param id the ID of the borrowing record.
+     * @return an Optional containing the borrowing record if found, or empty otherwise.
      */
-    boolean existsByBookIdAndReturnDateIsNull(Long bookId);
+    @Override
+    @EntityGraph(attributePaths = {"book", "book.catalog", "borrower"})
+    Optional<Borrowing> findById(Long id);
 
     /**
      * Finds the latest borrowing record for a given borrower ID and book ID.
@@ -30,14 +41,33 @@ public interface BorrowingRepository extends JpaRepository<Borrowing, Long> {
      * @param bookId the ID of the book.
      * @return an Optional containing the latest borrowing record if found, or empty otherwise.
      */
-    Optional<Borrowing> findTopByBorrowerIdAndBookId(Long borrowerId, Long bookId);
+    @EntityGraph(attributePaths = {"book", "book.catalog", "borrower"})
+    Optional<Borrowing> findTopByBorrowerIdAndBookIdOrderByBorrowDateDesc(Long borrowerId, Long bookId);
 
     /**
-     * Finds all borrowing records for a given borrower ID with pagination support.
+     * Finds a slice of the borrowing records of a given borrower ID as read-only views joined
+     * with the borrower, the book and its catalog entry, without running a count query.
      *
      * @param borrowerId the ID of the borrower.
      * @param pageable the pagination information.
-     * @return a page of borrowing records for the specified borrower ID.
+     * @return a slice of borrowing views for the specified borrower ID.
      */
-    Page<Borrowing> findByBorrowerId(Long borrowerId, Pageable pageable);
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.BorrowingView("
+            + "b.id, b.borrowDate, b.returnDate, br.id, br.name, br.email, "
+            + "bk.id, c.isbn, c.title, c.author, bk.borrowed) "
+            + "from Borrowing b join b.book bk join bk.catalog c join b.borrower br "
+            + "where b.borrower.id = :borrowerId")
+    Slice<BorrowingView> findViewsByBorrowerId(@Param("borrowerId") Long borrowerId, Pageable pageable);
+
+    /**
+     * Scrolls through the borrowing records of a given borrower ID using keyset pagination.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param position the position to continue from.
+     * @param sort the index-backed sort of the borrowing records.
+     * @param limit the maximum number of borrowing records to return.
+     * @return a window of borrowing records for the specified borrower ID following the given position.
+     */
+    @EntityGraph(attributePaths = {"book", "book.catalog", "borrower"})
+    Window<Borrowing> findByBorrowerId(Long borrowerId, ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,13 @@
+package com.collaberadigital.librarysystem.repository;
+
+import com.collaberadigital.librarysystem.model.IngestionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing IngestionCheckpoint entities, identified by the name of
+ * their ingestion.
+ */
+@Repository
+public interface IngestionCheckpointRepository extends JpaRepository<IngestionCheckpoint, String> {
+}
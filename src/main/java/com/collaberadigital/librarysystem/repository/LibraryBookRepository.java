@@ -1,33 +1,184 @@
 package com.collaberadigital.librarysystem.repository;
 
 import com.collaberadigital.librarysystem.model.LibraryBook;
-import org.springframework.data.domain.Page;
+import com.collaberadigital.librarysystem.repository.projection.BookCopyView;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing LibraryBook entities.
+ * Every read fetches the catalog entry along with the book, so mapping the results never
+ * triggers additional lazy loads.
  */
 @Repository
 public interface LibraryBookRepository extends JpaRepository<LibraryBook, Long> {
 
     /**
-     * Finds books by their ISBN.
+     * Finds a book by its ID along with its catalog entry.
+     *
+     * @param id the ID of the book.
+     * @return the book, or an empty Optional if it does not exist.
+     */
+    @Override
+    @EntityGraph(attributePaths = "catalog")
+    Optional<LibraryBook> findById(Long id);
+
+    /**
+     * Finds a slice of all books as read-only views holding only the listed columns, so no
+     * entities are loaded into the persistence context. One row more than the page size is
+     * fetched to tell whether a next slice exists, so no count query is run.
+     *
+     * @param pageable pagination information.
+     * @return a slice of book views.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.LibraryBookView("
+            + "b.id, c.isbn, c.title, c.author, b.borrowed) from LibraryBook b join b.catalog c")
+    Slice<LibraryBookView> findAllViews(Pageable pageable);
+
+    /**
+     * Finds the copies of an ISBN.
      *
      * @param isbn the ISBN of the books to find.
      * @return a list of books with the specified ISBN.
      */
-    List<LibraryBook> findByIsbn(String isbn);
+    @EntityGraph(attributePaths = "catalog")
+    List<LibraryBook> findByCatalogIsbn(String isbn);
+
+    /**
+     * Locks an available copy of a catalog entry following a given copy. Copies locked by
+     * concurrent claims are skipped rather than waited for, so concurrent borrows of the same
+     * title each lock a different copy without blocking each other. The query has no order by,
+     * as H2 applies the limit before skipping the locked rows of a sorted query; the copies are
+     * still read in the ID order of the catalog copy index.
+     *
+     * @param catalogId the ID of the catalog entry.
+     * @param afterId the ID after which to look for copies, 0 to start from the first copy.
+     * @return the ID of the locked copy, or an empty Optional if no unlocked copy is available.
+     */
+    @Query(value = "select b.id from library_book b where b.catalog_id = :catalogId and b.borrowed = false "
+            + "and b.id > :afterId limit 1 for update skip locked", nativeQuery = true)
+    Optional<Long> lockAvailableCopyId(@Param("catalogId") Long catalogId, @Param("afterId") Long afterId);
 
     /**
-     * Finds books by their borrowed status.
+     * Finds a slice of books by their borrowed status as read-only views, without running a
+     * count query.
      *
      * @param borrowStatus the borrowed status of the books to find.
      * @param pageable pagination information.
-     * @return a paginated list of books with the specified borrowed status.
+     * @return a slice of book views with the specified borrowed status.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.LibraryBookView("
+            + "b.id, c.isbn, c.title, c.author, b.borrowed) from LibraryBook b join b.catalog c "
+            + "where b.borrowed = :borrowStatus")
+    Slice<LibraryBookView> findViewsByBorrowed(@Param("borrowStatus") Boolean borrowStatus, Pageable pageable);
+
+    /**
+     * Finds the views of the books with the given IDs, in no particular order.
+     *
+     * @param ids the IDs of the books to find.
+     * @return the views of the books found.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.LibraryBookView("
+            + "b.id, c.isbn, c.title, c.author, b.borrowed) from LibraryBook b join b.catalog c "
+            + "where b.id in :ids")
+    List<LibraryBookView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the IDs of all books in the given order, without loading the books or collecting
+     * the IDs. The stream must be consumed within a transaction and closed.
+     *
+     * @param sort the order of the IDs.
+     * @return the IDs of all books.
+     */
+    @Query("select b.id from LibraryBook b")
+    Stream<Long> streamIds(Sort sort);
+
+    /**
+     * Streams the IDs of all books available to borrow, in no particular order. The stream must
+     * be consumed within a transaction and closed.
+     *
+     * @return the IDs of the available books.
+     */
+    @Query("select b.id from LibraryBook b where b.borrowed = false")
+    Stream<Long> streamAvailableIds();
+
+    /**
+     * Counts the books available to borrow.
+     *
+     * @return the number of available books.
+     */
+    long countByBorrowedFalse();
+
+    /**
+     * Finds all book copies along with the ID of their catalog entry, in ID order, without
+     * loading the books.
+     *
+     * @return the views of all book copies.
+     */
+    @Query("select new com.collaberadigital.librarysystem.repository.projection.BookCopyView("
+            + "b.id, b.catalog.id) from LibraryBook b order by b.id")
+    List<BookCopyView> findAllCopyViews();
+
+    /**
+     * Scrolls through all books using keyset pagination.
+     *
+     * @param position the position to continue from.
+     * @param sort the index-backed sort of the books.
+     * @param limit the maximum number of books to return.
+     * @return a window of books following the given position.
+     */
+    @EntityGraph(attributePaths = "catalog")
+    Window<LibraryBook> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Scrolls through books by their borrowed status using keyset pagination.
+     *
+     * @param borrowStatus the borrowed status of the books to find.
+     * @param position the position to continue from.
+     * @param sort the index-backed sort of the books.
+     * @param limit the maximum number of books to return.
+     * @return a window of books with the specified borrowed status following the given position.
+     */
+    @EntityGraph(attributePaths = "catalog")
+    Window<LibraryBook> findByBorrowed(Boolean borrowStatus, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Atomically claims a book for borrowing. The update only succeeds while the book
+     * is not borrowed, so the availability check and the status flip happen in a single
+     * statement and the row lock is held for the shortest possible time.
+     *
+     * @param bookId the ID of the book to claim.
+     * @return the number of updated rows, 1 if the book was claimed, 0 otherwise.
+     */
+    @Modifying
+    @Query("update LibraryBook b set b.borrowed = true, b.version = b.version + 1 "
+            + "where b.id = :bookId and b.borrowed = false")
+    int claimForBorrow(@Param("bookId") Long bookId);
+
+    /**
+     * Atomically releases a borrowed book so that it becomes available again.
+     *
+     * @param bookId the ID of the book to release.
+     * @return the number of updated rows, 1 if the book was released, 0 otherwise.
      */
-    Page<LibraryBook> findByBorrowed(Boolean borrowStatus, Pageable pageable);
+    @Modifying
+    @Query("update LibraryBook b set b.borrowed = false, b.version = b.version + 1 "
+            + "where b.id = :bookId and b.borrowed = true")
+    int releaseBorrowed(@Param("bookId") Long bookId);
 }
@@ -0,0 +1,12 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+/**
+ * Read-only projection of the searchable fields of a catalog entry.
+ *
+ * @param id the ID of the catalog entry.
+ * @param isbn the ISBN of the book.
+ * @param title the title of the book.
+ * @param author the author of the book.
+ */
+public record BookCatalogView(Long id, String isbn, String title, String author) {
+}
@@ -0,0 +1,10 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+/**
+ * Read-only projection of a book copy reduced to the catalog entry it belongs to.
+ *
+ * @param id the ID of the book copy.
+ * @param catalogId the ID of the catalog entry of the copy.
+ */
+public record BookCopyView(Long id, Long catalogId) {
+}
@@ -0,0 +1,11 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+/**
+ * Read-only projection of a borrower.
+ *
+ * @param id the ID of the borrower.
+ * @param name the name of the borrower.
+ * @param email the email of the borrower.
+ */
+public record BorrowerView(Long id, String name, String email) {
+}
@@ -0,0 +1,25 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a borrowing joined with its borrower, its book copy and the
+ * catalog entry of the copy.
+ *
+ * @param id the ID of the borrowing.
+ * @param borrowDate the date the book was borrowed.
+ * @param returnDate the date the book was returned, or null if it is still borrowed.
+ * @param borrowerId the ID of the borrower.
+ * @param borrowerName the name of the borrower.
+ * @param borrowerEmail the email of the borrower.
+ * @param bookId the ID of the book copy.
+ * @param isbn the ISBN of the book.
+ * @param title the title of the book.
+ * @param author the author of the book.
+ * @param borrowed whether the copy is currently borrowed.
+ */
+public record BorrowingView(
+        Long id, LocalDateTime borrowDate, LocalDateTime returnDate,
+        Long borrowerId, String borrowerName, String borrowerEmail,
+        Long bookId, String isbn, String title, String author, boolean borrowed) {
+}
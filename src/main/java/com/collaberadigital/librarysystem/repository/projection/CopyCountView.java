@@ -0,0 +1,10 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+/**
+ * Read-only projection of a title or author along with the number of copies registered under it.
+ *
+ * @param text the title or author.
+ * @param copies the number of copies registered under it.
+ */
+public record CopyCountView(String text, Long copies) {
+}
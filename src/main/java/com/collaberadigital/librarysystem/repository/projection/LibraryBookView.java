@@ -0,0 +1,13 @@
+package com.collaberadigital.librarysystem.repository.projection;
+
+/**
+ * Read-only projection of a book copy along with the ISBN, title and author of its catalog entry.
+ *
+ * @param id the ID of the book copy.
+ * @param isbn the ISBN of the book.
+ * @param title the title of the book.
+ * @param author the author of the book.
+ * @param borrowed whether the copy is currently borrowed.
+ */
+public record LibraryBookView(Long id, String isbn, String title, String author, boolean borrowed) {
+}
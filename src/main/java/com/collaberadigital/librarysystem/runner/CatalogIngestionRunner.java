@@ -0,0 +1,73 @@
+package com.collaberadigital.librarysystem.runner;
+
+import com.collaberadigital.librarysystem.dto.IngestionReportDTO;
+import com.collaberadigital.librarysystem.service.CatalogIngestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs a catalog file ingestion on startup when {@code library.ingestion.file} is set,
+ * for example {@code --library.ingestion.file=/data/catalog.csv} for the nightly catalog sync.
+ * Running it again after a failure resumes the ingestion from its checkpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "library.ingestion.file")
+public class CatalogIngestionRunner implements ApplicationRunner {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogIngestionRunner.class);
+
+    /**
+     * Service ingesting the catalog file.
+     */
+    private final CatalogIngestionService catalogIngestionService;
+
+    /**
+     * Catalog file to ingest.
+     */
+    private final Path file;
+
+    /**
+     * Name of the checkpoint recording the progress of the ingestion.
+     */
+    private final String checkpoint;
+
+    /**
+     * Constructor for CatalogIngestionRunner.
+     *
+     * @param catalogIngestionService Service ingesting the catalog file.
+     * @param file                    Catalog file to ingest.
+     * @param checkpoint              Name of the checkpoint, the catalog file name when blank.
+     */
+    public CatalogIngestionRunner(
+            final CatalogIngestionService catalogIngestionService,
+            @Value("${library.ingestion.file}") final String file,
+            @Value("${library.ingestion.checkpoint:}") final String checkpoint) {
+
+        this.catalogIngestionService = catalogIngestionService;
+        this.file = Path.of(file);
+        this.checkpoint = checkpoint.isBlank() ? this.file.getFileName().toString() : checkpoint;
+    }
+
+    /**
+     * Ingests the configured catalog file and logs the summary of the ingestion.
+     *
+     * @param args the application arguments.
+     * @throws IOException if the catalog or rejects file cannot be read or written.
+     */
+    @Override
+    public void run(final ApplicationArguments args) throws IOException {
+        final IngestionReportDTO report = catalogIngestionService.ingest(file, checkpoint);
+        LOGGER.info("Catalog ingestion report: {}", report);
+    }
+}
@@ -36,4 +36,28 @@ public interface BorrowerService {
      */
     BorrowerDTO registerBorrower(BorrowerRequestDTO borrowerDto);
 
+    /**
+     * Searches the borrowers whose name, a word of their name, or email starts with a prefix,
+     * ignoring case.
+     *
+     * @param query the prefix of the name or email.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of borrowers per page.
+     * @return a paginated response containing the matching borrowers, by the name or email they match.
+     */
+    BorrowerPageResponseDTO searchBorrowers(String query, int pageNo, int pageSize);
+
+    /**
+     * Retrieves a page of all borrowers using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of borrowers per page.
+     * @param sortBy the index-backed field by which to sort the borrowers, ignored when a cursor is given.
+     * @param sortDir the direction in which to sort the borrowers (ASC/DESC), ignored when a cursor is given.
+     * @return a page of borrowers along with the continuation token of the next page.
+     */
+    CursorPageResponseDTO<BorrowerDTO> scrollAllBorrower(
+            String cursor, int pageSize,
+            String sortBy, String sortDir);
+
 }
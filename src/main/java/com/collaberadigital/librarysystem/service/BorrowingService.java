@@ -1,6 +1,7 @@
 package com.collaberadigital.librarysystem.service;
 
 import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
 
 /**
@@ -17,6 +18,15 @@ public interface BorrowingService {
      */
     BorrowingInfoDTO borrowBook(long bookId, long borrowerId);
 
+    /**
+     * Borrows any available copy of a book for a borrower.
+     *
+     * @param isbn the ISBN of the book to be borrowed.
+     * @param borrowerId the ID of the borrower who is borrowing the book.
+     * @return the borrowing information of the borrowed copy.
+     */
+    BorrowingInfoDTO borrowBookByIsbn(String isbn, long borrowerId);
+
     /**
      * Returns a borrowed book.
      *
@@ -42,9 +52,24 @@ public interface BorrowingService {
      * @param pageSize the number of borrowings per page.
      * @param sortBy the field by which to sort the borrowings.
      * @param sortDir the direction in which to sort the borrowings (ASC/DESC).
+     * @param withTotal whether to include the total number of borrowings and pages.
      * @return a paginated response containing the list of borrowings for the specified borrower.
      */
     BorrowingPageResponseDTO getBorrowingInfoByBorrower(
             long borrowerId,int pageNo, int pageSize,
+            String sortBy, String sortDir, boolean withTotal);
+
+    /**
+     * Retrieves a page of the books borrowed by a specific borrower using keyset pagination.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of borrowings per page.
+     * @param sortBy the index-backed field by which to sort the borrowings, ignored when a cursor is given.
+     * @param sortDir the direction in which to sort the borrowings (ASC/DESC), ignored when a cursor is given.
+     * @return a page of borrowings along with the continuation token of the next page.
+     */
+    CursorPageResponseDTO<BorrowingInfoDTO> scrollBorrowingInfoByBorrower(
+            long borrowerId, String cursor, int pageSize,
             String sortBy, String sortDir);
 }
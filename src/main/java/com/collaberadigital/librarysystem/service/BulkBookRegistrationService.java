@@ -0,0 +1,21 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BulkRegistrationResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+
+import java.util.Iterator;
+
+/**
+ * Service interface for registering large collections of books in the library.
+ */
+public interface BulkBookRegistrationService {
+
+    /**
+     * Registers a stream of books. The books are validated and inserted in chunks, each in
+     * its own transaction, so only one chunk is held in memory at a time.
+     *
+     * @param books the details of the books to be registered, in request order.
+     * @return the summary of the registration along with the outcome of every book.
+     */
+    BulkRegistrationResponseDTO registerBooks(Iterator<LibraryBookRequestDTO> books);
+}
@@ -0,0 +1,24 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.IngestionReportDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Service interface for ingesting catalog files into the library.
+ */
+public interface CatalogIngestionService {
+
+    /**
+     * Ingests a CSV or TSV catalog file. Rows are registered in batched transactions and
+     * progress is recorded in a checkpoint saved by the same transactions, so an interrupted
+     * ingestion of the same file resumes after the last committed row.
+     *
+     * @param file the catalog file, a {@code .tsv} file is tab separated, any other file comma separated.
+     * @param checkpoint the name of the checkpoint recording the progress of the ingestion.
+     * @return the summary of the ingestion.
+     * @throws IOException if the catalog or rejects file cannot be read or written.
+     */
+    IngestionReportDTO ingest(Path file, String checkpoint) throws IOException;
+}
@@ -1,8 +1,15 @@
 package com.collaberadigital.librarysystem.service;
 
+import com.collaberadigital.librarysystem.dto.BookMatchDTO;
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.BookSuggestionDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.util.AppConstant;
+
+import java.util.List;
 
 /**
  * Service interface for managing books in the library.
@@ -17,6 +24,16 @@ public interface LibraryBookService {
      */
     LibraryBookDTO registerBook(LibraryBookRequestDTO bookDTO);
 
+    /**
+     * Registers a batch of books in a single transaction. The ISBN consistency of the whole
+     * batch is checked with one lookup, and books that fail the check are rejected without
+     * affecting the rest of the batch.
+     *
+     * @param books the details of the books to be registered.
+     * @return the outcome for each book, indexed by its position in the batch.
+     */
+    List<BookRegistrationResultDTO> registerBookBatch(List<LibraryBookRequestDTO> books);
+
     /**
      * Retrieves the details of a book by its ID.
      *
@@ -32,11 +49,12 @@ public interface LibraryBookService {
      * @param pageSize the number of books per page.
      * @param sortBy the field by which to sort the books.
      * @param sortDir the direction in which to sort the books (ASC/DESC).
+     * @param withTotal whether to include the total number of books and pages.
      * @return a paginated response containing the list of books.
      */
     LibraryBookPageResponseDTO getAllBooks(
             int pageNo, int pageSize,
-            String sortBy, String sortDir);
+            String sortBy, String sortDir, boolean withTotal);
 
     /**
      * Retrieves a paginated list of all available books for borrowing.
@@ -45,9 +63,69 @@ public interface LibraryBookService {
      * @param pageSize the number of books per page.
      * @param sortBy the field by which to sort the books.
      * @param sortDir the direction in which to sort the books (ASC/DESC).
+     * @param withTotal whether to include the total number of available books and pages.
      * @return a paginated response containing the list of available books for borrowing.
      */
     LibraryBookPageResponseDTO getAllAvailableBorrow(
             int pageNo, int pageSize,
+            String sortBy, String sortDir, boolean withTotal);
+
+    /**
+     * Searches the books by the terms of their title and author, ignoring case and diacritics.
+     * Books holding every term of the query are ranked by relevance, with the available copies
+     * listed before the borrowed ones.
+     *
+     * @param query the search query.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of books per page.
+     * @return a paginated response containing the matching books.
+     */
+    LibraryBookPageResponseDTO searchBooks(String query, int pageNo, int pageSize);
+
+    /**
+     * Suggests the titles and authors starting with a prefix, ignoring case and diacritics,
+     * the ones with the most copies first.
+     *
+     * @param prefix the typed prefix.
+     * @param limit the maximum number of suggestions, capped at {@link AppConstant#MAX_SUGGESTION_LIMIT}.
+     * @return the suggestions.
+     */
+    List<BookSuggestionDTO> suggestBooks(String prefix, int limit);
+
+    /**
+     * Looks up the books closest to a title, author or ISBN that may hold typos.
+     *
+     * @param query the title or author terms, or the ISBN.
+     * @param maxDistance the maximum number of edited characters per term or ISBN, capped at
+     *                    {@link AppConstant#MAX_LOOKUP_DISTANCE}.
+     * @param limit the maximum number of books, capped at {@link AppConstant#MAX_LOOKUP_LIMIT}.
+     * @return the closest books along with their distances, closest first.
+     */
+    List<BookMatchDTO> lookupBooks(String query, int maxDistance, int limit);
+
+    /**
+     * Retrieves a page of all books using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of books per page.
+     * @param sortBy the index-backed field by which to sort the books, ignored when a cursor is given.
+     * @param sortDir the direction in which to sort the books (ASC/DESC), ignored when a cursor is given.
+     * @return a page of books along with the continuation token of the next page.
+     */
+    CursorPageResponseDTO<LibraryBookDTO> scrollAllBooks(
+            String cursor, int pageSize,
+            String sortBy, String sortDir);
+
+    /**
+     * Retrieves a page of all available books for borrowing using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of books per page.
+     * @param sortBy the index-backed field by which to sort the books, ignored when a cursor is given.
+     * @param sortDir the direction in which to sort the books (ASC/DESC), ignored when a cursor is given.
+     * @return a page of available books along with the continuation token of the next page.
+     */
+    CursorPageResponseDTO<LibraryBookDTO> scrollAvailableBorrow(
+            String cursor, int pageSize,
             String sortBy, String sortDir);
 }
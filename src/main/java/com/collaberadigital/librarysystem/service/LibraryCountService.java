@@ -0,0 +1,32 @@
+package com.collaberadigital.librarysystem.service;
+
+/**
+ * Service interface providing the totals reported by the paginated listings. The borrowing
+ * count of a borrower is read from a maintained counter. The book totals are aggregated and
+ * cached briefly rather than maintained, as a counter updated by every borrow and return would
+ * make them all wait on one row.
+ */
+public interface LibraryCountService {
+
+    /**
+     * Retrieves the number of books in the library.
+     *
+     * @return the number of books.
+     */
+    long countBooks();
+
+    /**
+     * Retrieves the number of books available to borrow.
+     *
+     * @return the number of available books.
+     */
+    long countAvailableBooks();
+
+    /**
+     * Retrieves the number of borrowings made by a borrower.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @return the number of borrowings, 0 if the borrower is not found.
+     */
+    long countBorrowings(long borrowerId);
+}
@@ -1,27 +1,42 @@
 package com.collaberadigital.librarysystem.service.impl;
 
 import com.collaberadigital.librarysystem.dto.*;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.InvalidBorrowerException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
+import com.collaberadigital.librarysystem.index.BorrowerEmailFilter;
+import com.collaberadigital.librarysystem.index.BorrowerSearchIndex;
+import com.collaberadigital.librarysystem.mapper.BorrowerMapper;
 import com.collaberadigital.librarysystem.model.Borrower;
 import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
 import com.collaberadigital.librarysystem.service.BorrowerService;
 import com.collaberadigital.librarysystem.util.AppConstant;
+import com.collaberadigital.librarysystem.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Implementation of the BorrowerService interface for managing borrower operations.
  */
 @Service
+@Timed(AppConstant.SERVICE_METRIC)
 public class BorrowerServiceImpl implements BorrowerService {
 
     /**
@@ -29,37 +44,71 @@ public class BorrowerServiceImpl implements BorrowerService {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(BorrowerServiceImpl.class);
 
+    /**
+     * Name of the unique constraint on the email in the MySQL schema.
+     */
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "UK_b32npirfvnbp9jrskluwkf3p2";
+
+    /**
+     * SQL state of the unique violations in H2, where the unique constraint on the email has a
+     * generated name. The email is the only unique column of the borrowers besides their ID.
+     */
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+
+    /**
+     * Index-backed sort keys supported by keyset pagination, mapped to their value types.
+     */
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            AppConstant.RECORD_ID, Long.class,
+            "name", String.class,
+            "email", String.class);
+
     // Repository for managing borrower data
     private final BorrowerRepository borrowerRepository;
 
+    // In-memory index serving the borrower search
+    private final BorrowerSearchIndex searchIndex;
+
+    // In-memory filter of the registered emails, sparing the duplicate check of new emails
+    private final BorrowerEmailFilter emailFilter;
+
     /**
      * Constructor for BorrowerServiceImpl.
      *
      * @param borrowerRepository The repository providing data access operations for borrowers.
+     * @param searchIndex        The in-memory index serving the borrower search.
+     * @param emailFilter        The in-memory filter of the registered emails.
      */
-    public BorrowerServiceImpl(final BorrowerRepository borrowerRepository) {
+    public BorrowerServiceImpl(final BorrowerRepository borrowerRepository,
+                               final BorrowerSearchIndex searchIndex,
+                               final BorrowerEmailFilter emailFilter) {
         this.borrowerRepository = borrowerRepository;
+        this.searchIndex = searchIndex;
+        this.emailFilter = emailFilter;
     }
 
     /**
-     * Retrieves the details of a borrower by ID.
+     * Retrieves the details of a borrower by ID. The details are cached, as borrowers are not
+     * updated once registered.
      *
      * @param borrowerId the ID of the borrower.
      * @return the details of the borrower.
      * @throws ResourceNotFoundException if the borrower with the specified ID is not found.
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstant.BORROWER_CACHE, key = "#borrowerId")
     public BorrowerDTO getBorrowerById(final long borrowerId) {
         LOGGER.info("Fetching borrower with ID: {}", borrowerId);
 
         final Borrower borrower = borrowerRepository.findById(borrowerId).orElseThrow(()
                 -> new ResourceNotFoundException(AppConstant.BORROWER, AppConstant.RECORD_ID, borrowerId));
 
-        return toBorrowerDto(borrower);
+        return BorrowerMapper.toDto(borrower);
     }
 
     /**
-     * Retrieves all borrowers with pagination and sorting.
+     * Retrieves all borrowers with pagination and sorting. The page is fetched as read-only views.
      *
      * @param pageNo the page number to retrieve.
      * @param pageSize the number of borrowers per page.
@@ -68,6 +117,7 @@ public class BorrowerServiceImpl implements BorrowerService {
      * @return a paginated response containing the list of borrowers.
      */
     @Override
+    @Transactional(readOnly = true)
     public BorrowerPageResponseDTO getAllBorrower(final int pageNo, final int pageSize,
                                                   final String sortBy, final String sortDir) {
         LOGGER.info("Fetching all borrowers - PageNo: {}, PageSize: {}, SortBy: {}, SortDir: {}",
@@ -77,22 +127,60 @@ public class BorrowerServiceImpl implements BorrowerService {
                 Sort.by(sortBy).ascending(): Sort.by(sortBy).descending();
 
         final Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        final Page<Borrower> pageBorrower = borrowerRepository.findAll(pageable);
+        final Page<BorrowerView> pageBorrower = borrowerRepository.findAllViews(pageable);
 
         final List<BorrowerDTO> contentList = pageBorrower.getContent()
                 .stream()
-                .map(this::toBorrowerDto)
+                .map(BorrowerMapper::toDto)
                 .toList();
 
         return createResponse(contentList, pageBorrower, pageNo, pageSize);
     }
 
     /**
-     * Registers a new borrower.
+     * Retrieves a page of all borrowers using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of borrowers per page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the direction to sort by (ASC/DESC).
+     * @return a page of borrowers along with the continuation token of the next page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BorrowerDTO> scrollAllBorrower(final String cursor, final int pageSize,
+                                                               final String sortBy, final String sortDir) {
+        LOGGER.info("Scrolling all borrowers - PageSize: {}, SortBy: {}, SortDir: {}",
+                pageSize, sortBy, sortDir);
+
+        final Sort sort = KeysetCursor.sort(cursor, sortBy, sortDir, SORT_KEYS);
+        final Window<Borrower> windowBorrower = borrowerRepository.findBy(
+                KeysetCursor.position(cursor, SORT_KEYS), sort, Limit.of(pageSize));
+
+        final List<BorrowerDTO> contentList = windowBorrower.getContent()
+                .stream()
+                .map(BorrowerMapper::toDto)
+                .toList();
+
+        return CursorPageResponseDTO.<BorrowerDTO>builder()
+                .content(contentList)
+                .pageSize(pageSize)
+                .numberOfElements(contentList.size())
+                .nextCursor(windowBorrower.hasNext()
+                        ? KeysetCursor.encode(sort, windowBorrower.positionAt(windowBorrower.size() - 1)) : null)
+                .last(!windowBorrower.hasNext())
+                .build();
+    }
+
+    /**
+     * Registers a new borrower. The email is only checked against the database when the email
+     * filter reports it may be registered; the unique constraint on the email rejects the
+     * duplicates the filter lets through and concurrent registrations of the same email.
      *
      * @param borrowerDto the details of the borrower to be registered.
      * @return the registered borrower details.
      * @throws InvalidBorrowerException if the email ID already exists.
+     * @throws DataIntegrityViolationException if the borrower violates another constraint.
      */
     @Override
     public BorrowerDTO registerBorrower(final BorrowerRequestDTO borrowerDto) {
@@ -100,7 +188,8 @@ public class BorrowerServiceImpl implements BorrowerService {
             LOGGER.info("Registering new borrower with email: {}", borrowerDto.getEmail());
         }
 
-        if (borrowerRepository.existsByEmail(borrowerDto.getEmail())) {
+        if (emailFilter.mightBeRegistered(borrowerDto.getEmail())
+                && borrowerRepository.existsByEmail(borrowerDto.getEmail())) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.error("Email ID already exists: {}", borrowerDto.getEmail());
             }
@@ -108,53 +197,77 @@ public class BorrowerServiceImpl implements BorrowerService {
             throw new InvalidBorrowerException("Email ID already exists");
         }
 
-        final Borrower borrower = toBorrowerEntity(borrowerDto);
-        borrowerRepository.save(borrower);
+        final Borrower borrower = BorrowerMapper.toEntity(borrowerDto);
+        try {
+            borrowerRepository.saveAndFlush(borrower);
+        } catch (DataIntegrityViolationException exception) {
+            if (!isEmailConflict(exception)) {
+                throw exception;
+            }
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.error("Email ID already exists: {}", borrowerDto.getEmail());
+            }
+
+            throw new InvalidBorrowerException("Email ID already exists");
+        }
+        emailFilter.recordRegistered(borrower.getEmail());
+        searchIndex.recordRegistered(borrower);
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Borrower registered successfully with ID: {}", borrower.getId());
         }
 
-        return toBorrowerDto(borrower);
+        return BorrowerMapper.toDto(borrower);
     }
 
     /**
-     * Converts a Borrower entity to a BorrowerDTO.
+     * Searches the borrowers whose name, a word of their name, or email starts with a prefix.
+     * The page is served by the borrower search index, without querying the database. The
+     * matches are not counted, the response only tells whether the page is the last.
      *
-     * @param borrower the Borrower entity to convert.
-     * @return the converted BorrowerDTO.
+     * @param query the prefix of the name or email.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of borrowers per page.
+     * @return a paginated response containing the matching borrowers, by the name or email they match.
+     * @throws CommonSystemException if the borrower search index is not built yet.
      */
-    public BorrowerDTO toBorrowerDto(final Borrower borrower) {
-        BorrowerDTO borrowerDto = new BorrowerDTO();
-        BeanUtils.copyProperties(borrower, borrowerDto);
+    @Override
+    public BorrowerPageResponseDTO searchBorrowers(final String query, final int pageNo, final int pageSize) {
+        LOGGER.info("Searching borrowers matching: {} (pageNo: {}, pageSize: {})", query, pageNo, pageSize);
 
-        return borrowerDto;
-    }
+        final BorrowerSearchIndex.BorrowerPage page = searchIndex.search(query, pageNo, pageSize).orElseThrow(() -> {
+            LOGGER.error("Borrower search index is not built yet");
+            return new CommonSystemException("Borrower search is not available yet, please retry");
+        });
 
-    /**
-     * Converts a BorrowerRequestDTO to a Borrower entity.
-     *
-     * @param borrowerDto the BorrowerRequestDTO to convert.
-     * @return the converted Borrower entity.
-     */
-    public Borrower toBorrowerEntity(final BorrowerRequestDTO borrowerDto) {
-        Borrower borrower = new Borrower();
-        BeanUtils.copyProperties(borrowerDto, borrower);
+        final List<BorrowerDTO> contentList = page.borrowers()
+                .stream()
+                .map(BorrowerMapper::toDto)
+                .toList();
 
-        return borrower;
+        LOGGER.info("Found {} borrowers matching: {} on page: {}", contentList.size(), query, pageNo);
+        return BorrowerPageResponseDTO.builder()
+                .content(contentList)
+                .pageNo(pageNo)
+                .pageSize(pageSize)
+                .totalElements(AppConstant.UNKNOWN_TOTAL)
+                .numberOfElements(contentList.size())
+                .totalPages(AppConstant.UNKNOWN_TOTAL)
+                .last(page.last())
+                .build();
     }
 
     /**
-     * Creates a BorrowerPageResponseDTO from a list of BorrowerDTOs and a Page of Borrowers.
+     * Creates a BorrowerPageResponseDTO from a list of BorrowerDTOs and the Page they were mapped from.
      *
      * @param contentList the list of BorrowerDTOs.
-     * @param pageBorrower the Page of Borrowers.
+     * @param pageBorrower the Page of borrower views.
      * @param pageNo the current page number.
      * @param pageSize the number of borrowers per page.
      * @return the created BorrowerPageResponseDTO.
      */
     private BorrowerPageResponseDTO createResponse(
-            final List<BorrowerDTO> contentList, final Page<Borrower> pageBorrower,
+            final List<BorrowerDTO> contentList, final Page<BorrowerView> pageBorrower,
             final int pageNo, final int pageSize) {
         return BorrowerPageResponseDTO.builder()
                 .content(contentList)
@@ -166,4 +279,22 @@ public class BorrowerServiceImpl implements BorrowerService {
                 .last(pageBorrower.isLast())
                 .build();
     }
+
+    /**
+     * Checks whether a violation on insert is the one of the unique constraint on the email,
+     * identified by its name in MySQL and by the unique violation state in H2.
+     *
+     * @param exception the violation to check.
+     * @return true if the email is already registered.
+     */
+    private static boolean isEmailConflict(final DataIntegrityViolationException exception) {
+        if (!(exception.getCause() instanceof ConstraintViolationException violation)) {
+            return false;
+        }
+
+        final String constraintName = violation.getConstraintName();
+        return constraintName != null
+                && constraintName.toUpperCase(Locale.ROOT).endsWith(EMAIL_UNIQUE_CONSTRAINT.toUpperCase(Locale.ROOT))
+                || UNIQUE_VIOLATION_STATE.equals(violation.getSQLState());
+    }
 }
@@ -1,33 +1,53 @@
 package com.collaberadigital.librarysystem.service.impl;
 
+import com.collaberadigital.librarysystem.annotations.BookLock;
+import com.collaberadigital.librarysystem.annotations.RetryOnConflict;
+import com.collaberadigital.librarysystem.aspect.BookLocks;
 import com.collaberadigital.librarysystem.dto.*;
 import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.mapper.BorrowingMapper;
+import com.collaberadigital.librarysystem.mapper.LibraryBookMapper;
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
 import com.collaberadigital.librarysystem.model.Borrower;
 import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
 import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
 import com.collaberadigital.librarysystem.repository.BorrowerRepository;
 import com.collaberadigital.librarysystem.repository.BorrowingRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowingView;
+import com.collaberadigital.librarysystem.service.BorrowerService;
 import com.collaberadigital.librarysystem.service.BorrowingService;
+import com.collaberadigital.librarysystem.service.LibraryBookService;
+import com.collaberadigital.librarysystem.service.LibraryCountService;
 import com.collaberadigital.librarysystem.util.AppConstant;
-import jakarta.transaction.Transactional;
+import com.collaberadigital.librarysystem.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Implementation of the BorrowingService interface for managing borrowing operations.
  */
 @Service
+@Timed(AppConstant.SERVICE_METRIC)
 public class BorrowingServiceImpl implements BorrowingService {
 
     /**
@@ -35,6 +55,13 @@ public class BorrowingServiceImpl implements BorrowingService {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(BorrowingServiceImpl.class);
 
+    /**
+     * Index-backed sort keys supported by keyset pagination, mapped to their value types.
+     */
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            AppConstant.RECORD_ID, Long.class,
+            "borrowDate", LocalDateTime.class);
+
     /**
      * Repository for managing borrowing data.
      */
@@ -50,71 +77,215 @@ public class BorrowingServiceImpl implements BorrowingService {
      */
     private final BorrowerRepository borrowerRepository;
 
+    /**
+     * Repository for managing book catalog data.
+     */
+    private final BookCatalogRepository catalogRepository;
+
+    /**
+     * Service providing the cached library book details.
+     */
+    private final LibraryBookService bookService;
+
+    /**
+     * Service providing the cached borrower details.
+     */
+    private final BorrowerService borrowerService;
+
+    /**
+     * Service providing the borrowing counts of the paginated listings.
+     */
+    private final LibraryCountService countService;
+
+    /**
+     * In-memory index of the available books, updated once borrows and returns commit.
+     */
+    private final BookAvailabilityIndex availabilityIndex;
+
+    /**
+     * In-process locks of the books, taken by returns once they have loaded their borrowing.
+     */
+    private final BookLocks bookLocks;
+
     /**
      * Constructor for BorrowingServiceImpl.
      *
      * @param borrowingRepository Repository providing data access operations for borrowings.
      * @param bookRepository      Repository providing data access operations for library books.
      * @param borrowerRepository  Repository providing data access operations for borrowers.
+     * @param catalogRepository   Repository providing data access operations for the book catalog.
+     * @param bookService         Service providing the cached library book details.
+     * @param borrowerService     Service providing the cached borrower details.
+     * @param countService        Service providing the borrowing counts of the paginated listings.
+     * @param availabilityIndex   In-memory index of the available books.
+     * @param bookLocks           In-process locks of the books.
      */
     public BorrowingServiceImpl(
             final BorrowingRepository borrowingRepository,
             final LibraryBookRepository bookRepository,
-            final BorrowerRepository borrowerRepository) {
+            final BorrowerRepository borrowerRepository,
+            final BookCatalogRepository catalogRepository,
+            final LibraryBookService bookService,
+            final BorrowerService borrowerService,
+            final LibraryCountService countService,
+            final BookAvailabilityIndex availabilityIndex,
+            final BookLocks bookLocks) {
 
         this.borrowingRepository = borrowingRepository;
         this.bookRepository = bookRepository;
         this.borrowerRepository = borrowerRepository;
+        this.catalogRepository = catalogRepository;
+        this.bookService = bookService;
+        this.borrowerService = borrowerService;
+        this.countService = countService;
+        this.availabilityIndex = availabilityIndex;
+        this.bookLocks = bookLocks;
     }
 
     /**
-     * Borrows a book for a borrower.
+     * Borrows a book for a borrower. The borrower and book details come from their caches,
+     * and the cached book is evicted and the availability index updated once the borrowing
+     * commits. Serialized with the other borrows and returns of the book on this node, and
+     * retried on conflicts with other nodes.
      *
      * @param bookId the ID of the book to be borrowed.
      * @param borrowerId the ID of the borrower.
      * @return the borrowing information.
      */
     @Override
+    @BookLock("#bookId")
+    @RetryOnConflict
     @Transactional
+    @CacheEvict(cacheNames = AppConstant.BOOK_CACHE, key = "#bookId")
     public BorrowingInfoDTO borrowBook(final long bookId, final long borrowerId) {
-        LOGGER.info("Attempting to borrow book with ID: {} by borrower ID: {}", bookId, borrowerId);
+        final BorrowingInfoDTO response = applyBorrow(bookId, borrowerId);
+        availabilityIndex.recordBorrowed(bookId);
 
-        final Borrower borrower = getBorrower(borrowerId);
-        final LibraryBook book = getAndValidateBook(bookId);
+        return response;
+    }
 
-        final Borrowing borrowing = mapBorrowing(borrower, book);
-        borrowingRepository.save(borrowing);
+    /**
+     * Borrows any available copy of a book for a borrower. The copy is allocated by
+     * locking an available copy not locked by a concurrent borrow, so that concurrent borrows
+     * of the same book spread across its copies instead of contending for the first one.
+     * The cached copy is evicted and the availability index updated once the borrowing
+     * commits. Retried on conflicts with concurrent borrows and returns of the copy.
+     *
+     * @param isbn the ISBN of the book to be borrowed.
+     * @param borrowerId the ID of the borrower.
+     * @return the borrowing information of the borrowed copy.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    @CacheEvict(cacheNames = AppConstant.BOOK_CACHE, key = "#result.bookInfo.id")
+    public BorrowingInfoDTO borrowBookByIsbn(final String isbn, final long borrowerId) {
+        LOGGER.info("Attempting to borrow any copy of book with ISBN: {} by borrower ID: {}", isbn, borrowerId);
 
-        LOGGER.info("Library Book with ID: {} borrowed successfully by borrower ID: {}", bookId, borrowerId);
+        final BorrowerDTO borrowerDto = borrowerService.getBorrowerById(borrowerId);
+        final BorrowingInfoDTO response = createBorrowing(borrowerDto, claimAnyCopy(isbn));
+        availabilityIndex.recordBorrowed(response.getBookInfo().getId());
+
+        LOGGER.info("Library Book with ID: {} borrowed successfully for ISBN: {} by borrower ID: {}",
+                response.getBookInfo().getId(), isbn, borrowerId);
 
-        return mapBorrowingResponse(borrowing);
+        return response;
     }
 
     /**
-     * Returns a borrowed book.
+     * Returns a borrowed book. The cached book is evicted and the availability index updated
+     * once the return commits. Serialized with the other borrows and returns of the book on
+     * this node, so a concurrent return of the same borrowing waits and then fails as the book
+     * is no longer borrowed. The lock of the book is taken within the transaction once the
+     * borrowing is loaded, rather than looking up its book beforehand, so the return holds its
+     * connection while waiting. Conflicts with other nodes are retried.
      *
      * @param borrowingId the ID of the borrowing record.
      * @return the borrowing information after returning the book.
      */
     @Override
+    @RetryOnConflict
     @Transactional
+    @CacheEvict(cacheNames = AppConstant.BOOK_CACHE, key = "#result.bookInfo.id")
     public BorrowingInfoDTO returnBook(final long borrowingId) {
+        final Borrowing borrowing = findBorrowing(borrowingId);
+        bookLocks.lockUntilCompletion(borrowing.getBook().getId());
+        final BorrowingInfoDTO response = applyReturn(borrowing);
+        availabilityIndex.recordReturned(response.getBookInfo().getId());
+
+        return response;
+    }
+
+    /**
+     * Borrows a book for a borrower within the current transaction, without evicting the
+     * cached book or updating the availability index. Used by borrowBook and by group commits,
+     * which do both themselves.
+     *
+     * @param bookId the ID of the book to be borrowed.
+     * @param borrowerId the ID of the borrower.
+     * @return the borrowing information.
+     */
+    BorrowingInfoDTO applyBorrow(final long bookId, final long borrowerId) {
+        LOGGER.info("Attempting to borrow book with ID: {} by borrower ID: {}", bookId, borrowerId);
+
+        final BorrowerDTO borrowerDto = borrowerService.getBorrowerById(borrowerId);
+        final BorrowingInfoDTO response = createBorrowing(borrowerDto, claimBook(bookId));
+
+        LOGGER.info("Library Book with ID: {} borrowed successfully by borrower ID: {}", bookId, borrowerId);
+
+        return response;
+    }
+
+    /**
+     * Returns a borrowed book within the current transaction, without evicting the cached
+     * book or updating the availability index. Used by returnBook and by group commits, which
+     * do both themselves.
+     *
+     * @param borrowingId the ID of the borrowing record.
+     * @return the borrowing information after returning the book.
+     */
+    BorrowingInfoDTO applyReturn(final long borrowingId) {
+        return applyReturn(findBorrowing(borrowingId));
+    }
+
+    /**
+     * Returns the book of a loaded borrowing within the current transaction.
+     *
+     * @param borrowing the borrowing record.
+     * @return the borrowing information after returning the book.
+     */
+    private BorrowingInfoDTO applyReturn(final Borrowing borrowing) {
+        final Long borrowingId = borrowing.getId();
         LOGGER.info("Returning book for borrowing ID: {}", borrowingId);
-        Borrowing borrowing = borrowingRepository.findById(borrowingId)
-                .orElseThrow(() -> {
-                    LOGGER.error("Borrowing not found with ID: {}", borrowingId);
-                    return new ResourceNotFoundException(
-                                AppConstant.BORROWING, AppConstant.RECORD_ID, borrowingId);});
 
         checkReturnStatus(borrowing);
-        updateBorrowStatus(borrowing.getBook().getId(), Boolean.FALSE);
+        releaseBook(borrowing.getBook().getId());
 
         borrowing.setReturnDate(LocalDateTime.now());
+        borrowing.setActiveBookId(null);
 
         borrowingRepository.save(borrowing);
         LOGGER.info("Library Book returned successfully for borrowing ID: {}", borrowingId);
 
-        return mapBorrowingResponse(borrowing);
+        final BorrowingInfoDTO response = BorrowingMapper.toDto(borrowing);
+        response.getBookInfo().setBorrowed(false);
+
+        return response;
+    }
+
+    /**
+     * Loads a borrowing record.
+     *
+     * @param borrowingId the ID of the borrowing record.
+     * @return the borrowing record.
+     * @throws ResourceNotFoundException If no borrowing record is found with the given ID.
+     */
+    private Borrowing findBorrowing(final long borrowingId) {
+        return borrowingRepository.findById(borrowingId)
+                .orElseThrow(() -> {
+                    LOGGER.error("Borrowing not found with ID: {}", borrowingId);
+                    return new ResourceNotFoundException(
+                                AppConstant.BORROWING, AppConstant.RECORD_ID, borrowingId);});
     }
 
     /**
@@ -125,186 +296,256 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @return the borrowing information.
      */
     @Override
+    @Transactional(readOnly = true)
     public BorrowingInfoDTO getBorrowingInfoByBorrowerAndBook(final long borrowerId, final long bookId) {
         LOGGER.info("Getting borrowing info for borrower ID: {} and book ID: {}", borrowerId, bookId);
 
-        final Borrowing borrowing = borrowingRepository.findTopByBorrowerIdAndBookId(borrowerId, bookId)
+        final Borrowing borrowing = borrowingRepository.findTopByBorrowerIdAndBookIdOrderByBorrowDateDesc(borrowerId, bookId)
                 .orElseThrow(() -> {
                     LOGGER.error(
                             "Borrowing record not found for borrower ID: {} and book ID: {}", borrowerId, bookId);
                     return new ResourceNotFoundException(AppConstant.BORROWING, AppConstant.RECORD_ID, bookId);
                 });
 
-        return mapBorrowingResponse(borrowing);
+        return BorrowingMapper.toDto(borrowing);
     }
 
     /**
-     * Retrieves borrowing information for a borrower with pagination.
+     * Retrieves borrowing information for a borrower with pagination. The page is fetched
+     * without counting the borrowings; the total, when requested, is taken from the
+     * borrowing count maintained on the borrower.
      *
      * @param borrowerId the ID of the borrower.
      * @param pageNo the page number.
      * @param pageSize the number of records per page.
      * @param sortBy the field to sort by.
      * @param sortDir the sort direction (ASC/DESC).
+     * @param withTotal whether to include the total number of borrowings and pages.
      * @return a paginated response containing the borrowing information.
      */
     @Override
+    @Transactional(readOnly = true)
     public BorrowingPageResponseDTO getBorrowingInfoByBorrower(
             final long borrowerId, final int pageNo, final int pageSize,
-            final String sortBy, final String sortDir) {
+            final String sortBy, final String sortDir, final boolean withTotal) {
         LOGGER.info("Getting borrowing info for borrower ID: {} with pagination (pageNo: {}, pageSize: {})",
                 borrowerId, pageNo, pageSize);
 
         final Sort sort = getSortDirection(sortBy, sortDir);
 
         final Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        final Page<Borrowing> pageBorrowing = borrowingRepository.findByBorrowerId(borrowerId, pageable);
+        final Slice<BorrowingView> pageBorrowing = borrowingRepository.findViewsByBorrowerId(borrowerId, pageable);
 
         final List<BorrowingInfoDTO> contentList = pageBorrowing.getContent()
                 .stream()
-                .map(this::mapBorrowingResponse)
+                .map(BorrowingMapper::toDto)
                 .toList();
 
-        return createResponse(contentList, pageBorrowing, pageNo, pageSize);
+        return createResponse(contentList, pageBorrowing, pageNo, pageSize,
+                withTotal ? countService.countBorrowings(borrowerId) : AppConstant.UNKNOWN_TOTAL);
     }
 
     /**
-     * Maps a Borrower and a LibraryBook to a Borrowing entity.
+     * Retrieves borrowing information for a borrower using keyset pagination.
      *
-     * @param borrower the Borrower entity.
-     * @param book the LibraryBook entity.
-     * @return the mapped Borrowing entity.
+     * @param borrowerId the ID of the borrower.
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of records per page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the sort direction (ASC/DESC).
+     * @return a page of borrowing information along with the continuation token of the next page.
      */
-    private Borrowing mapBorrowing(final Borrower borrower, final LibraryBook book) {
-        return Borrowing.builder()
-                .borrower(borrower)
-                .book(book)
-                .borrowDate(LocalDateTime.now())
-                .build();
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BorrowingInfoDTO> scrollBorrowingInfoByBorrower(
+            final long borrowerId, final String cursor, final int pageSize,
+            final String sortBy, final String sortDir) {
+        LOGGER.info("Scrolling borrowing info for borrower ID: {} with keyset pagination (pageSize: {})",
+                borrowerId, pageSize);
 
-    /**
-     * Maps a Borrowing entity to a BorrowingInfoDTO.
-     *
-     * @param borrowing the Borrowing entity.
-     * @return the BorrowingInfoDTO.
-     */
-    private BorrowingInfoDTO mapBorrowingResponse(final Borrowing borrowing) {
-        return BorrowingInfoDTO.builder()
-                .id(borrowing.getId())
-                .borrower(toBorrowerDto(borrowing.getBorrower()))
-                .bookInfo(toBookDto(borrowing.getBook()))
-                .borrowDate(borrowing.getBorrowDate())
-                .returnDate(borrowing.getReturnDate())
+        final Sort sort = KeysetCursor.sort(cursor, sortBy, sortDir, SORT_KEYS);
+        final Window<Borrowing> windowBorrowing = borrowingRepository.findByBorrowerId(
+                borrowerId, KeysetCursor.position(cursor, SORT_KEYS), sort, Limit.of(pageSize));
+
+        final List<BorrowingInfoDTO> contentList = windowBorrowing.getContent()
+                .stream()
+                .map(BorrowingMapper::toDto)
+                .toList();
+
+        return CursorPageResponseDTO.<BorrowingInfoDTO>builder()
+                .content(contentList)
+                .pageSize(pageSize)
+                .numberOfElements(contentList.size())
+                .nextCursor(windowBorrowing.hasNext()
+                        ? KeysetCursor.encode(sort, windowBorrowing.positionAt(windowBorrowing.size() - 1)) : null)
+                .last(!windowBorrowing.hasNext())
                 .build();
     }
 
     /**
-     * Converts a Borrower entity to a BorrowerDTO.
+     * Records the borrowing of a claimed library book and updates the borrowing count of the borrower.
+     * The count update is a third write on the borrow path, after the claim and the insert. It
+     * locks the row of the borrower rather than a row shared by all borrows, so it only waits
+     * on concurrent borrows by the same borrower.
      *
-     * @param borrower the Borrower entity.
-     * @return the BorrowerDTO.
+     * @param borrowerDto the details of the borrower.
+     * @param book a reference to the claimed LibraryBook entity.
+     * @return the borrowing information.
+     * @throws CommonSystemException If the book already has an open borrowing.
      */
-    public BorrowerDTO toBorrowerDto(final Borrower borrower) {
-        BorrowerDTO borrowerDto = new BorrowerDTO();
-        BeanUtils.copyProperties(borrower, borrowerDto);
+    private BorrowingInfoDTO createBorrowing(final BorrowerDTO borrowerDto, final LibraryBook book) {
+        final Long bookId = book.getId();
+        final LibraryBookDTO bookDto = getBorrowedBook(bookId);
+
+        final Borrowing borrowing = mapBorrowing(borrowerRepository.getReferenceById(borrowerDto.getId()), book);
+        try {
+            borrowingRepository.saveAndFlush(borrowing);
+        } catch (DataIntegrityViolationException exception) {
+            LOGGER.error("Library Book with ID: {} already has an open borrowing", bookId);
+            throw new CommonSystemException("LibraryBook is already borrowed by someone");
+        }
+        borrowerRepository.incrementBorrowingCount(borrowerDto.getId());
 
-        return borrowerDto;
+        return BorrowingMapper.toDto(borrowing, borrowerDto, bookDto);
     }
 
     /**
-     * Converts a LibraryBook entity to a LibraryBookDTO.
+     * Maps a Borrower and a LibraryBook to a Borrowing entity.
      *
+     * @param borrower the Borrower entity.
      * @param book the LibraryBook entity.
-     * @return the LibraryBookDTO.
+     * @return the mapped Borrowing entity.
      */
-    private LibraryBookDTO toBookDto(final LibraryBook book) {
-        LibraryBookDTO bookDto = new LibraryBookDTO();
-        BeanUtils.copyProperties(book, bookDto);
-
-        return bookDto;
+    private Borrowing mapBorrowing(final Borrower borrower, final LibraryBook book) {
+        return Borrowing.builder()
+                .borrower(borrower)
+                .book(book)
+                .borrowDate(LocalDateTime.now())
+                .activeBookId(book.getId())
+                .build();
     }
 
     /**
-     * Creates a BorrowingPageResponseDTO from a list of BorrowingInfoDTOs and a Page of Borrowings.
+     * Creates a BorrowingPageResponseDTO from a list of BorrowingInfoDTOs and the Slice they were mapped from.
+     * Whether the page is the last one is decided by the slice, not by the total.
      *
      * @param contentList the list of BorrowingInfoDTOs.
-     * @param pageBorrowing the Page of Borrowings.
+     * @param pageBorrowing the Slice of borrowing views.
      * @param pageNo the current page number.
      * @param pageSize the number of records per page.
+     * @param totalElements the total number of borrowings, or UNKNOWN_TOTAL if not requested.
      * @return the BorrowingPageResponseDTO.
      */
     private BorrowingPageResponseDTO createResponse(
-            final List<BorrowingInfoDTO> contentList, final Page<Borrowing> pageBorrowing,
-            final int pageNo, final int pageSize) {
+            final List<BorrowingInfoDTO> contentList, final Slice<BorrowingView> pageBorrowing,
+            final int pageNo, final int pageSize, final long totalElements) {
 
         return BorrowingPageResponseDTO.builder()
                 .content(contentList)
                 .pageNo(pageNo)
                 .pageSize(pageSize)
-                .totalElements(pageBorrowing.getTotalElements())
+                .totalElements(totalElements)
                 .numberOfElements(pageBorrowing.getNumberOfElements())
-                .totalPages(pageBorrowing.getTotalPages())
+                .totalPages(getTotalPages(totalElements, pageSize))
                 .last(pageBorrowing.isLast())
                 .build();
     }
 
     /**
-     * Updates the borrow status of a library book identified by its ID.
-     * Throws a ResourceNotFoundException if the book with the given ID is not found.
+     * Determines the number of pages of a listing from its total number of elements.
      *
-     * @param bookId       The ID of the library book to update.
-     * @param borrowStatus The new borrow status to set (true for borrowed, false for not borrowed).
-     * @return The updated LibraryBook entity.
-     * @throws ResourceNotFoundException If the book with the given ID is not found.
+     * @param totalElements the total number of elements, or UNKNOWN_TOTAL if not known.
+     * @param pageSize the number of elements per page.
+     * @return the number of pages, or UNKNOWN_TOTAL if the total is not known.
      */
-    private LibraryBook updateBorrowStatus(final Long bookId, final Boolean borrowStatus) {
-        LibraryBook book = bookRepository.findById(bookId)
-                .orElseThrow(() -> {
-                    LOGGER.error("Library Book not found with ID: {}", bookId);
-                    return new ResourceNotFoundException(
-                            AppConstant.BOOK, AppConstant.RECORD_ID, bookId);
-                });
-        book.setBorrowed(borrowStatus);
-
-        bookRepository.save(book);
-
-        return book;
+    private int getTotalPages(final long totalElements, final int pageSize) {
+        return totalElements < 0 ? AppConstant.UNKNOWN_TOTAL : (int) ((totalElements + pageSize - 1) / pageSize);
     }
 
     /**
-     * Retrieves a borrower entity by its ID.
-     * Throws a ResourceNotFoundException if the borrower with the given ID is not found.
+     * Retrieves the details of a claimed book. The details are copied, as the cached
+     * instance may predate the claim and must not be modified.
      *
-     * @param borrowerId The ID of the borrower to retrieve.
-     * @return The Borrower entity.
-     * @throws ResourceNotFoundException If the borrower with the given ID is not found.
+     * @param bookId The ID of the claimed book.
+     * @return The details of the book, marked as borrowed.
      */
-    private Borrower getBorrower(final Long borrowerId) {
-        return borrowerRepository.findById(borrowerId)
-                .orElseThrow(() -> {
-                    LOGGER.error("Borrower not found with ID: {}", borrowerId);
-                    return new ResourceNotFoundException(
-                            AppConstant.BORROWER, AppConstant.RECORD_ID, borrowerId);
-                });
+    private LibraryBookDTO getBorrowedBook(final Long bookId) {
+        final LibraryBookDTO bookDto = LibraryBookMapper.copy(bookService.getBookById(bookId));
+        bookDto.setBorrowed(true);
+
+        return bookDto;
     }
 
     /**
-     * Fetches and validates a library book by its ID, updating its borrow status to borrowed (true).
-     * Throws a CommonSystemException if the book is already borrowed.
+     * Claims a library book for borrowing with a single conditional update, which only
+     * succeeds while the book is not borrowed. The book itself is only looked up when the
+     * claim fails, to tell a missing book apart from one that is already borrowed.
      *
-     * @param bookId The ID of the library book to fetch and validate.
-     * @return The validated LibraryBook entity.
+     * @param bookId The ID of the library book to claim.
+     * @return A reference to the claimed LibraryBook entity.
+     * @throws ResourceNotFoundException If the book with the given ID is not found.
      * @throws CommonSystemException If the book is already borrowed.
      */
-    private LibraryBook getAndValidateBook(final Long bookId) {
-        final LibraryBook book = updateBorrowStatus(bookId, Boolean.TRUE);
-        if (borrowingRepository.existsByBookIdAndReturnDateIsNull(bookId)) {
+    private LibraryBook claimBook(final Long bookId) {
+        if (bookRepository.claimForBorrow(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                LOGGER.error("Library Book not found with ID: {}", bookId);
+                throw new ResourceNotFoundException(AppConstant.BOOK, AppConstant.RECORD_ID, bookId);
+            }
+
             LOGGER.error("Library Book with ID: {} is already borrowed", bookId);
             throw new CommonSystemException("LibraryBook is already borrowed by someone");
         }
 
-        return book;
+        return bookRepository.getReferenceById(bookId);
+    }
+
+    /**
+     * Releases a borrowed library book with a conditional update, which only succeeds while the
+     * book is marked as borrowed.
+     *
+     * @param bookId The ID of the book to release.
+     * @throws CommonSystemException If the book is not marked as borrowed.
+     */
+    private void releaseBook(final Long bookId) {
+        if (bookRepository.releaseBorrowed(bookId) == 0) {
+            LOGGER.error("Library Book with ID: {} is not marked as borrowed", bookId);
+            throw new CommonSystemException("LibraryBook is not borrowed");
+        }
+    }
+
+    /**
+     * Claims any available copy of a book. Each round locks an available copy past the
+     * ones already tried, skipping the copies locked by concurrent claims, so concurrent borrows
+     * of the same book claim different copies instead of waiting for each other. The conditional
+     * claim still guards against a copy borrowed since it was read.
+     *
+     * @param isbn The ISBN of the book to claim a copy of.
+     * @return A reference to the claimed LibraryBook entity.
+     * @throws ResourceNotFoundException If no book with the given ISBN is registered.
+     * @throws CommonSystemException If no copy of the book is available.
+     */
+    private LibraryBook claimAnyCopy(final String isbn) {
+        final BookCatalog catalog = catalogRepository.findByIsbn(isbn)
+                .orElseThrow(() -> {
+                    LOGGER.error("Library Book not found with ISBN: {}", isbn);
+                    return new ResourceNotFoundException(AppConstant.BOOK, AppConstant.RECORD_ISBN, isbn);
+                });
+
+        long afterId = 0L;
+        for (int round = 0; round < AppConstant.COPY_CLAIM_ROUNDS; round++) {
+            final Optional<Long> bookId = bookRepository.lockAvailableCopyId(catalog.getId(), afterId);
+            if (bookId.isEmpty()) {
+                break;
+            }
+            if (bookRepository.claimForBorrow(bookId.get()) > 0) {
+                return bookRepository.getReferenceById(bookId.get());
+            }
+            afterId = bookId.get();
+        }
+
+        LOGGER.error("No copy of Library Book with ISBN: {} is available", isbn);
+        throw new CommonSystemException("No copy of the book is available to borrow");
     }
 
     /**
@@ -321,14 +562,13 @@ public class BorrowingServiceImpl implements BorrowingService {
 
     /**
      * Checks if a borrowing entity's book is already returned.
-     * Throws a CommonSystemException if the book is already returned but has a return date.
+     * Throws a CommonSystemException if the borrowing already has a return date.
      *
      * @param borrowing The borrowing entity to check.
      * @throws CommonSystemException If the book is already returned by the borrower.
      */
     private void checkReturnStatus(final Borrowing borrowing){
-        if (Boolean.FALSE.equals(borrowing.getBook().isBorrowed())
-                && borrowing.getReturnDate() != null) {
+        if (borrowing.getReturnDate() != null) {
             LOGGER.error(
                     "Library Book already returned by borrower for ID: {}", borrowing.getId());
             throw new CommonSystemException("LibraryBook already returned by borrower");
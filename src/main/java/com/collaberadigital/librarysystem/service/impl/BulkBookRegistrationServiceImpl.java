@@ -0,0 +1,200 @@
+package com.collaberadigital.librarysystem.service.impl;
+
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.BulkRegistrationResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.service.BulkBookRegistrationService;
+import com.collaberadigital.librarysystem.service.LibraryBookService;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the BulkBookRegistrationService interface for registering large
+ * collections of books.
+ */
+@Service
+@Timed(AppConstant.SERVICE_METRIC)
+public class BulkBookRegistrationServiceImpl implements BulkBookRegistrationService {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkBookRegistrationServiceImpl.class);
+
+    /**
+     * Service registering each chunk of books in its own transaction.
+     */
+    private final LibraryBookService libraryBookService;
+
+    /**
+     * Validator applying the request constraints to every book.
+     */
+    private final Validator validator;
+
+    /**
+     * Constructor for BulkBookRegistrationServiceImpl.
+     *
+     * @param libraryBookService Service providing the batched book registration.
+     * @param validator          Validator for the book registration requests.
+     */
+    public BulkBookRegistrationServiceImpl(
+            final LibraryBookService libraryBookService,
+            final Validator validator) {
+
+        this.libraryBookService = libraryBookService;
+        this.validator = validator;
+    }
+
+    /**
+     * Registers a stream of books in chunks. Invalid books are rejected upfront, and a chunk
+     * that cannot be stored is rejected as a whole without affecting the other chunks.
+     * A payload that can no longer be read stops the registration after the last readable book.
+     *
+     * @param books the details of the books to be registered, in request order.
+     * @return the summary of the registration along with the outcome of every book.
+     */
+    @Override
+    public BulkRegistrationResponseDTO registerBooks(final Iterator<LibraryBookRequestDTO> books) {
+        LOGGER.info("Starting bulk registration of books");
+
+        final List<BookRegistrationResultDTO> results = new ArrayList<>();
+        final List<LibraryBookRequestDTO> chunk = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+        final List<Long> chunkIndexes = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+        final List<BookRegistrationResultDTO> chunkRejections = new ArrayList<>();
+        BookRegistrationResultDTO unreadable = null;
+        long index = 0;
+
+        while (true) {
+            final LibraryBookRequestDTO bookDTO;
+            try {
+                if (!books.hasNext()) {
+                    break;
+                }
+                bookDTO = books.next();
+            } catch (RuntimeException exception) {
+                LOGGER.error("Unreadable bulk registration payload at item: {}", index);
+                unreadable = rejected(index, null, "Unreadable book details, registration stopped");
+                break;
+            }
+
+            final String violations = validate(bookDTO);
+            if (violations.isEmpty()) {
+                chunk.add(bookDTO);
+                chunkIndexes.add(index);
+            } else {
+                chunkRejections.add(rejected(index, bookDTO.getIsbn(), violations));
+            }
+
+            if (chunk.size() == AppConstant.BULK_CHUNK_SIZE) {
+                registerChunk(chunk, chunkIndexes, chunkRejections, results);
+            }
+            index++;
+        }
+
+        registerChunk(chunk, chunkIndexes, chunkRejections, results);
+        if (unreadable != null) {
+            results.add(unreadable);
+        }
+
+        final long registered = results.stream()
+                .filter(result -> result.getStatus() == BookRegistrationResultDTO.Status.REGISTERED)
+                .count();
+
+        LOGGER.info("Bulk registration completed, registered {} of {} books", registered, results.size());
+        return BulkRegistrationResponseDTO.builder()
+                .totalItems(results.size())
+                .registered(registered)
+                .rejected(results.size() - registered)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Registers a chunk of books in its own transaction and adds the outcome of the chunk,
+     * merged with the books rejected by validation since the previous chunk, in request order.
+     *
+     * @param chunk the valid books of the chunk, cleared afterwards.
+     * @param chunkIndexes the positions of the valid books in the request, cleared afterwards.
+     * @param chunkRejections the books rejected by validation, cleared afterwards.
+     * @param results the results to add the outcome of the chunk to.
+     */
+    private void registerChunk(final List<LibraryBookRequestDTO> chunk, final List<Long> chunkIndexes,
+                               final List<BookRegistrationResultDTO> chunkRejections,
+                               final List<BookRegistrationResultDTO> results) {
+        final List<BookRegistrationResultDTO> chunkResults = new ArrayList<>(chunk.size());
+
+        if (!chunk.isEmpty()) {
+            try {
+                for (BookRegistrationResultDTO result : libraryBookService.registerBookBatch(chunk)) {
+                    result.setIndex(chunkIndexes.get((int) result.getIndex()));
+                    chunkResults.add(result);
+                }
+            } catch (RuntimeException exception) {
+                LOGGER.error("Unable to register chunk of {} books starting at item: {}",
+                        chunk.size(), chunkIndexes.get(0), exception);
+                chunkResults.clear();
+                for (int position = 0; position < chunk.size(); position++) {
+                    chunkResults.add(rejected(chunkIndexes.get(position), chunk.get(position).getIsbn(),
+                            "Unable to register book, please retry"));
+                }
+            }
+        }
+
+        // Both lists are in request order, merge them to keep the results in request order
+        int registeredPosition = 0;
+        int rejectedPosition = 0;
+        while (registeredPosition < chunkResults.size() || rejectedPosition < chunkRejections.size()) {
+            if (rejectedPosition == chunkRejections.size() || (registeredPosition < chunkResults.size()
+                    && chunkResults.get(registeredPosition).getIndex()
+                    < chunkRejections.get(rejectedPosition).getIndex())) {
+                results.add(chunkResults.get(registeredPosition++));
+            } else {
+                results.add(chunkRejections.get(rejectedPosition++));
+            }
+        }
+
+        chunk.clear();
+        chunkIndexes.clear();
+        chunkRejections.clear();
+    }
+
+    /**
+     * Validates a book registration request.
+     *
+     * @param bookDTO the book details to validate.
+     * @return the validation messages, or an empty string if the book is valid.
+     */
+    private String validate(final LibraryBookRequestDTO bookDTO) {
+        return validator.validate(bookDTO).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Creates the result of a rejected book.
+     *
+     * @param index the position of the book in the request.
+     * @param isbn the ISBN of the book, if known.
+     * @param message the reason for the rejection.
+     * @return the rejected result.
+     */
+    private BookRegistrationResultDTO rejected(final long index, final String isbn, final String message) {
+        return BookRegistrationResultDTO.builder()
+                .index(index)
+                .isbn(isbn)
+                .status(BookRegistrationResultDTO.Status.REJECTED)
+                .message(message)
+                .build();
+    }
+}
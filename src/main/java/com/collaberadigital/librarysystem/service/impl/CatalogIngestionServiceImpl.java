@@ -0,0 +1,543 @@
+package com.collaberadigital.librarysystem.service.impl;
+
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.IngestionReportDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
+import com.collaberadigital.librarysystem.model.IngestionCheckpoint;
+import com.collaberadigital.librarysystem.repository.IngestionCheckpointRepository;
+import com.collaberadigital.librarysystem.service.CatalogIngestionService;
+import com.collaberadigital.librarysystem.service.LibraryBookService;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the CatalogIngestionService interface for ingesting large catalog files.
+ * The file is read sequentially while blocks of rows are parsed and validated in parallel.
+ * Blocks are registered in file order, one transaction each, with at most a fixed number
+ * of blocks in flight so the memory used does not depend on the size of the file. The progress
+ * is saved in the transaction of each block, so a resumed ingestion never registers a block twice.
+ */
+@Service
+@Timed(AppConstant.SERVICE_METRIC)
+public class CatalogIngestionServiceImpl implements CatalogIngestionService {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogIngestionServiceImpl.class);
+
+    /**
+     * Number of registered blocks between two progress log messages.
+     */
+    private static final int PROGRESS_INTERVAL = 20;
+
+    /**
+     * Column positions of the isbn, title and author when the file has no header.
+     */
+    private static final int[] DEFAULT_COLUMNS = {0, 1, 2};
+
+    /**
+     * Service registering each block of books in its own transaction.
+     */
+    private final LibraryBookService libraryBookService;
+
+    /**
+     * Repository for the checkpoints recording the progress of the ingestions.
+     */
+    private final IngestionCheckpointRepository ingestionCheckpointRepository;
+
+    /**
+     * Template running the registration of a block and the update of its checkpoint in one transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Validator applying the request constraints to every row.
+     */
+    private final Validator validator;
+
+    /**
+     * Number of threads parsing the rows.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor for CatalogIngestionServiceImpl.
+     *
+     * @param libraryBookService            Service providing the batched book registration.
+     * @param ingestionCheckpointRepository Repository for the ingestion checkpoints.
+     * @param transactionManager            Transaction manager of the block registrations.
+     * @param validator                     Validator for the book registration requests.
+     * @param parallelism                   Number of parsing threads, the number of processors when not positive.
+     */
+    public CatalogIngestionServiceImpl(
+            final LibraryBookService libraryBookService,
+            final IngestionCheckpointRepository ingestionCheckpointRepository,
+            final PlatformTransactionManager transactionManager,
+            final Validator validator,
+            @Value("${library.ingestion.parallelism:0}") final int parallelism) {
+
+        this.libraryBookService = libraryBookService;
+        this.ingestionCheckpointRepository = ingestionCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Ingests a CSV or TSV catalog file. Rejected rows are appended to a {@code .rejects} file
+     * next to the catalog with their line number and reason. The checkpoint is saved in the
+     * transaction registering each block and removed once the file is fully ingested. Rejections
+     * written by a block that did not commit are truncated on resume. A checkpoint recorded for
+     * a different version of the file is ignored.
+     *
+     * @param file the catalog file, a {@code .tsv} file is tab separated, any other file comma separated.
+     * @param checkpoint the name of the checkpoint recording the progress of the ingestion.
+     * @return the summary of the ingestion.
+     * @throws IOException if the catalog or rejects file cannot be read or written.
+     */
+    @Override
+    public IngestionReportDTO ingest(final Path file, final String checkpoint) throws IOException {
+        final long started = System.nanoTime();
+        final Progress progress = readCheckpoint(file, checkpoint);
+        final long resumedFromLine = progress.line;
+        final char delimiter = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv")
+                ? '\t' : ',';
+        final Path rejectsFile = file.resolveSibling(file.getFileName() + ".rejects");
+
+        LOGGER.info("Starting ingestion of catalog file: {} from line: {}", file, resumedFromLine);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        final Deque<Future<ParsedBlock>> inFlight = new ArrayDeque<>();
+        final int maxInFlight = parallelism * 2;
+        final long processedBefore = progress.registered + progress.rejected;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             FileChannel rejects = FileChannel.open(rejectsFile,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+
+            // Drop rejections written after the last checkpoint, their rows are processed again
+            rejects.truncate(progress.rejectsSize);
+            rejects.position(progress.rejectsSize);
+
+            int[] columns = DEFAULT_COLUMNS;
+            List<String> block = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+            List<Long> blockLineNumbers = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeader(line, delimiter)) {
+                    columns = columns(line, delimiter);
+                    continue;
+                }
+                if (lineNumber <= resumedFromLine || line.isBlank()) {
+                    continue;
+                }
+
+                block.add(line);
+                blockLineNumbers.add(lineNumber);
+
+                if (block.size() == AppConstant.BULK_CHUNK_SIZE) {
+                    if (inFlight.size() == maxInFlight) {
+                        register(await(inFlight.poll()), progress, rejects, file, checkpoint, started);
+                    }
+                    inFlight.add(submit(executor, block, blockLineNumbers, columns, delimiter));
+                    block = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+                    blockLineNumbers = new ArrayList<>(AppConstant.BULK_CHUNK_SIZE);
+                }
+            }
+
+            if (!block.isEmpty()) {
+                inFlight.add(submit(executor, block, blockLineNumbers, columns, delimiter));
+            }
+            while (!inFlight.isEmpty()) {
+                register(await(inFlight.poll()), progress, rejects, file, checkpoint, started);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ingestionCheckpointRepository.deleteById(checkpoint);
+
+        final long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        final long processedRows = progress.registered + progress.rejected - processedBefore;
+        final IngestionReportDTO report = IngestionReportDTO.builder()
+                .file(file.toString())
+                .resumedFromLine(resumedFromLine)
+                .processedRows(processedRows)
+                .registered(progress.registered)
+                .rejected(progress.rejected)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rowsPerSecond(processedRows, elapsedMillis))
+                .rejectsFile(rejectsFile.toString())
+                .build();
+
+        LOGGER.info("Completed ingestion of catalog file: {}, registered {}, rejected {}, {} rows/s",
+                file, report.getRegistered(), report.getRejected(), (long) report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Submits a block of rows to be parsed and validated.
+     *
+     * @param executor the executor parsing the rows.
+     * @param lines the rows of the block.
+     * @param lineNumbers the line numbers of the rows.
+     * @param columns the positions of the isbn, title and author columns.
+     * @param delimiter the column delimiter.
+     * @return the future of the parsed block.
+     */
+    private Future<ParsedBlock> submit(final ExecutorService executor, final List<String> lines,
+                                       final List<Long> lineNumbers, final int[] columns,
+                                       final char delimiter) {
+        return executor.submit(() -> parse(lines, lineNumbers, columns, delimiter));
+    }
+
+    /**
+     * Parses and validates a block of rows.
+     *
+     * @param lines the rows of the block.
+     * @param lineNumbers the line numbers of the rows.
+     * @param columns the positions of the isbn, title and author columns.
+     * @param delimiter the column delimiter.
+     * @return the valid books of the block along with the rejected rows.
+     */
+    private ParsedBlock parse(final List<String> lines, final List<Long> lineNumbers,
+                              final int[] columns, final char delimiter) {
+        final ParsedBlock parsed = new ParsedBlock(lineNumbers.get(lineNumbers.size() - 1), lines.size());
+        final int required = Math.max(columns[0], Math.max(columns[1], columns[2]));
+
+        for (int position = 0; position < lines.size(); position++) {
+            final String line = lines.get(position);
+            final long lineNumber = lineNumbers.get(position);
+
+            final List<String> fields = split(line, delimiter);
+            if (fields.size() <= required) {
+                parsed.rejections.append(rejection(lineNumber, "Missing columns", line));
+                parsed.rejected++;
+                continue;
+            }
+
+            final LibraryBookRequestDTO bookDTO = LibraryBookRequestDTO.builder()
+                    .isbn(fields.get(columns[0]).trim())
+                    .title(fields.get(columns[1]).trim())
+                    .author(fields.get(columns[2]).trim())
+                    .build();
+
+            final String violations = validator.validate(bookDTO).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            if (violations.isEmpty()) {
+                parsed.books.add(bookDTO);
+                parsed.lineNumbers.add(lineNumber);
+                parsed.lines.add(line);
+            } else {
+                parsed.rejections.append(rejection(lineNumber, violations, line));
+                parsed.rejected++;
+            }
+        }
+
+        return parsed;
+    }
+
+    /**
+     * Registers the valid books of a parsed block, appends its rejected rows and saves the
+     * checkpoint, all in one transaction.
+     *
+     * @param parsed the parsed block.
+     * @param progress the progress of the ingestion, updated with the block once committed.
+     * @param rejects the channel of the rejects file.
+     * @param file the catalog file.
+     * @param checkpoint the name of the checkpoint.
+     * @param started the start time of the ingestion, in nanoseconds.
+     * @throws IOException if the rejects file cannot be written.
+     */
+    private void register(final ParsedBlock parsed, final Progress progress, final FileChannel rejects,
+                          final Path file, final String checkpoint, final long started) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> registerBlock(parsed, progress, rejects, checkpoint));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        if (progress.blocks % PROGRESS_INTERVAL == 0) {
+            final long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            LOGGER.info("Ingested catalog file: {} up to line: {}, registered {}, rejected {}, {} rows/s",
+                    file, progress.line, progress.registered, progress.rejected,
+                    (long) rowsPerSecond(progress.registered + progress.rejected, elapsedMillis));
+        }
+    }
+
+    /**
+     * Registers a parsed block within the transaction of the block. The progress is only
+     * updated once the checkpoint is saved, the last statement of the transaction.
+     *
+     * @param parsed the parsed block.
+     * @param progress the progress of the ingestion, updated with the block.
+     * @param rejects the channel of the rejects file.
+     * @param checkpoint the name of the checkpoint.
+     * @throws UncheckedIOException if the rejects file cannot be written.
+     */
+    private void registerBlock(final ParsedBlock parsed, final Progress progress, final FileChannel rejects,
+                               final String checkpoint) {
+        final StringBuilder rejections = parsed.rejections;
+        long rejected = parsed.rejected;
+        long registered = 0;
+
+        if (!parsed.books.isEmpty()) {
+            for (BookRegistrationResultDTO result : libraryBookService.registerBookBatch(parsed.books)) {
+                if (result.getStatus() == BookRegistrationResultDTO.Status.REGISTERED) {
+                    registered++;
+                } else {
+                    final int position = (int) result.getIndex();
+                    rejections.append(rejection(parsed.lineNumbers.get(position), result.getMessage(),
+                            parsed.lines.get(position)));
+                    rejected++;
+                }
+            }
+        }
+
+        final long rejectsSize;
+        try {
+            if (!rejections.isEmpty()) {
+                final ByteBuffer buffer = ByteBuffer.wrap(rejections.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    rejects.write(buffer);
+                }
+            }
+            rejectsSize = rejects.position();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        final IngestionCheckpoint saved = new IngestionCheckpoint();
+        saved.setName(checkpoint);
+        saved.setFingerprint(progress.fingerprint);
+        saved.setLine(parsed.lastLine);
+        saved.setRegistered(progress.registered + registered);
+        saved.setRejected(progress.rejected + rejected);
+        saved.setRejectsSize(rejectsSize);
+        ingestionCheckpointRepository.save(saved);
+
+        progress.line = saved.getLine();
+        progress.registered = saved.getRegistered();
+        progress.rejected = saved.getRejected();
+        progress.rejectsSize = saved.getRejectsSize();
+        progress.blocks++;
+    }
+
+    /**
+     * Waits for a block to be parsed.
+     *
+     * @param future the future of the parsed block.
+     * @return the parsed block.
+     * @throws InterruptedIOException if the ingestion is interrupted.
+     */
+    private ParsedBlock await(final Future<ParsedBlock> future) throws InterruptedIOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Catalog ingestion interrupted");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    /**
+     * Reads the checkpoint of a catalog file.
+     *
+     * @param file the catalog file.
+     * @param checkpoint the name of the checkpoint.
+     * @return the recorded progress, or an empty progress if there is no checkpoint for this
+     * version of the file.
+     * @throws IOException if the catalog file attributes cannot be read.
+     */
+    private Progress readCheckpoint(final Path file, final String checkpoint) throws IOException {
+        final Progress progress = new Progress();
+        progress.fingerprint = fingerprint(file);
+
+        final IngestionCheckpoint saved = ingestionCheckpointRepository.findById(checkpoint).orElse(null);
+        if (saved == null) {
+            return progress;
+        }
+        if (!progress.fingerprint.equals(saved.getFingerprint())) {
+            LOGGER.warn("Ignoring checkpoint: {} recorded for a different version of: {}", checkpoint, file);
+            return progress;
+        }
+
+        progress.line = saved.getLine();
+        progress.registered = saved.getRegistered();
+        progress.rejected = saved.getRejected();
+        progress.rejectsSize = saved.getRejectsSize();
+        return progress;
+    }
+
+    /**
+     * Identifies the version of a catalog file by its size and modification time.
+     *
+     * @param file the catalog file.
+     * @return the fingerprint of the file.
+     * @throws IOException if the file attributes cannot be read.
+     */
+    private String fingerprint(final Path file) throws IOException {
+        return Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    /**
+     * Checks whether a row is a header, that is whether one of its columns is named isbn.
+     *
+     * @param line the first row of the file.
+     * @param delimiter the column delimiter.
+     * @return true if the row is a header.
+     */
+    private boolean isHeader(final String line, final char delimiter) {
+        return split(line, delimiter).stream().anyMatch(column -> "isbn".equalsIgnoreCase(column.trim()));
+    }
+
+    /**
+     * Resolves the positions of the isbn, title and author columns from a header.
+     *
+     * @param header the header row.
+     * @param delimiter the column delimiter.
+     * @return the positions of the isbn, title and author columns.
+     */
+    private int[] columns(final String header, final char delimiter) {
+        final List<String> names = split(header, delimiter).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        final int[] columns = {names.indexOf("isbn"), names.indexOf("title"), names.indexOf("author")};
+        if (columns[1] < 0 || columns[2] < 0) {
+            throw new CommonSystemException("Catalog header must contain isbn, title and author columns");
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a row into its columns. Comma separated columns may be enclosed in double quotes,
+     * with embedded quotes doubled. Quoted columns spanning several lines are not supported.
+     *
+     * @param line the row to split.
+     * @param delimiter the column delimiter.
+     * @return the columns of the row.
+     */
+    private static List<String> split(final String line, final char delimiter) {
+        final List<String> fields = new ArrayList<>(4);
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int position = 0; position < line.length(); position++) {
+            final char character = line.charAt(position);
+            if (quoted) {
+                if (character != '"') {
+                    field.append(character);
+                } else if (position + 1 < line.length() && line.charAt(position + 1) == '"') {
+                    field.append('"');
+                    position++;
+                } else {
+                    quoted = false;
+                }
+            } else if (character == '"' && delimiter != '\t') {
+                quoted = true;
+            } else if (character == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Formats a rejected row for the rejects file.
+     *
+     * @param lineNumber the line number of the row.
+     * @param reason the reason for the rejection.
+     * @param line the rejected row.
+     * @return the tab separated line number, reason and row.
+     */
+    private static String rejection(final long lineNumber, final String reason, final String line) {
+        return lineNumber + "\t" + reason + "\t" + line + System.lineSeparator();
+    }
+
+    /**
+     * Calculates the throughput of the ingestion.
+     *
+     * @param rows the number of rows processed.
+     * @param elapsedMillis the time taken, in milliseconds.
+     * @return the number of rows processed per second.
+     */
+    private static double rowsPerSecond(final long rows, final long elapsedMillis) {
+        return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Valid books and rejected rows of a block of the catalog file.
+     */
+    private static final class ParsedBlock {
+        private final long lastLine;
+        private final List<LibraryBookRequestDTO> books;
+        private final List<Long> lineNumbers;
+        private final List<String> lines;
+        private final StringBuilder rejections = new StringBuilder();
+        private long rejected;
+
+        private ParsedBlock(final long lastLine, final int size) {
+            this.lastLine = lastLine;
+            this.books = new ArrayList<>(size);
+            this.lineNumbers = new ArrayList<>(size);
+            this.lines = new ArrayList<>(size);
+        }
+    }
+
+    /**
+     * Progress of an ingestion, as recorded in the checkpoint.
+     */
+    private static final class Progress {
+        private String fingerprint;
+        private long line;
+        private long registered;
+        private long rejected;
+        private long rejectsSize;
+        private long blocks;
+    }
+}
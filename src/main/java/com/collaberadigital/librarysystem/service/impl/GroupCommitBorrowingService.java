@@ -0,0 +1,495 @@
+package com.collaberadigital.librarysystem.service.impl;
+
+import com.collaberadigital.librarysystem.datasource.ReadYourWritesFilter;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.service.BorrowerService;
+import com.collaberadigital.librarysystem.service.BorrowingService;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Borrowing service applying concurrent borrows and returns in group commits, active when
+ * {@code library.group-commit.enabled} is true. The writes arriving within the window are
+ * applied one after the other in a single transaction, so they share one commit, and each
+ * caller gets its own result or error once the group committed. The statements of the writes
+ * are not batched: the conditional claims and releases report their row counts to the write
+ * issuing them, and each write is flushed before the savepoint of the next one, so the group
+ * saves the commits rather than the statement round trips.
+ * <p>
+ * A write failing with a business error rolls back to a savepoint taken before it, leaving
+ * the other writes of the group in place. A database error, or any error thrown through a
+ * transactional proxy, marks the whole transaction rollback-only instead, so the group stops
+ * at that write and is rolled back. When the group cannot commit, each of its writes runs
+ * again in its own transaction through {@link BorrowingServiceImpl}, which also serves all
+ * reads and ISBN borrows.
+ */
+@Service
+@Primary
+@Timed(AppConstant.SERVICE_METRIC)
+@ConditionalOnProperty(name = "library.group-commit.enabled", havingValue = "true")
+public class GroupCommitBorrowingService implements BorrowingService, InitializingBean, DisposableBean {
+
+    /**
+     * Logger instance for logging messages.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitBorrowingService.class);
+
+    /**
+     * Failure completing a write that is to run again in its own transaction.
+     */
+    private static final RuntimeException RUN_ALONE = new RuntimeException("Run in own transaction", null,
+            false, false) {
+    };
+
+    /**
+     * Service applying the writes and serving everything else.
+     */
+    private final BorrowingServiceImpl borrowingService;
+
+    /**
+     * Service providing the cached borrower details.
+     */
+    private final BorrowerService borrowerService;
+
+    /**
+     * Template running the group transactions.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Entity manager of the group transactions.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Data source whose transactional connection takes the savepoints.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Cache of the library books evicted by the writes.
+     */
+    private final Cache bookCache;
+
+    /**
+     * In-memory index of the available books, updated once the writes commit.
+     */
+    private final BookAvailabilityIndex availabilityIndex;
+
+    /**
+     * Filter recording the writes of the current request, when reads are served by a replica.
+     */
+    private final ObjectProvider<ReadYourWritesFilter> readYourWrites;
+
+    /**
+     * Time the first write of a group waits for more writes.
+     */
+    private final long windowNanos;
+
+    /**
+     * Maximum number of writes in a group.
+     */
+    private final int maxGroupSize;
+
+    /**
+     * Time a caller waits for the group of its write to commit.
+     */
+    private final long timeoutNanos;
+
+    /**
+     * Summary of the group sizes.
+     */
+    private final DistributionSummary groupSizes;
+
+    /**
+     * Writes waiting for the next group.
+     */
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Thread collecting and committing the groups.
+     */
+    private final Thread committer;
+
+    /**
+     * Whether the committer has been stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Constructor for GroupCommitBorrowingService.
+     *
+     * @param borrowingService   Service applying the writes and serving everything else.
+     * @param borrowerService    Service providing the cached borrower details.
+     * @param transactionManager Transaction manager of the group transactions.
+     * @param entityManager      Entity manager of the group transactions.
+     * @param dataSource         Data source whose transactional connection takes the savepoints.
+     * @param cacheManager       Cache manager holding the library book cache.
+     * @param availabilityIndex  In-memory index of the available books.
+     * @param readYourWrites     Filter recording the writes of the current request, if any.
+     * @param meterRegistry      Registry of the group size summary.
+     * @param window             Time the first write of a group waits for more writes.
+     * @param maxGroupSize       Maximum number of writes in a group.
+     * @param timeout            Time a caller waits for the group of its write to commit.
+     */
+    public GroupCommitBorrowingService(
+            final BorrowingServiceImpl borrowingService,
+            final BorrowerService borrowerService,
+            final PlatformTransactionManager transactionManager,
+            final EntityManager entityManager,
+            final DataSource dataSource,
+            final CacheManager cacheManager,
+            final BookAvailabilityIndex availabilityIndex,
+            final ObjectProvider<ReadYourWritesFilter> readYourWrites,
+            final MeterRegistry meterRegistry,
+            @Value("${library.group-commit.window:2ms}") final Duration window,
+            @Value("${library.group-commit.max-size:64}") final int maxGroupSize,
+            @Value("${library.group-commit.timeout:10s}") final Duration timeout) {
+
+        this.borrowingService = borrowingService;
+        this.borrowerService = borrowerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+        this.bookCache = cacheManager.getCache(AppConstant.BOOK_CACHE);
+        this.availabilityIndex = availabilityIndex;
+        this.readYourWrites = readYourWrites;
+        this.windowNanos = window.toNanos();
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.timeoutNanos = timeout.toNanos();
+        this.groupSizes = DistributionSummary.builder("library.group.commit.size")
+                .description("Number of borrows and returns committed together")
+                .register(meterRegistry);
+        this.committer = new Thread(this::commitGroups, "borrowing-group-commit");
+        this.committer.setDaemon(true);
+    }
+
+    /**
+     * Starts the committer.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        committer.start();
+    }
+
+    /**
+     * Stops the committer, leaving the pending writes to run in their own transactions.
+     *
+     * @throws InterruptedException if interrupted while waiting for the committer to stop.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        stopped = true;
+        committer.interrupt();
+        committer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Borrows a book for a borrower in the next group commit. The borrower is looked up
+     * before joining the group, so an unknown borrower fails without affecting the group.
+     *
+     * @param bookId the ID of the book to be borrowed.
+     * @param borrowerId the ID of the borrower.
+     * @return the borrowing information.
+     */
+    @Override
+    public BorrowingInfoDTO borrowBook(final long bookId, final long borrowerId) {
+        borrowerService.getBorrowerById(borrowerId);
+
+        return submit(service -> service.applyBorrow(bookId, borrowerId), false,
+                () -> borrowingService.borrowBook(bookId, borrowerId));
+    }
+
+    /**
+     * Borrows any available copy of a book for a borrower in its own transaction.
+     *
+     * @param isbn the ISBN of the book to be borrowed.
+     * @param borrowerId the ID of the borrower.
+     * @return the borrowing information of the borrowed copy.
+     */
+    @Override
+    public BorrowingInfoDTO borrowBookByIsbn(final String isbn, final long borrowerId) {
+        return borrowingService.borrowBookByIsbn(isbn, borrowerId);
+    }
+
+    /**
+     * Returns a borrowed book in the next group commit.
+     *
+     * @param borrowingId the ID of the borrowing record.
+     * @return the borrowing information after returning the book.
+     */
+    @Override
+    public BorrowingInfoDTO returnBook(final long borrowingId) {
+        return submit(service -> service.applyReturn(borrowingId), true,
+                () -> borrowingService.returnBook(borrowingId));
+    }
+
+    /**
+     * Retrieves borrowing information for a borrower and a book.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param bookId the ID of the book.
+     * @return the borrowing information.
+     */
+    @Override
+    public BorrowingInfoDTO getBorrowingInfoByBorrowerAndBook(final long borrowerId, final long bookId) {
+        return borrowingService.getBorrowingInfoByBorrowerAndBook(borrowerId, bookId);
+    }
+
+    /**
+     * Retrieves borrowing information for a borrower with pagination.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param pageNo the page number.
+     * @param pageSize the number of records per page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the sort direction (ASC/DESC).
+     * @param withTotal whether to include the total number of borrowings and pages.
+     * @return a paginated response containing the borrowing information.
+     */
+    @Override
+    public BorrowingPageResponseDTO getBorrowingInfoByBorrower(
+            final long borrowerId, final int pageNo, final int pageSize,
+            final String sortBy, final String sortDir, final boolean withTotal) {
+        return borrowingService.getBorrowingInfoByBorrower(borrowerId, pageNo, pageSize, sortBy, sortDir, withTotal);
+    }
+
+    /**
+     * Retrieves borrowing information for a borrower using keyset pagination.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of records per page.
+     * @param sortBy the index-backed field to sort by.
+     * @param sortDir the sort direction (ASC/DESC).
+     * @return a page of borrowing information along with the continuation token of the next page.
+     */
+    @Override
+    public CursorPageResponseDTO<BorrowingInfoDTO> scrollBorrowingInfoByBorrower(
+            final long borrowerId, final String cursor, final int pageSize,
+            final String sortBy, final String sortDir) {
+        return borrowingService.scrollBorrowingInfoByBorrower(borrowerId, cursor, pageSize, sortBy, sortDir);
+    }
+
+    /**
+     * Submits a write to the next group and waits for its outcome. A write enqueued after the
+     * committer stopped, or still waiting in the queue when the timeout elapses, runs in its own
+     * transaction instead. A write whose group is still committing when the timeout elapses
+     * fails, as it may yet commit.
+     *
+     * @param apply the write, applied within the group transaction.
+     * @param returned whether the write returns its book, rather than borrowing it.
+     * @param alone the write run in its own transaction, when the group cannot commit.
+     * @return the result of the write.
+     */
+    private BorrowingInfoDTO submit(final Function<BorrowingServiceImpl, BorrowingInfoDTO> apply,
+                                    final boolean returned,
+                                    final Supplier<BorrowingInfoDTO> alone) {
+        if (stopped) {
+            return alone.get();
+        }
+
+        final PendingWrite write = new PendingWrite(apply, returned);
+        queue.add(write);
+        if (stopped && queue.remove(write)) {
+            return alone.get();
+        }
+
+        try {
+            final BorrowingInfoDTO result = write.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            readYourWrites.ifAvailable(ReadYourWritesFilter::recordWrite);
+            return result;
+        } catch (ExecutionException exception) {
+            if (exception.getCause() == RUN_ALONE) {
+                return alone.get();
+            }
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(exception.getCause());
+        } catch (TimeoutException exception) {
+            if (queue.remove(write)) {
+                return alone.get();
+            }
+            LOGGER.error("Group commit did not complete within {} ms", TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            throw new CommonSystemException("Borrowing is still being processed, please check it before retrying");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CommonSystemException("Borrowing is still being processed, please check it before retrying");
+        }
+    }
+
+    /**
+     * Collects the writes arriving within the window after the first one of a group and
+     * commits them, until stopped.
+     */
+    private void commitGroups() {
+        final List<PendingWrite> group = new ArrayList<>(maxGroupSize);
+        try {
+            while (!stopped) {
+                group.add(queue.take());
+                final long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxGroupSize) {
+                    final PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.drainTo(group);
+            group.forEach(write -> write.result.completeExceptionally(RUN_ALONE));
+        }
+    }
+
+    /**
+     * Applies a group of writes in one transaction and completes them once it committed.
+     *
+     * @param group the writes of the group.
+     */
+    private void commit(final List<PendingWrite> group) {
+        groupSizes.record(group.size());
+
+        final List<Runnable> completions = new ArrayList<>(group.size());
+        final Boolean applied;
+        try {
+            applied = transactionTemplate.execute(status -> applyAll(group, completions, status));
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Group commit of {} writes failed, running them in their own transactions",
+                    group.size(), exception);
+            group.forEach(write -> write.result.completeExceptionally(RUN_ALONE));
+            return;
+        }
+
+        if (!Boolean.TRUE.equals(applied)) {
+            LOGGER.warn("Group commit of {} writes was marked rollback-only, running them in their own transactions",
+                    group.size());
+            group.forEach(write -> write.result.completeExceptionally(RUN_ALONE));
+            return;
+        }
+
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Applies the writes of a group one after the other. Once a failing write has marked the
+     * transaction rollback-only, the remaining writes are not applied and the transaction is
+     * rolled back without raising an error.
+     *
+     * @param group the writes of the group.
+     * @param completions the completions of the applied writes, to run once the group committed.
+     * @param status the status of the group transaction.
+     * @return true if all writes were applied, false if the transaction is to be rolled back.
+     */
+    private boolean applyAll(final List<PendingWrite> group, final List<Runnable> completions,
+                             final TransactionStatus status) {
+        for (PendingWrite write : group) {
+            completions.add(apply(write));
+            if (status.isRollbackOnly()) {
+                status.setRollbackOnly();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Applies a write within the group transaction. The changes of a failing write are
+     * rolled back to the savepoint taken before it and discarded from the persistence
+     * context, which holds no other pending changes as each write is flushed.
+     *
+     * @param write the write to apply.
+     * @return the completion of the write, to run once the group committed.
+     */
+    private Runnable apply(final PendingWrite write) {
+        final Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            final Savepoint savepoint = connection.setSavepoint();
+            try {
+                final BorrowingInfoDTO result = write.apply.apply(borrowingService);
+                entityManager.flush();
+                final Long bookId = result.getBookInfo().getId();
+                bookCache.evict(bookId);
+                if (write.returned) {
+                    availabilityIndex.recordReturned(bookId);
+                } else {
+                    availabilityIndex.recordBorrowed(bookId);
+                }
+
+                return () -> write.result.complete(result);
+            } catch (RuntimeException exception) {
+                connection.rollback(savepoint);
+                entityManager.clear();
+
+                return () -> write.result.completeExceptionally(exception);
+            }
+        } catch (SQLException exception) {
+            throw new UncategorizedSQLException("Group commit savepoint", null, exception);
+        }
+    }
+
+    /**
+     * Write waiting for its group to commit.
+     */
+    private static final class PendingWrite {
+
+        private final Function<BorrowingServiceImpl, BorrowingInfoDTO> apply;
+
+        private final boolean returned;
+
+        private final CompletableFuture<BorrowingInfoDTO> result = new CompletableFuture<>();
+
+        private PendingWrite(final Function<BorrowingServiceImpl, BorrowingInfoDTO> apply,
+                             final boolean returned) {
+            this.apply = apply;
+            this.returned = returned;
+        }
+    }
+}
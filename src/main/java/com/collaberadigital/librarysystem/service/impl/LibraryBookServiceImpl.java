@@ -1,29 +1,59 @@
 package com.collaberadigital.librarysystem.service.impl;
 
+import com.collaberadigital.librarysystem.dto.BookMatchDTO;
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.BookSuggestionDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
 import com.collaberadigital.librarysystem.exception.InvalidBookException;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.index.BookSearchIndex;
+import com.collaberadigital.librarysystem.index.BookSuggestionIndex;
+import com.collaberadigital.librarysystem.mapper.LibraryBookMapper;
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
 import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
 import com.collaberadigital.librarysystem.service.LibraryBookService;
+import com.collaberadigital.librarysystem.service.LibraryCountService;
 import com.collaberadigital.librarysystem.util.AppConstant;
+import com.collaberadigital.librarysystem.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the LibraryBookService interface for managing book operations.
  */
 @Service
+@Timed(AppConstant.SERVICE_METRIC)
 public class LibraryBookServiceImpl implements LibraryBookService {
 
     /**
@@ -31,53 +61,194 @@ public class LibraryBookServiceImpl implements LibraryBookService {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryBookServiceImpl.class);
 
+    /**
+     * Index-backed sort keys supported by keyset pagination, mapped to their value types.
+     */
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            AppConstant.RECORD_ID, Long.class,
+            "isbn", String.class,
+            "title", String.class);
+
+    /**
+     * Book fields only held by the catalog entry, mapped to their property paths from a book.
+     * The ISBN and title are sorted by their copies on the book, which are indexed.
+     */
+    private static final Map<String, String> CATALOG_SORT_PROPERTIES = Map.of(
+            "author", "catalog.author");
+
     /**
      * Repository for managing library book data.
      */
     private final LibraryBookRepository bookRepository;
 
+    /**
+     * Repository for managing book catalog data.
+     */
+    private final BookCatalogRepository catalogRepository;
+
+    /**
+     * Service providing the book counts of the paginated listings.
+     */
+    private final LibraryCountService countService;
+
+    /**
+     * In-memory index serving the pages of available books.
+     */
+    private final BookAvailabilityIndex availabilityIndex;
+
+    /**
+     * In-memory index serving the book search.
+     */
+    private final BookSearchIndex searchIndex;
+
+    /**
+     * In-memory index serving the type-ahead suggestions.
+     */
+    private final BookSuggestionIndex suggestionIndex;
+
     /**
      * Constructor for LibraryBookServiceImpl.
      *
      * @param bookRepository      Repository providing data access operations for library books.
+     * @param catalogRepository   Repository providing data access operations for the book catalog.
+     * @param countService        Service providing the book counts of the paginated listings.
+     * @param availabilityIndex   In-memory index serving the pages of available books.
+     * @param searchIndex         In-memory index serving the book search.
+     * @param suggestionIndex     In-memory index serving the type-ahead suggestions.
      */
-    public LibraryBookServiceImpl(final LibraryBookRepository bookRepository) {
+    public LibraryBookServiceImpl(final LibraryBookRepository bookRepository,
+                                  final BookCatalogRepository catalogRepository,
+                                  final LibraryCountService countService,
+                                  final BookAvailabilityIndex availabilityIndex,
+                                  final BookSearchIndex searchIndex,
+                                  final BookSuggestionIndex suggestionIndex) {
         this.bookRepository = bookRepository;
+        this.catalogRepository = catalogRepository;
+        this.countService = countService;
+        this.availabilityIndex = availabilityIndex;
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
     }
 
     /**
-     * Registers a new book in the library.
+     * Registers a new copy of a book in the library. The ISBN is checked against its catalog
+     * entry, which is created for the first copy of an ISBN.
      *
      * @param bookDTO the details of the book to be registered.
      * @return the registered book details.
      */
     @Override
+    @Transactional
     public LibraryBookDTO registerBook(final LibraryBookRequestDTO bookDTO) {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Registering a new book with ISBN: {}", bookDTO.getIsbn());
         }
 
-        validateIsbn(bookDTO);
+        final BookCatalog catalog = registerCopy(bookDTO);
 
-        LibraryBook book = mapToBook(bookDTO);
-        book.setBorrowed(Boolean.FALSE);
+        final LibraryBook book = LibraryBookMapper.toCopy(catalog);
 
         bookRepository.save(book);
+        availabilityIndex.recordRegistered();
+        searchIndex.recordRegistered(List.of(book));
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Library Book registered successfully with ISBN: {}", bookDTO.getIsbn());
         }
 
-        return mapToBookDto(book);
+        return LibraryBookMapper.toDto(book);
     }
 
     /**
-     * Fetches the details of a book by its ID.
+     * Registers a batch of books in a single transaction. The catalog entries of the batch
+     * are loaded with a single query, and copy counters are updated once per ISBN.
+     *
+     * @param books the details of the books to be registered.
+     * @return the outcome for each book, indexed by its position in the batch.
+     */
+    @Override
+    @Transactional
+    public List<BookRegistrationResultDTO> registerBookBatch(final List<LibraryBookRequestDTO> books) {
+        LOGGER.info("Registering a batch of {} books", books.size());
+
+        final Set<String> isbns = new HashSet<>();
+        books.forEach(bookDTO -> isbns.add(bookDTO.getIsbn()));
+
+        // Catalog entries per ISBN, including the ones introduced by this batch
+        final Map<String, BookCatalog> catalogs = new HashMap<>();
+        catalogRepository.findByIsbnIn(isbns).forEach(catalog -> catalogs.put(catalog.getIsbn(), catalog));
+
+        final List<BookRegistrationResultDTO> results = new ArrayList<>(books.size());
+        final List<LibraryBook> acceptedBooks = new ArrayList<>(books.size());
+        final List<BookRegistrationResultDTO> acceptedResults = new ArrayList<>(books.size());
+        final List<BookCatalog> newCatalogs = new ArrayList<>();
+        final Map<BookCatalog, Integer> addedCopies = new IdentityHashMap<>();
+
+        for (int index = 0; index < books.size(); index++) {
+            final LibraryBookRequestDTO bookDTO = books.get(index);
+            BookCatalog catalog = catalogs.get(bookDTO.getIsbn());
+
+            if (catalog != null && !isSameTitle(catalog, bookDTO)) {
+                results.add(BookRegistrationResultDTO.builder()
+                        .index(index)
+                        .isbn(bookDTO.getIsbn())
+                        .status(BookRegistrationResultDTO.Status.REJECTED)
+                        .message("ISBN number must have the same title and author.")
+                        .build());
+                continue;
+            }
+
+            if (catalog == null) {
+                catalog = LibraryBookMapper.toCatalog(bookDTO);
+                catalogs.put(bookDTO.getIsbn(), catalog);
+                newCatalogs.add(catalog);
+            }
+            addedCopies.merge(catalog, 1, Integer::sum);
+
+            acceptedBooks.add(LibraryBookMapper.toCopy(catalog));
+
+            final BookRegistrationResultDTO result = BookRegistrationResultDTO.builder()
+                    .index(index)
+                    .isbn(bookDTO.getIsbn())
+                    .status(BookRegistrationResultDTO.Status.REGISTERED)
+                    .build();
+            results.add(result);
+            acceptedResults.add(result);
+        }
+
+        // New catalog entries start with their copy counter, existing ones are updated in place
+        for (Map.Entry<BookCatalog, Integer> copies : addedCopies.entrySet()) {
+            if (copies.getKey().getId() == null) {
+                copies.getKey().setTotalCopies(copies.getValue());
+            } else {
+                catalogRepository.addCopies(copies.getKey().getId(), copies.getValue());
+            }
+        }
+
+        catalogRepository.saveAll(newCatalogs);
+        bookRepository.saveAll(acceptedBooks);
+        if (!acceptedBooks.isEmpty()) {
+            availabilityIndex.recordRegistered();
+            searchIndex.recordRegistered(acceptedBooks);
+        }
+        for (int index = 0; index < acceptedBooks.size(); index++) {
+            acceptedResults.get(index).setBookId(acceptedBooks.get(index).getId());
+        }
+
+        LOGGER.info("Registered {} of {} books in batch", acceptedBooks.size(), books.size());
+        return results;
+    }
+
+    /**
+     * Fetches the details of a book by its ID. The details are cached until the book is
+     * borrowed or returned.
      *
      * @param bookId the ID of the book.
      * @return the details of the book.
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstant.BOOK_CACHE, key = "#bookId")
     public LibraryBookDTO getBookById(final long bookId) {
         LOGGER.info("Fetching book details for ID: {}", bookId);
 
@@ -87,142 +258,403 @@ public class LibraryBookServiceImpl implements LibraryBookService {
         });
 
         LOGGER.info("Library Book details fetched successfully for ID: {}", bookId);
-        return mapToBookDto(book);
+        return LibraryBookMapper.toDto(book);
     }
 
     /**
-     * Fetches all books with pagination and sorting.
+     * Fetches all books with pagination and sorting. The page is fetched as read-only views
+     * without counting the books; the total, when requested, is taken from the maintained book count.
      *
      * @param pageNo the page number to retrieve.
      * @param pageSize the number of books per page.
      * @param sortBy the field to sort by.
      * @param sortDir the direction to sort by (ASC/DESC).
+     * @param withTotal whether to include the total number of books and pages.
      * @return a paginated response containing the list of books.
      */
     @Override
+    @Transactional(readOnly = true)
     public LibraryBookPageResponseDTO getAllBooks(
             final int pageNo, final int pageSize,
-            final String sortBy, final String sortDir) {
+            final String sortBy, final String sortDir, final boolean withTotal) {
         LOGGER.info("Fetching all books with pagination (pageNo: {}, pageSize: {})", pageNo, pageSize);
 
         final Sort sort = getSortDirection(sortBy, sortDir);
 
         final Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        final Page<LibraryBook> pageBooks = bookRepository.findAll(pageable);
+        final Slice<LibraryBookView> pageBooks = bookRepository.findAllViews(pageable);
 
         final List<LibraryBookDTO> contentList = pageBooks.getContent()
                 .stream()
-                .map(this::mapToBookDto)
+                .map(LibraryBookMapper::toDto)
                 .toList();
 
         LOGGER.info("All books fetched successfully with pagination (pageNo: {}, pageSize: {})", pageNo, pageSize);
-        return createResponse(contentList, pageBooks, pageNo, pageSize);
+        return createResponse(contentList, pageBooks, pageNo, pageSize,
+                withTotal ? countService.countBooks() : AppConstant.UNKNOWN_TOTAL);
     }
 
     /**
-     * Fetches all available books for borrowing with pagination and sorting.
+     * Fetches all available books for borrowing with pagination and sorting. The IDs of the
+     * page and the total are taken from the availability index, and only the views of the page
+     * are loaded. Books borrowed since the index was read are left out of the page. While the
+     * index cannot serve the sort key, the page is fetched as read-only views without counting
+     * the books, and the total, when requested, is taken from the cached available book count.
      *
      * @param pageNo the page number to retrieve.
      * @param pageSize the number of books per page.
      * @param sortBy the field to sort by.
      * @param sortDir the direction to sort by (ASC/DESC).
+     * @param withTotal whether to include the total number of available books and pages.
      * @return a paginated response containing the list of available books for borrowing.
      */
     @Override
+    @Transactional(readOnly = true)
     public LibraryBookPageResponseDTO getAllAvailableBorrow(
             final int pageNo, final int pageSize,
-            final String sortBy, final String sortDir) {
+            final String sortBy, final String sortDir, final boolean withTotal) {
         LOGGER.info("Fetching all available books for borrow with pagination (pageNo: {}, pageSize: {})",
                 pageNo, pageSize);
 
+        final Optional<BookAvailabilityIndex.AvailablePage> indexedPage = availabilityIndex.findAvailable(
+                toSortProperty(sortBy), sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()), pageNo, pageSize);
+        if (indexedPage.isPresent()) {
+            LOGGER.info("All available books for borrow selected from the availability index (pageNo: {}, pageSize: {})",
+                    pageNo, pageSize);
+            return createIndexedResponse(indexedPage.get(), pageNo, pageSize, withTotal);
+        }
+
         final Sort sort = getSortDirection(sortBy, sortDir);
 
         final Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        final Page<LibraryBook> pageBooks = bookRepository.findByBorrowed(Boolean.FALSE, pageable);
+        final Slice<LibraryBookView> pageBooks = bookRepository.findViewsByBorrowed(Boolean.FALSE, pageable);
 
         final List<LibraryBookDTO> contentList = pageBooks.getContent().stream()
-                .map(this::mapToBookDto)
+                .map(LibraryBookMapper::toDto)
                 .toList();
 
         LOGGER.info("All available books for borrow fetched successfully with pagination (pageNo: {}, pageSize: {})",
                 pageNo, pageSize);
-        return createResponse(contentList, pageBooks, pageNo, pageSize);
+        return createResponse(contentList, pageBooks, pageNo, pageSize,
+                withTotal ? countService.countAvailableBooks() : AppConstant.UNKNOWN_TOTAL);
+    }
+
+    /**
+     * Searches the books whose title and author hold every term of a query. The copies of the
+     * page and the total are taken from the search index, available copies first, and only
+     * the views of the page are loaded.
+     *
+     * @param query the search query.
+     * @param pageNo the page number to retrieve.
+     * @param pageSize the number of books per page.
+     * @return a paginated response containing the matching books.
+     * @throws CommonSystemException if the search index is not built yet.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LibraryBookPageResponseDTO searchBooks(final String query, final int pageNo, final int pageSize) {
+        LOGGER.info("Searching books matching: {} (pageNo: {}, pageSize: {})", query, pageNo, pageSize);
+
+        final BookSearchIndex.SearchPage page = searchIndex.search(query, pageNo, pageSize).orElseThrow(() -> {
+            LOGGER.error("Search index is not built yet");
+            return new CommonSystemException("Search is not available yet, please retry");
+        });
+
+        final List<LibraryBookDTO> contentList = findViews(page.bookIds()).stream()
+                .map(LibraryBookMapper::toDto)
+                .toList();
+
+        LOGGER.info("Found {} books matching: {}", page.total(), query);
+        return LibraryBookPageResponseDTO.builder()
+                .content(contentList)
+                .pageNo(pageNo)
+                .pageSize(pageSize)
+                .totalElements(page.total())
+                .numberOfElements(contentList.size())
+                .totalPages(getTotalPages(page.total(), pageSize))
+                .last((long) (pageNo + 1) * pageSize >= page.total())
+                .build();
+    }
+
+    /**
+     * Suggests the titles and authors starting with a prefix, served by the suggestion index.
+     *
+     * @param prefix the typed prefix.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, the ones with the most copies first.
+     * @throws CommonSystemException if the suggestion index is not built yet.
+     */
+    @Override
+    public List<BookSuggestionDTO> suggestBooks(final String prefix, final int limit) {
+        LOGGER.debug("Suggesting books starting with: {} (limit: {})", prefix, limit);
+
+        final int cappedLimit = Math.max(1, Math.min(limit, AppConstant.MAX_SUGGESTION_LIMIT));
+        final List<BookSuggestionIndex.Suggestion> suggestions = suggestionIndex.suggest(prefix, cappedLimit)
+                .orElseThrow(() -> {
+                    LOGGER.error("Suggestion index is not built yet");
+                    return new CommonSystemException("Suggestions are not available yet, please retry");
+                });
+
+        return suggestions.stream()
+                .map(suggestion -> BookSuggestionDTO.builder()
+                        .text(suggestion.text())
+                        .type(BookSuggestionDTO.Type.valueOf(suggestion.field().name()))
+                        .copies(suggestion.copies())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Looks up the books closest to a query that may hold typos, served by the search index.
+     * Only the rows of the matched books are loaded.
+     *
+     * @param query the title or author terms, or the ISBN.
+     * @param maxDistance the maximum number of edited characters per term or ISBN.
+     * @param limit the maximum number of books.
+     * @return the closest books along with their distances, closest first.
+     * @throws CommonSystemException if the search index is not built yet.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookMatchDTO> lookupBooks(final String query, final int maxDistance, final int limit) {
+        LOGGER.info("Looking up books close to: {} (maxDistance: {}, limit: {})", query, maxDistance, limit);
+
+        final List<BookSearchIndex.LookupMatch> matches = searchIndex.lookup(query,
+                        Math.max(0, Math.min(maxDistance, AppConstant.MAX_LOOKUP_DISTANCE)),
+                        Math.max(1, Math.min(limit, AppConstant.MAX_LOOKUP_LIMIT)))
+                .orElseThrow(() -> {
+                    LOGGER.error("Search index is not built yet");
+                    return new CommonSystemException("Lookup is not available yet, please retry");
+                });
+
+        final Map<Long, Integer> distances = matches.stream()
+                .collect(Collectors.toMap(BookSearchIndex.LookupMatch::bookId, BookSearchIndex.LookupMatch::distance));
+        final List<BookMatchDTO> response = findViews(matches.stream().map(BookSearchIndex.LookupMatch::bookId).toList())
+                .stream()
+                .map(view -> BookMatchDTO.builder()
+                        .book(LibraryBookMapper.toDto(view))
+                        .distance(distances.get(view.id()))
+                        .build())
+                .toList();
+
+        LOGGER.info("Found {} books close to: {}", response.size(), query);
+        return response;
     }
 
     /**
-     * Converts a LibraryBook entity to a LibraryBookDTO.
+     * Fetches a page of all books using keyset pagination.
      *
-     * @param book the LibraryBook entity to convert.
-     * @return the converted LibraryBookDTO.
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of books per page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the direction to sort by (ASC/DESC).
+     * @return a page of books along with the continuation token of the next page.
      */
-    private LibraryBookDTO mapToBookDto(final LibraryBook book) {
-        LibraryBookDTO bookDto = new LibraryBookDTO();
-        BeanUtils.copyProperties(book, bookDto);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<LibraryBookDTO> scrollAllBooks(
+            final String cursor, final int pageSize,
+            final String sortBy, final String sortDir) {
+        LOGGER.info("Scrolling all books with keyset pagination (pageSize: {})", pageSize);
 
-        return bookDto;
+        final Sort sort = KeysetCursor.sort(cursor, toSortProperty(sortBy), sortDir, SORT_KEYS);
+        final Window<LibraryBook> windowBooks = bookRepository.findBy(
+                KeysetCursor.position(cursor, SORT_KEYS), sort, Limit.of(pageSize));
+
+        return createCursorResponse(windowBooks, sort, pageSize);
     }
 
     /**
-     * Converts a LibraryBookRequestDTO to a LibraryBook entity.
+     * Fetches a page of all available books for borrowing using keyset pagination.
      *
-     * @param bookDto the LibraryBookRequestDTO to convert.
-     * @return the converted LibraryBook entity.
+     * @param cursor the continuation token of the previous page, or null for the first page.
+     * @param pageSize the number of books per page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the direction to sort by (ASC/DESC).
+     * @return a page of available books along with the continuation token of the next page.
      */
-    private LibraryBook mapToBook(final LibraryBookRequestDTO bookDto) {
-        LibraryBook book = new LibraryBook();
-        BeanUtils.copyProperties(bookDto, book);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<LibraryBookDTO> scrollAvailableBorrow(
+            final String cursor, final int pageSize,
+            final String sortBy, final String sortDir) {
+        LOGGER.info("Scrolling all available books for borrow with keyset pagination (pageSize: {})", pageSize);
+
+        final Sort sort = KeysetCursor.sort(cursor, toSortProperty(sortBy), sortDir, SORT_KEYS);
+        final Window<LibraryBook> windowBooks = bookRepository.findByBorrowed(
+                Boolean.FALSE, KeysetCursor.position(cursor, SORT_KEYS), sort, Limit.of(pageSize));
 
-        return book;
+        return createCursorResponse(windowBooks, sort, pageSize);
     }
 
     /**
-     * Validates the ISBN of a book to ensure it has the same title and author if it already exists.
+     * Registers a copy of a book in its catalog entry. An existing entry must have the same
+     * title and author and has its copy counters incremented, otherwise a new entry is created
+     * with a single copy.
      *
      * @param bookDTO the LibraryBookRequestDTO containing the book details.
+     * @return the catalog entry of the book.
      * @throws InvalidBookException if the ISBN exists but the title and author do not match.
+     * @throws CommonSystemException if the same new ISBN is registered concurrently.
      */
-    private void validateIsbn(final LibraryBookRequestDTO bookDTO) {
-        final List<LibraryBook> existingBooks = bookRepository.findByIsbn(bookDTO.getIsbn());
+    private BookCatalog registerCopy(final LibraryBookRequestDTO bookDTO) {
+        final Optional<BookCatalog> existingCatalog = catalogRepository.findByIsbn(bookDTO.getIsbn());
 
-        //Explore existing books by isbn and check title and author
-        if (!existingBooks.isEmpty()) {
-            for (LibraryBook existingBook : existingBooks) {
-                if (!existingBook.getTitle().equals(bookDTO.getTitle()) ||
-                        !existingBook.getAuthor().equals(bookDTO.getAuthor())) {
-                    if (LOGGER.isErrorEnabled()) {
-                        LOGGER.error("ISBN number must have the same title and author for ISBN: {}", bookDTO.getIsbn());
-                    }
+        if (existingCatalog.isPresent()) {
+            validateIsbn(existingCatalog.get(), bookDTO);
+            catalogRepository.addCopies(existingCatalog.get().getId(), 1);
+
+            return existingCatalog.get();
+        }
+
+        final BookCatalog catalog = LibraryBookMapper.toCatalog(bookDTO);
+        catalog.setTotalCopies(1);
+        try {
+            return catalogRepository.saveAndFlush(catalog);
+        } catch (DataIntegrityViolationException exception) {
+            LOGGER.error("Catalog entry for ISBN: {} was registered concurrently", bookDTO.getIsbn());
+            throw new CommonSystemException("ISBN is being registered concurrently, please retry");
+        }
+    }
 
-                    throw new InvalidBookException("ISBN number must have the same title and author.");
-                }
+    /**
+     * Validates the ISBN of a book to ensure it has the same title and author as its catalog entry.
+     *
+     * @param catalog the catalog entry of the ISBN.
+     * @param bookDTO the LibraryBookRequestDTO containing the book details.
+     * @throws InvalidBookException if the title and author do not match the catalog entry.
+     */
+    private void validateIsbn(final BookCatalog catalog, final LibraryBookRequestDTO bookDTO) {
+        if (!isSameTitle(catalog, bookDTO)) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("ISBN number must have the same title and author for ISBN: {}", bookDTO.getIsbn());
             }
+
+            throw new InvalidBookException("ISBN number must have the same title and author.");
         }
     }
 
     /**
-     * Creates a LibraryBookPageResponseDTO from a list of BookDTOs and a Page of Books.
+     * Checks whether a book has the title and author of a catalog entry.
+     *
+     * @param catalog the catalog entry.
+     * @param bookDTO the book details.
+     * @return true if the title and author match.
+     */
+    private boolean isSameTitle(final BookCatalog catalog, final LibraryBookRequestDTO bookDTO) {
+        return catalog.getTitle().equals(bookDTO.getTitle()) && catalog.getAuthor().equals(bookDTO.getAuthor());
+    }
+
+    /**
+     * Creates a LibraryBookPageResponseDTO from a list of BookDTOs and the Slice they were mapped from.
+     * Whether the page is the last one is decided by the slice, not by the total.
      *
      * @param contentList the list of BookDTOs.
-     * @param pageBooks the Page of Books.
+     * @param pageBooks the Slice of book views.
      * @param pageNo the current page number.
      * @param pageSize the number of books per page.
+     * @param totalElements the total number of books, or UNKNOWN_TOTAL if not requested.
      * @return the created LibraryBookPageResponseDTO.
      */
     private LibraryBookPageResponseDTO createResponse(
-            final List<LibraryBookDTO> contentList, final Page<LibraryBook> pageBooks,
-            final int pageNo, final int pageSize) {
+            final List<LibraryBookDTO> contentList, final Slice<LibraryBookView> pageBooks,
+            final int pageNo, final int pageSize, final long totalElements) {
 
         return LibraryBookPageResponseDTO.builder()
                 .content(contentList)
                 .pageNo(pageNo)
                 .pageSize(pageSize)
-                .totalElements(pageBooks.getTotalElements())
+                .totalElements(totalElements)
                 .numberOfElements(pageBooks.getNumberOfElements())
-                .totalPages(pageBooks.getTotalPages())
+                .totalPages(getTotalPages(totalElements, pageSize))
                 .last(pageBooks.isLast())
                 .build();
     }
 
+    /**
+     * Creates a LibraryBookPageResponseDTO from a page selected by the availability index,
+     * loading the views of its books in the order of the index.
+     *
+     * @param page the page selected by the availability index.
+     * @param pageNo the current page number.
+     * @param pageSize the number of books per page.
+     * @param withTotal whether to include the total number of available books and pages.
+     * @return the created LibraryBookPageResponseDTO.
+     */
+    private LibraryBookPageResponseDTO createIndexedResponse(
+            final BookAvailabilityIndex.AvailablePage page, final int pageNo, final int pageSize,
+            final boolean withTotal) {
+        final List<LibraryBookDTO> contentList = findViews(page.bookIds()).stream()
+                .filter(view -> !view.borrowed())
+                .map(LibraryBookMapper::toDto)
+                .toList();
+        final long totalElements = withTotal ? page.total() : AppConstant.UNKNOWN_TOTAL;
+
+        return LibraryBookPageResponseDTO.builder()
+                .content(contentList)
+                .pageNo(pageNo)
+                .pageSize(pageSize)
+                .totalElements(totalElements)
+                .numberOfElements(contentList.size())
+                .totalPages(getTotalPages(totalElements, pageSize))
+                .last((long) (pageNo + 1) * pageSize >= page.total())
+                .build();
+    }
+
+    /**
+     * Loads the views of the books selected by an index, in the order of the index.
+     *
+     * @param bookIds the IDs of the books.
+     * @return the views of the books found.
+     */
+    private List<LibraryBookView> findViews(final List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<Long, LibraryBookView> views = bookRepository.findViewsByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(LibraryBookView::id, Function.identity()));
+        return bookIds.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Determines the number of pages of a listing from its total number of elements.
+     *
+     * @param totalElements the total number of elements, or UNKNOWN_TOTAL if not known.
+     * @param pageSize the number of elements per page.
+     * @return the number of pages, or UNKNOWN_TOTAL if the total is not known.
+     */
+    private int getTotalPages(final long totalElements, final int pageSize) {
+        return totalElements < 0 ? AppConstant.UNKNOWN_TOTAL : (int) ((totalElements + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Creates a CursorPageResponseDTO from a Window of Books.
+     *
+     * @param windowBooks the Window of Books.
+     * @param sort the sort the window was fetched with.
+     * @param pageSize the number of books per page.
+     * @return the created CursorPageResponseDTO.
+     */
+    private CursorPageResponseDTO<LibraryBookDTO> createCursorResponse(
+            final Window<LibraryBook> windowBooks, final Sort sort, final int pageSize) {
+        final List<LibraryBookDTO> contentList = windowBooks.getContent().stream()
+                .map(LibraryBookMapper::toDto)
+                .toList();
+
+        return CursorPageResponseDTO.<LibraryBookDTO>builder()
+                .content(contentList)
+                .pageSize(pageSize)
+                .numberOfElements(contentList.size())
+                .nextCursor(windowBooks.hasNext()
+                        ? KeysetCursor.encode(sort, windowBooks.positionAt(windowBooks.size() - 1)) : null)
+                .last(!windowBooks.hasNext())
+                .build();
+    }
+
     /**
      * Determines the sort direction for a pageable request.
      *
@@ -232,6 +664,17 @@ public class LibraryBookServiceImpl implements LibraryBookService {
      */
     private Sort getSortDirection(final String sortBy, final String sortDir) {
         return sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+                Sort.by(toSortProperty(sortBy)).ascending() : Sort.by(toSortProperty(sortBy)).descending();
+    }
+
+    /**
+     * Resolves the property path of a book field, following the catalog entry for the
+     * fields only it holds.
+     *
+     * @param sortBy the field to sort by.
+     * @return the property path to sort by.
+     */
+    private String toSortProperty(final String sortBy) {
+        return CATALOG_SORT_PROPERTIES.getOrDefault(sortBy, sortBy);
     }
 }
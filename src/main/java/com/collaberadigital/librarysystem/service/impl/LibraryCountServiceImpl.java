@@ -0,0 +1,92 @@
+package com.collaberadigital.librarysystem.service.impl;
+
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.service.LibraryCountService;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the LibraryCountService interface.
+ * The number of books sums the copy counters of the catalog, which has one row per title rather
+ * than per copy and only changes on registration. The number of available books counts the
+ * available copies on the borrowed status index, as borrows and returns do not maintain a
+ * counter. Both are cached for a short time, so they may briefly lag behind registrations,
+ * borrowings and returns. The borrowing count of a borrower is read from its maintained counter
+ * and is exact.
+ */
+@Service
+@Timed(AppConstant.SERVICE_METRIC)
+public class LibraryCountServiceImpl implements LibraryCountService {
+
+    /**
+     * Repository for managing book catalog data.
+     */
+    private final BookCatalogRepository catalogRepository;
+
+    /**
+     * Repository for managing library book data.
+     */
+    private final LibraryBookRepository bookRepository;
+
+    /**
+     * Repository for managing borrower data.
+     */
+    private final BorrowerRepository borrowerRepository;
+
+    /**
+     * Constructor for LibraryCountServiceImpl.
+     *
+     * @param catalogRepository  Repository providing data access operations for the book catalog.
+     * @param bookRepository     Repository providing data access operations for library books.
+     * @param borrowerRepository Repository providing data access operations for borrowers.
+     */
+    public LibraryCountServiceImpl(
+            final BookCatalogRepository catalogRepository,
+            final LibraryBookRepository bookRepository,
+            final BorrowerRepository borrowerRepository) {
+        this.catalogRepository = catalogRepository;
+        this.bookRepository = bookRepository;
+        this.borrowerRepository = borrowerRepository;
+    }
+
+    /**
+     * Retrieves the number of books in the library from the catalog copy counters.
+     *
+     * @return the number of books.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstant.BOOK_COUNT_CACHE, key = "'total'")
+    public long countBooks() {
+        return catalogRepository.sumTotalCopies();
+    }
+
+    /**
+     * Retrieves the number of books available to borrow by counting the available copies.
+     *
+     * @return the number of available books.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstant.BOOK_COUNT_CACHE, key = "'available'")
+    public long countAvailableBooks() {
+        return bookRepository.countByBorrowedFalse();
+    }
+
+    /**
+     * Retrieves the number of borrowings made by a borrower from its borrowing counter.
+     *
+     * @param borrowerId the ID of the borrower.
+     * @return the number of borrowings, 0 if the borrower is not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countBorrowings(final long borrowerId) {
+        return borrowerRepository.findBorrowingCountById(borrowerId).orElse(0L);
+    }
+}
@@ -12,6 +12,37 @@ public final class AppConstant {
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEF_SORT_DIR = "asc";
+    public static final String DEFAULT_WITH_TOTAL = "true";
+
+    /**
+     * Default and maximum number of type-ahead suggestions returned per request.
+     */
+    public static final String DEFAULT_SUGGESTION_LIMIT = "10";
+    public static final int MAX_SUGGESTION_LIMIT = 20;
+
+    /**
+     * Default and maximum number of edited characters, and default and maximum number of books,
+     * of the typo tolerant lookups.
+     */
+    public static final String DEFAULT_LOOKUP_DISTANCE = "2";
+    public static final int MAX_LOOKUP_DISTANCE = 2;
+    public static final String DEFAULT_LOOKUP_LIMIT = "10";
+    public static final int MAX_LOOKUP_LIMIT = 50;
+
+    /**
+     * Total reported by page responses whose totals were not requested.
+     */
+    public static final int UNKNOWN_TOTAL = -1;
+
+    /**
+     * Number of books registered per transaction in bulk registrations.
+     */
+    public static final int BULK_CHUNK_SIZE = 500;
+
+    /**
+     * Copies tried when borrowing any copy of an ISBN.
+     */
+    public static final int COPY_CLAIM_ROUNDS = 3;
 
     /**
      * Entity names used for exception handling.
@@ -20,10 +51,32 @@ public final class AppConstant {
     public static final String BORROWER = "Borrower";
     public static final String BORROWING = "Borrowing";
 
+    /**
+     * Cache names for entity lookups by ID.
+     */
+    public static final String BOOK_CACHE = "libraryBooks";
+    public static final String BORROWER_CACHE = "borrowers";
+
+    /**
+     * Cache name for the library wide book counts.
+     */
+    public static final String BOOK_COUNT_CACHE = "bookCounts";
+
+    /**
+     * Cookie recording until when the reads of a caller are pinned to the primary after its write.
+     */
+    public static final String PRIMARY_UNTIL_COOKIE = "library-primary-until";
+
+    /**
+     * Name of the timer recorded for service method invocations.
+     */
+    public static final String SERVICE_METRIC = "library.service";
+
     /**
      * Identifier used for exception messages.
      */
     public static final String RECORD_ID = "id";
+    public static final String RECORD_ISBN = "isbn";
 
     private AppConstant() {
         // To prevent instantiation
@@ -0,0 +1,172 @@
+package com.collaberadigital.librarysystem.util;
+
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset (seek) pagination.
+ * A token carries the sort key, the sort direction and the sort key values of the last
+ * row of a page, so the next page can be fetched with an index seek instead of skipping
+ * all preceding rows.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Token attribute names.
+     */
+    private static final String SORT_BY = "sortBy";
+    private static final String SORT_DIR = "sortDir";
+    private static final String KEYS = "keys";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+        // To prevent instantiation
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    /**
+     * Resolves the keyset sort of a page. A continuation token carries the sort of the
+     * listing it was created for, so the requested sort only applies to the first page.
+     *
+     * @param cursor the continuation token, or null for the first page.
+     * @param sortBy the field to sort by.
+     * @param sortDir the direction of sorting (ASC/DESC).
+     * @param sortKeys the index-backed sort keys supported by the listing, mapped to their value types.
+     * @return the Sort object for the keyset query.
+     * @throws CommonSystemException if the sort key is not supported or the token is malformed.
+     */
+    public static Sort sort(final String cursor, final String sortBy, final String sortDir,
+                            final Map<String, Class<?>> sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return sort(sortBy, sortDir, sortKeys);
+        }
+
+        final Map<String, Object> token = read(cursor);
+
+        return sort(String.valueOf(token.get(SORT_BY)), String.valueOf(token.get(SORT_DIR)), sortKeys);
+    }
+
+    /**
+     * Decodes a continuation token into the scroll position it points to.
+     *
+     * @param cursor the continuation token, or null for the first page.
+     * @param sortKeys the sort keys supported by the listing, mapped to their value types.
+     * @return the scroll position to continue from.
+     * @throws CommonSystemException if the token is malformed.
+     */
+    @SuppressWarnings("unchecked")
+    public static KeysetScrollPosition position(final String cursor, final Map<String, Class<?>> sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        final Map<String, Object> token = read(cursor);
+        final Map<String, Object> keys = new LinkedHashMap<>();
+
+        try {
+            ((Map<String, String>) token.get(KEYS)).forEach((key, value) ->
+                    keys.put(key, convert(value, sortKeys.get(key))));
+        } catch (RuntimeException exception) {
+            throw new CommonSystemException("Invalid continuation token");
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Encodes the position of the last row of a page into a continuation token.
+     *
+     * @param sort the sort the page was fetched with.
+     * @param position the scroll position of the last row of the page.
+     * @return the continuation token.
+     */
+    public static String encode(final Sort sort, final ScrollPosition position) {
+        final Sort.Order order = sort.iterator().next();
+        final Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys()
+                .forEach((key, value) -> keys.put(key, String.valueOf(value)));
+
+        final Map<String, Object> token = new LinkedHashMap<>();
+        token.put(SORT_BY, order.getProperty());
+        token.put(SORT_DIR, order.getDirection().name());
+        token.put(KEYS, keys);
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(token));
+        } catch (JsonProcessingException exception) {
+            throw new CommonSystemException("Unable to create continuation token");
+        }
+    }
+
+    /**
+     * Builds the keyset sort for a sort key, always followed by the record ID in the same
+     * direction so that the ordering is unique.
+     *
+     * @param sortBy the field to sort by.
+     * @param sortDir the direction of sorting (ASC/DESC).
+     * @param sortKeys the index-backed sort keys supported by the listing, mapped to their value types.
+     * @return the Sort object for the keyset query.
+     * @throws CommonSystemException if the sort key is not supported.
+     */
+    private static Sort sort(final String sortBy, final String sortDir, final Map<String, Class<?>> sortKeys) {
+        if (!sortKeys.containsKey(sortBy)) {
+            throw new CommonSystemException("Sorting by '" + sortBy + "' is not supported for cursor pagination");
+        }
+
+        final Sort.Direction direction = Sort.Direction.ASC.name().equalsIgnoreCase(sortDir)
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        return AppConstant.RECORD_ID.equals(sortBy)
+                ? Sort.by(direction, sortBy)
+                : Sort.by(direction, sortBy).and(Sort.by(direction, AppConstant.RECORD_ID));
+    }
+
+    /**
+     * Reads the attributes of a continuation token.
+     *
+     * @param cursor the continuation token.
+     * @return the token attributes.
+     * @throws CommonSystemException if the token is malformed.
+     */
+    private static Map<String, Object> read(final String cursor) {
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() { });
+        } catch (IllegalArgumentException | IOException exception) {
+            throw new CommonSystemException("Invalid continuation token");
+        }
+    }
+
+    /**
+     * Converts a sort key value from its token representation back to its entity type.
+     *
+     * @param value the token representation of the value.
+     * @param type the value type of the sort key.
+     * @return the converted value.
+     */
+    private static Object convert(final String value, final Class<?> type) {
+        if (Long.class.equals(type)) {
+            return Long.valueOf(value);
+        }
+        if (LocalDateTime.class.equals(type)) {
+            return LocalDateTime.parse(value);
+        }
+        if (String.class.equals(type)) {
+            return value;
+        }
+
+        throw new IllegalArgumentException("Unsupported sort key type: " + type);
+    }
+}
@@ -0,0 +1,50 @@
+package com.collaberadigital.librarysystem.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of fair locks shared by keys hashed onto them. Callers holding the same key always
+ * share a lock and are served in arrival order, while callers holding different keys usually
+ * get different locks and proceed in parallel. The memory used does not grow with the number
+ * of keys, at the cost of two keys occasionally sharing a stripe.
+ */
+public final class StripedLock {
+
+    /**
+     * Locks of the stripes, their number being a power of two.
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Constructor for StripedLock.
+     *
+     * @param stripes Minimum number of stripes, rounded up to a power of two.
+     */
+    public StripedLock(final int stripes) {
+        final int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Returns the lock of the stripe a key hashes onto.
+     *
+     * @param key the key to lock.
+     * @return the lock shared by the key.
+     */
+    public ReentrantLock get(final Object key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Returns the number of stripes.
+     *
+     * @return the number of stripes.
+     */
+    public int size() {
+        return stripes.length;
+    }
+}
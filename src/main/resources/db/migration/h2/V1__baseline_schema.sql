@@ -0,0 +1,36 @@
+-- Schema of the first release, as created by the Hibernate schema update.
+-- Databases created by that release are baselined at this version.
+
+create table borrower (
+    id bigint generated by default as identity,
+    version integer,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table library_book (
+    id bigint generated by default as identity,
+    version integer,
+    author varchar(255) not null,
+    isbn varchar(255) not null,
+    title varchar(255) not null,
+    borrowed boolean not null,
+    primary key (id)
+);
+
+create table borrow_map (
+    id bigint generated by default as identity,
+    version integer,
+    book_id bigint,
+    borrower_id bigint,
+    borrow_date timestamp(6) not null,
+    return_date timestamp(6),
+    primary key (id)
+);
+
+alter table borrow_map
+    add constraint FKhq32yhfiql6xm3sk3p00e7seu foreign key (book_id) references library_book;
+
+alter table borrow_map
+    add constraint FKhpphx3vwv3e035eknp4wph83b foreign key (borrower_id) references borrower;
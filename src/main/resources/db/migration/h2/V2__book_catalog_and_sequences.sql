@@ -0,0 +1,64 @@
+-- Moves the author into one catalog row per ISBN counting its copies, keeping the ISBN and
+-- title on each copy so the book listings sorted by them seek an index on the copies instead of
+-- joining and sorting the catalog. Adds the open borrowing claim and borrowing counter, and the
+-- pooled ID sequences.
+
+create table book_catalog (
+    id bigint not null,
+    version integer,
+    isbn varchar(255) not null,
+    title varchar(255) not null,
+    author varchar(255) not null,
+    total_copies integer not null,
+    primary key (id),
+    constraint uk_book_catalog_isbn unique (isbn)
+);
+
+create index idx_book_catalog_title on book_catalog (title);
+
+insert into book_catalog (id, version, isbn, title, author, total_copies)
+select min(id), 0, isbn, min(title), min(author), count(*)
+from library_book
+group by isbn;
+
+alter table library_book add column catalog_id bigint;
+
+update library_book b set catalog_id = (select c.id from book_catalog c where c.isbn = b.isbn);
+
+alter table library_book alter column catalog_id set not null;
+alter table library_book drop column author;
+
+create index idx_library_book_catalog on library_book (catalog_id, borrowed, id);
+create index idx_library_book_isbn on library_book (isbn, id);
+create index idx_library_book_title on library_book (title, id);
+
+alter table library_book
+    add constraint fk_library_book_catalog foreign key (catalog_id) references book_catalog;
+
+alter table borrower add column borrowing_count bigint default 0 not null;
+
+update borrower b set borrowing_count = (select count(*) from borrow_map m where m.borrower_id = b.id);
+
+create index idx_borrower_name on borrower (name, id);
+
+-- Only the latest open borrowing of a book keeps the claim
+alter table borrow_map add column active_book_id bigint;
+
+update borrow_map m set active_book_id = book_id
+where return_date is null
+  and id = (select max(o.id) from borrow_map o where o.book_id = m.book_id and o.return_date is null);
+
+alter table borrow_map add constraint uk_borrow_map_active_book unique (active_book_id);
+
+create index idx_borrow_map_borrower_date on borrow_map (borrower_id, borrow_date, id);
+
+-- Sequences start past the existing IDs, with the entity allocation size
+create sequence book_catalog_seq start with 1 increment by 50;
+create sequence borrower_seq start with 1 increment by 50;
+create sequence library_book_seq start with 1 increment by 50;
+create sequence borrow_map_seq start with 1 increment by 50;
+
+alter sequence book_catalog_seq restart with (select coalesce(max(id), 0) + 51 from book_catalog);
+alter sequence borrower_seq restart with (select coalesce(max(id), 0) + 51 from borrower);
+alter sequence library_book_seq restart with (select coalesce(max(id), 0) + 51 from library_book);
+alter sequence borrow_map_seq restart with (select coalesce(max(id), 0) + 51 from borrow_map);
@@ -0,0 +1,8 @@
+-- Open borrowing check of a book
+create index idx_borrow_map_book_return on borrow_map (book_id, return_date);
+
+-- Latest borrowing of a book by a borrower
+create index idx_borrow_map_borrower_book_date on borrow_map (borrower_id, book_id, borrow_date);
+
+-- Available and borrowed copy listings in ID order
+create index idx_library_book_borrowed on library_book (borrowed, id);
@@ -0,0 +1,8 @@
+-- Heartbeat written to the primary and read back from the replicas to measure their lag
+create table replica_heartbeat (
+    id integer not null,
+    beat_time bigint not null,
+    primary key (id)
+);
+
+insert into replica_heartbeat (id, beat_time) values (1, 0);
@@ -0,0 +1,39 @@
+-- Schema of the first release, as created by the Hibernate schema update.
+-- Databases created by that release are baselined at this version.
+
+create table borrower (
+    id bigint not null auto_increment,
+    version integer,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table library_book (
+    id bigint not null auto_increment,
+    version integer,
+    author varchar(255) not null,
+    isbn varchar(255) not null,
+    title varchar(255) not null,
+    borrowed bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table borrow_map (
+    id bigint not null auto_increment,
+    version integer,
+    book_id bigint,
+    borrower_id bigint,
+    borrow_date datetime(6) not null,
+    return_date datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table borrower
+    add constraint UK_b32npirfvnbp9jrskluwkf3p2 unique (email);
+
+alter table borrow_map
+    add constraint FKhq32yhfiql6xm3sk3p00e7seu foreign key (book_id) references library_book (id);
+
+alter table borrow_map
+    add constraint FKhpphx3vwv3e035eknp4wph83b foreign key (borrower_id) references borrower (id);
@@ -0,0 +1,65 @@
+-- Moves the author into one catalog row per ISBN counting its copies, keeping the ISBN and
+-- title on each copy so the book listings sorted by them seek an index on the copies instead of
+-- joining and sorting the catalog. Adds the open borrowing claim and borrowing counter, and the
+-- pooled ID sequences.
+
+create table book_catalog (
+    id bigint not null,
+    version integer,
+    isbn varchar(255) not null,
+    title varchar(255) not null,
+    author varchar(255) not null,
+    total_copies integer not null,
+    primary key (id),
+    constraint uk_book_catalog_isbn unique (isbn)
+) engine=InnoDB;
+
+create index idx_book_catalog_title on book_catalog (title);
+
+insert into book_catalog (id, version, isbn, title, author, total_copies)
+select min(id), 0, isbn, min(title), min(author), count(*)
+from library_book
+group by isbn;
+
+alter table library_book add column catalog_id bigint;
+
+update library_book b join book_catalog c on c.isbn = b.isbn set b.catalog_id = c.id;
+
+alter table library_book
+    modify catalog_id bigint not null,
+    drop column author;
+
+create index idx_library_book_catalog on library_book (catalog_id, borrowed, id);
+create index idx_library_book_isbn on library_book (isbn, id);
+create index idx_library_book_title on library_book (title, id);
+
+alter table library_book
+    add constraint fk_library_book_catalog foreign key (catalog_id) references book_catalog (id);
+
+alter table borrower add column borrowing_count bigint not null default 0;
+
+update borrower b set borrowing_count = (select count(*) from borrow_map m where m.borrower_id = b.id);
+
+create index idx_borrower_name on borrower (name, id);
+
+-- Only the latest open borrowing of a book keeps the claim
+alter table borrow_map add column active_book_id bigint;
+
+update borrow_map m
+    join (select max(id) as id from borrow_map where return_date is null group by book_id) o on o.id = m.id
+set m.active_book_id = m.book_id;
+
+alter table borrow_map add constraint uk_borrow_map_active_book unique (active_book_id);
+
+create index idx_borrow_map_borrower_date on borrow_map (borrower_id, borrow_date, id);
+
+-- Sequence tables start past the existing IDs, with the entity allocation size
+create table book_catalog_seq (next_val bigint) engine=InnoDB;
+create table borrower_seq (next_val bigint) engine=InnoDB;
+create table library_book_seq (next_val bigint) engine=InnoDB;
+create table borrow_map_seq (next_val bigint) engine=InnoDB;
+
+insert into book_catalog_seq select coalesce(max(id), 0) + 51 from book_catalog;
+insert into borrower_seq select coalesce(max(id), 0) + 51 from borrower;
+insert into library_book_seq select coalesce(max(id), 0) + 51 from library_book;
+insert into borrow_map_seq select coalesce(max(id), 0) + 51 from borrow_map;
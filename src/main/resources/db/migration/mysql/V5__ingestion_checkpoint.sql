@@ -0,0 +1,10 @@
+-- Progress of the catalog file ingestions, saved in the transaction registering each block
+create table ingestion_checkpoint (
+    name varchar(255) not null,
+    fingerprint varchar(255) not null,
+    line bigint not null,
+    registered bigint not null,
+    rejected bigint not null,
+    rejects_size bigint not null,
+    primary key (name)
+) engine=InnoDB;
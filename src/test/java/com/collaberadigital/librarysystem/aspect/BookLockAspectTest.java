@@ -0,0 +1,214 @@
+package com.collaberadigital.librarysystem.aspect;
+
+import com.collaberadigital.librarysystem.annotations.BookLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-process serialization of the operations on a book by the {@link BookLockAspect}.
+ */
+@SpringJUnitConfig(classes = {BookLockAspect.class, BookLocks.class, BookLockAspectTest.TestConfig.class})
+@TestPropertySource(properties = {"library.lock.stripes=64", "library.lock.timeout=200ms"})
+class BookLockAspectTest {
+
+    @Autowired
+    private BookOperations operations;
+
+    @Autowired
+    private BookLocks locks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test case for concurrent operations on the same book running one at a time.
+     */
+    @Test
+    void testSameBookIsSerialized() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        long waits = meterRegistry.get("library.book.lock.wait").timer().count();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> operations.run(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                running.decrementAndGet();
+            })));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(waits + 8, meterRegistry.get("library.book.lock.wait").timer().count());
+    }
+
+    /**
+     * Test case for an operation on a book proceeding while another book is locked.
+     */
+    @Test
+    void testOtherBookProceeds() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> operations.run(1L, () -> {
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertEquals("done", operations.call(2L, () -> "done"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    /**
+     * Test case for an operation giving up after waiting for the lock of a busy book.
+     */
+    @Test
+    void testBusyBookTimesOut() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> operations.run(1L, () -> {
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(CannotAcquireLockException.class, () -> operations.call(1L, () -> "done"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertEquals("done", operations.call(1L, () -> "done"));
+    }
+
+    /**
+     * Test case for an operation without a book ID running without the lock.
+     */
+    @Test
+    void testNullBookIdRunsUnlocked() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> operations.run(1L, () -> {
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertEquals("done", operations.call(null, () -> "done"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    /**
+     * Test case for a lock taken within a transaction, holding back the operations on the
+     * book until the transaction completes.
+     */
+    @Test
+    void testLockHeldUntilTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            locks.lockUntilCompletion(1L);
+            CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> operations.call(1L, () -> "done"));
+            sleep(50);
+            assertFalse(waiting.isDone());
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+            assertEquals("done", waiting.join());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test case for a lock requested outside of a transaction, which would never be released.
+     */
+    @Test
+    void testLockUntilCompletionRequiresTransaction() {
+        assertThrows(IllegalStateException.class, () -> locks.lockUntilCompletion(1L));
+        assertEquals("done", operations.call(1L, () -> "done"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Operations locking the book given by their first argument.
+     */
+    static class BookOperations {
+
+        @BookLock("#bookId")
+        public void run(Long bookId, Runnable task) {
+            task.run();
+        }
+
+        @BookLock("#bookId")
+        public <T> T call(Long bookId, Supplier<T> task) {
+            return task.get();
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class TestConfig {
+
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        BookOperations bookOperations() {
+            return new BookOperations();
+        }
+    }
+}
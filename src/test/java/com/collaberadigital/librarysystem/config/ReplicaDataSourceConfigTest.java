@@ -0,0 +1,177 @@
+package com.collaberadigital.librarysystem.config;
+
+import com.collaberadigital.librarysystem.datasource.ReadYourWritesFilter;
+import com.collaberadigital.librarysystem.datasource.ReplicaLagMonitor;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the routing of transactions between two H2 databases standing in for the primary
+ * and the replica, which does not replicate and has its heartbeat set by the tests instead.
+ */
+@DataJpaTest
+@ActiveProfiles("dev")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReplicaDataSourceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:library_primary;DB_CLOSE_DELAY=-1",
+        "library.datasource.replica.url=" + ReplicaDataSourceConfigTest.REPLICA_URL,
+        "library.datasource.replica.username=sa",
+        "library.datasource.replica.password=password",
+        "library.datasource.replica.max-lag=5s",
+        "library.datasource.replica.heartbeat-interval=1h"})
+class ReplicaDataSourceConfigTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:library_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    /**
+     * Creates the schema of the replica, which replication would otherwise copy from the primary.
+     */
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Set up method marking the replica as caught up with the primary.
+     */
+    @BeforeEach
+    void setUp() {
+        setReplicaBeat(System.currentTimeMillis());
+        lagMonitor.checkLag();
+    }
+
+    /**
+     * Test case for read-only transactions served by the replica.
+     */
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertTrue(lagMonitor.isInSync());
+        assertEquals("LIBRARY_REPLICA", database(true));
+    }
+
+    /**
+     * Test case for read-write transactions served by the primary.
+     */
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("LIBRARY_PRIMARY", database(false));
+    }
+
+    /**
+     * Test case for reads falling back to the primary while the replica lags.
+     */
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        setReplicaBeat(System.currentTimeMillis() - 60_000);
+        lagMonitor.checkLag();
+
+        assertFalse(lagMonitor.isInSync());
+        assertEquals("LIBRARY_PRIMARY", database(true));
+    }
+
+    /**
+     * Test case for the reads of a request pinned to the primary after its own write.
+     */
+    @Test
+    void testReadAfterWriteInRequestUsesPrimary() throws Exception {
+        AtomicReference<String> before = new AtomicReference<>();
+        AtomicReference<String> after = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse res) {
+                before.set(database(true));
+                database(false);
+                after.set(database(true));
+            }
+        });
+
+        assertEquals("LIBRARY_REPLICA", before.get());
+        assertEquals("LIBRARY_PRIMARY", after.get());
+        Cookie cookie = response.getCookie(AppConstant.PRIMARY_UNTIL_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    /**
+     * Test case for the reads of a caller pinned to the primary by the cookie of its recent write.
+     */
+    @Test
+    void testReadWithRecentWriteCookieUsesPrimary() throws Exception {
+        assertEquals("LIBRARY_PRIMARY", readInRequest(System.currentTimeMillis() + 60_000));
+        assertEquals("LIBRARY_REPLICA", readInRequest(System.currentTimeMillis() - 1));
+    }
+
+    private String readInRequest(long primaryUntil) throws Exception {
+        AtomicReference<String> database = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(AppConstant.PRIMARY_UNTIL_COOKIE, String.valueOf(primaryUntil)));
+
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                database.set(database(true));
+            }
+        });
+        return database.get();
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+
+    private void setReplicaBeat(long beatTime) {
+        new JdbcTemplate(replicaDataSource).update(
+                "update replica_heartbeat set beat_time = ? where id = 1", beatTime);
+    }
+}
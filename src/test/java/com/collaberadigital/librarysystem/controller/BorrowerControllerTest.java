@@ -13,6 +13,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -108,4 +110,26 @@ class BorrowerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+
+    /**
+     * Test case for searching borrowers by a name or email prefix successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testSearchBorrowers_Success() throws Exception {
+        BorrowerPageResponseDTO response = BorrowerPageResponseDTO.builder()
+                .content(List.of(TestDataFactory.createBorrowerSuccessResponse()))
+                .totalElements(1)
+                .build();
+
+        when(borrowerService.searchBorrowers("udara", 0, 10)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/borrower/search")
+                        .param("query", "udara")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].name").value("Udara Wikum"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
 }
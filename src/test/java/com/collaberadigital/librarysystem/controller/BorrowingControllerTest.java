@@ -2,6 +2,7 @@ package com.collaberadigital.librarysystem.controller;
 
 import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
 import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
+import com.collaberadigital.librarysystem.model.Borrowing;
 import com.collaberadigital.librarysystem.service.BorrowingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -56,6 +58,29 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$.borrowed").value("true"));
     }
 
+    /**
+     * Test case for borrowing any copy of a book by ISBN successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testBorrowBookByIsbn_Success() throws Exception {
+        BorrowingInfoDTO borrowingInfo = BorrowingInfoDTO.builder()
+                .id(1L)
+                .isBorrowed(Boolean.TRUE)
+                .build();
+
+        when(borrowingService.borrowBookByIsbn(eq("0-061-96436-0"), anyLong())).thenReturn(borrowingInfo);
+
+        mockMvc.perform(post("/api/v1/borrowing/isbn/0-061-96436-0/borrow")
+                        .param("borrowerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.borrowingId").value("1"))
+                .andExpect(jsonPath("$.borrowed").value("true"));
+    }
+
     /**
      * Test case for returning a book successfully.
      * @throws Exception if there's an error during the test execution.
@@ -79,6 +104,22 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$.borrowed").value("false"));
     }
 
+    /**
+     * Test case for returning a book that still conflicts with a concurrent update after its retries.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testReturnBook_Conflict() throws Exception {
+        when(borrowingService.returnBook(anyLong()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Borrowing.class, 1L));
+
+        mockMvc.perform(put("/api/v1/borrowing/1/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("The record was updated concurrently, please retry"));
+    }
+
     /**
      * Test case for getting borrowing info by borrower and book successfully.
      * @throws Exception if there's an error during the test execution.
@@ -105,7 +146,7 @@ class BorrowingControllerTest {
         BorrowingPageResponseDTO response = BorrowingPageResponseDTO.builder().build();
 
         when(borrowingService.getBorrowingInfoByBorrower(
-                anyLong(), anyInt(), anyInt(), anyString(), anyString())).thenReturn(response);
+                anyLong(), anyInt(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(response);
 
         mockMvc.perform(get("/api/v1/borrowing/1")
                         .param("pageNo", "0")
@@ -1,9 +1,14 @@
 package com.collaberadigital.librarysystem.controller;
 
+import com.collaberadigital.librarysystem.dto.BookMatchDTO;
+import com.collaberadigital.librarysystem.dto.BookSuggestionDTO;
+import com.collaberadigital.librarysystem.dto.BulkRegistrationResponseDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
 import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.service.BulkBookRegistrationService;
 import com.collaberadigital.librarysystem.service.LibraryBookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.json.JSONException;
@@ -15,6 +20,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -35,6 +46,9 @@ class LibraryBookControllerTest {
     @MockBean
     private LibraryBookService bookService;
 
+    @MockBean
+    private BulkBookRegistrationService bulkRegistrationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -73,6 +87,48 @@ class LibraryBookControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(bookResponse)));
     }
 
+    /**
+     * Test case for bulk book registration from a JSON array.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testRegisterBooks_JsonArray() throws Exception {
+        List<LibraryBookRequestDTO> books = List.of(
+                TestDataFactory.createBookSuccessRequest(), TestDataFactory.createBookSuccessRequest());
+        List<LibraryBookRequestDTO> received = mockBulkRegistration();
+
+        mockMvc.perform(post("/api/v1/book/register/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(books)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalItems").value(2))
+                .andExpect(jsonPath("$.registered").value(2));
+
+        assertEquals(books, received);
+    }
+
+    /**
+     * Test case for bulk book registration from newline delimited JSON.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testRegisterBooks_Ndjson() throws Exception {
+        LibraryBookRequestDTO book = TestDataFactory.createBookSuccessRequest();
+        String content = objectMapper.writeValueAsString(book) + "\n"
+                + objectMapper.writeValueAsString(book) + "\n"
+                + objectMapper.writeValueAsString(book) + "\n";
+        List<LibraryBookRequestDTO> received = mockBulkRegistration();
+
+        mockMvc.perform(post("/api/v1/book/register/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(3));
+
+        assertEquals(List.of(book, book, book), received);
+    }
+
     /**
      * Test case for retrieving book by ID successfully.
      * @throws Exception if there's an error during the test execution.
@@ -103,7 +159,7 @@ class LibraryBookControllerTest {
         LibraryBookPageResponseDTO response = LibraryBookPageResponseDTO.builder().build();
 
         when(bookService.getAllAvailableBorrow(
-                anyInt(), anyInt(), anyString(), anyString())).thenReturn(response);
+                anyInt(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(response);
 
         mockMvc.perform(get("/api/v1/book/getAvailable")
                         .param("pageNo", "0")
@@ -115,6 +171,111 @@ class LibraryBookControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    /**
+     * Test case for searching books by title and author successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testSearchBooks_Success() throws Exception {
+        LibraryBookPageResponseDTO response = LibraryBookPageResponseDTO.builder()
+                .content(Collections.singletonList(TestDataFactory.createBookSuccessResponse()))
+                .totalElements(1)
+                .build();
+
+        when(bookService.searchBooks("emile zola", 0, 10)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/book/search")
+                        .param("query", "emile zola")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].isbn").value(response.getContent().get(0).getIsbn()));
+    }
+
+    /**
+     * Test case for suggesting titles and authors successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testSuggestBooks_Success() throws Exception {
+        when(bookService.suggestBooks("zol", 10)).thenReturn(List.of(
+                new BookSuggestionDTO("Emile Zola", BookSuggestionDTO.Type.AUTHOR, 3)));
+
+        mockMvc.perform(get("/api/v1/book/suggest")
+                        .param("prefix", "zol")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].text").value("Emile Zola"))
+                .andExpect(jsonPath("$[0].type").value("AUTHOR"))
+                .andExpect(jsonPath("$[0].copies").value(3));
+    }
+
+    /**
+     * Test case for looking up books with typos successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testLookupBooks_Success() throws Exception {
+        LibraryBookDTO book = TestDataFactory.createBookSuccessResponse();
+        when(bookService.lookupBooks("germnal", 2, 10)).thenReturn(List.of(new BookMatchDTO(book, 1)));
+
+        mockMvc.perform(get("/api/v1/book/lookup")
+                        .param("query", "germnal")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].book.isbn").value(book.getIsbn()))
+                .andExpect(jsonPath("$[0].distance").value(1));
+    }
+
+    /**
+     * Test case for scrolling through all books with a continuation token successfully.
+     * @throws Exception if there's an error during the test execution.
+     */
+    @Test
+    void testScrollAllBooks_Success() throws Exception {
+        CursorPageResponseDTO<LibraryBookDTO> response = CursorPageResponseDTO.<LibraryBookDTO>builder()
+                .content(Collections.singletonList(TestDataFactory.createBookSuccessResponse()))
+                .pageSize(1)
+                .numberOfElements(1)
+                .nextCursor("next-page")
+                .build();
+
+        when(bookService.scrollAllBooks(
+                eq("current-page"), anyInt(), anyString(), anyString())).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/book/getAllBooks/scroll")
+                        .param("cursor", "current-page")
+                        .param("pageSize", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].bookId").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    /**
+     * Mocks the bulk registration service to drain the streamed books and register all of them.
+     * @return the list collecting the books received by the service.
+     */
+    private List<LibraryBookRequestDTO> mockBulkRegistration() {
+        List<LibraryBookRequestDTO> received = new ArrayList<>();
+        when(bulkRegistrationService.registerBooks(any())).thenAnswer(invocation -> {
+            Iterator<LibraryBookRequestDTO> books = invocation.getArgument(0);
+            books.forEachRemaining(received::add);
+            return BulkRegistrationResponseDTO.builder()
+                    .totalItems(received.size())
+                    .registered(received.size())
+                    .results(Collections.emptyList())
+                    .build();
+        });
+
+        return received;
+    }
+
     /**
      * Creates an empty request body for testing.
      * @return the empty request body as a JSON string.
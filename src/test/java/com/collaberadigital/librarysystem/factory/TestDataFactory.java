@@ -4,9 +4,12 @@ import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
 import com.collaberadigital.librarysystem.dto.BorrowerDTO;
 import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
 import com.collaberadigital.librarysystem.model.Borrower;
 import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.repository.projection.BorrowingView;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
 
 import java.time.LocalDateTime;
 
@@ -70,14 +73,30 @@ public class TestDataFactory {
      */
     public static LibraryBook createBookEntity(final LibraryBookRequestDTO requestDTO) {
         return LibraryBook.builder()
+                .catalog(createCatalogEntity(requestDTO))
                 .isbn(requestDTO.getIsbn())
                 .title(requestDTO.getTitle())
-                .author(requestDTO.getAuthor())
                 .borrowed(Boolean.FALSE)
                 .id(1L)
                 .build();
     }
 
+    /**
+     * Creates a BookCatalog entity object with a single available copy based on the provided
+     * LibraryBookRequestDTO.
+     * @param requestDTO The LibraryBookRequestDTO object.
+     * @return A BookCatalog entity object.
+     */
+    public static BookCatalog createCatalogEntity(final LibraryBookRequestDTO requestDTO) {
+        return BookCatalog.builder()
+                .isbn(requestDTO.getIsbn())
+                .title(requestDTO.getTitle())
+                .author(requestDTO.getAuthor())
+                .totalCopies(1)
+                .id(1L)
+                .build();
+    }
+
     /**
      * Creates a Borrower entity object based on the provided BorrowerRequestDTO.
      * @param requestDTO The BorrowerRequestDTO object.
@@ -106,4 +125,29 @@ public class TestDataFactory {
                 .borrowDate(LocalDateTime.now())
                 .build();
     }
+
+    /**
+     * Creates a LibraryBookView projection of the specified book.
+     * @param book The LibraryBook entity.
+     * @return A LibraryBookView projection.
+     */
+    public static LibraryBookView createBookView(final LibraryBook book) {
+        return new LibraryBookView(book.getId(), book.getCatalog().getIsbn(),
+                book.getCatalog().getTitle(), book.getCatalog().getAuthor(), book.isBorrowed());
+    }
+
+    /**
+     * Creates a BorrowingView projection of the specified borrowing.
+     * @param borrowing The Borrowing entity.
+     * @return A BorrowingView projection.
+     */
+    public static BorrowingView createBorrowingView(final Borrowing borrowing) {
+        final LibraryBook book = borrowing.getBook();
+        final Borrower borrower = borrowing.getBorrower();
+
+        return new BorrowingView(borrowing.getId(), borrowing.getBorrowDate(), borrowing.getReturnDate(),
+                borrower.getId(), borrower.getName(), borrower.getEmail(),
+                book.getId(), book.getCatalog().getIsbn(), book.getCatalog().getTitle(),
+                book.getCatalog().getAuthor(), book.isBorrowed());
+    }
 }
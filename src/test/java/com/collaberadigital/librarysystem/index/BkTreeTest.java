@@ -0,0 +1,97 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BkTree} class.
+ */
+class BkTreeTest {
+
+    /**
+     * Test case for the strings found within a distance, including insertions, deletions,
+     * substitutions and transpositions counted as two edits.
+     */
+    @Test
+    void testFindsStringsWithinDistance() {
+        BkTree tree = new BkTree();
+        for (String key : List.of("germinal", "miserables", "nana", "zola", "life", "by", "anon")) {
+            assertTrue(tree.add(key));
+        }
+        assertFalse(tree.add("nana"));
+
+        assertEquals(7, tree.size());
+        assertEquals(Map.of("miserables", 2), search(tree, "miserabels", 2));
+        assertEquals(Map.of("germinal", 1), search(tree, "germnal", 1));
+        assertEquals(Map.of("zola", 1), search(tree, "zoa", 2));
+        assertEquals(Map.of("nana", 1, "anon", 2), search(tree, "nan", 2));
+        assertEquals(Map.of("by", 0), search(tree, "by", 0));
+        assertEquals(Map.of(), search(new BkTree(), "by", 2));
+    }
+
+    /**
+     * Test case for the strings found matching a scan of all strings.
+     */
+    @Test
+    void testSearchMatchesScan() {
+        Random random = new Random(7);
+        BkTree tree = new BkTree();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String key = randomKey(random);
+            if (tree.add(key)) {
+                keys.add(key);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomKey(random);
+            int maxDistance = i % 3;
+            Map<String, Integer> expected = new TreeMap<>();
+            for (String key : keys) {
+                int distance = levenshtein(query, key);
+                if (distance <= maxDistance) {
+                    expected.put(key, distance);
+                }
+            }
+            assertEquals(expected, new TreeMap<>(search(tree, query, maxDistance)), query);
+        }
+    }
+
+    private static Map<String, Integer> search(final BkTree tree, final String query, final int maxDistance) {
+        Map<String, Integer> matches = new HashMap<>();
+        tree.search(query, maxDistance, matches::put);
+        return matches;
+    }
+
+    private static String randomKey(final Random random) {
+        StringBuilder key = new StringBuilder();
+        for (int length = random.nextInt(8); length > 0; length--) {
+            key.append((char) ('a' + random.nextInt(5)));
+        }
+        return key.toString();
+    }
+
+    private static int levenshtein(final String from, final String to) {
+        int[][] table = new int[from.length() + 1][to.length() + 1];
+        for (int i = 0; i <= from.length(); i++) {
+            for (int j = 0; j <= to.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    table[i][j] = Math.min(table[i - 1][j - 1] + (from.charAt(i - 1) == to.charAt(j - 1) ? 0 : 1),
+                            Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[from.length()][to.length()];
+    }
+}
@@ -0,0 +1,47 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BloomFilter} class.
+ */
+class BloomFilterTest {
+
+    /**
+     * Test case for every added string reported, and for the strings never added reported at
+     * about the sized false positive rate.
+     */
+    @Test
+    void testReportsAddedStringsAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("borrower" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("borrower" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain("borrower" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(7, filter.hashCount());
+    }
+
+    /**
+     * Test case for an empty filter reporting no string.
+     */
+    @Test
+    void testEmptyFilterReportsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertFalse(filter.mightContain("ada@example.com"));
+        assertFalse(filter.mightContain(""));
+        assertEquals(64, filter.bitCount());
+    }
+}
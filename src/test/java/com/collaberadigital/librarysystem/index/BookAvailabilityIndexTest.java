@@ -0,0 +1,174 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BookAvailabilityIndex} class.
+ */
+class BookAvailabilityIndexTest {
+
+    @Mock
+    private LibraryBookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookAvailabilityIndex index;
+
+    private AutoCloseable mocks;
+
+    /**
+     * Set up method registering five books ranked by title as 3, 1, 5, 2, 4, with book 4 borrowed.
+     */
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        index = new BookAvailabilityIndex(bookRepository, transactionManager, Duration.ofHours(1), Duration.ofHours(1));
+
+        when(bookRepository.streamIds(any(Sort.class))).thenAnswer(invocation -> Stream.empty());
+        when(bookRepository.streamIds(Sort.by("id"))).thenAnswer(invocation -> Stream.of(1L, 2L, 3L, 4L, 5L));
+        when(bookRepository.streamIds(Sort.by("title", "id"))).thenAnswer(invocation -> Stream.of(3L, 1L, 5L, 2L, 4L));
+        when(bookRepository.streamAvailableIds()).thenAnswer(invocation -> Stream.of(1L, 2L, 3L, 5L));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        mocks.close();
+    }
+
+    /**
+     * Test case for pages of available books following the sort order in both directions.
+     */
+    @Test
+    void testPagesFollowSortOrder() {
+        index.rebuild();
+
+        assertEquals(List.of(3L, 1L), page("title", true, 0, 2).bookIds());
+        assertEquals(List.of(5L, 2L), page("title", true, 1, 2).bookIds());
+        assertEquals(List.of(2L, 5L, 1L), page("title", false, 0, 3).bookIds());
+        assertEquals(List.of(1L, 2L, 3L), page("id", true, 0, 3).bookIds());
+        assertEquals(List.of(), page("id", true, 2, 3).bookIds());
+        assertEquals(4, page("title", true, 0, 2).total());
+    }
+
+    /**
+     * Test case for books missing from a sort order being ranked last in ID order.
+     */
+    @Test
+    void testBooksMissingFromSortOrderRankedLast() {
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), page("catalog.author", true, 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for the listing falling back to the database until the index is built, and for
+     * sort keys the index does not serve.
+     */
+    @Test
+    void testNotServedBeforeBuildAndForOtherSortKeys() {
+        assertTrue(index.findAvailable("id", true, 0, 10).isEmpty());
+
+        index.rebuild();
+
+        assertTrue(index.findAvailable("borrowed", true, 0, 10).isEmpty());
+    }
+
+    /**
+     * Test case for borrows and returns applied to the index once their transaction commits.
+     */
+    @Test
+    void testBorrowAndReturnAppliedAfterCommit() {
+        index.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.recordBorrowed(3L);
+        index.recordReturned(4L);
+        assertEquals(List.of(3L, 1L, 5L, 2L), page("title", true, 0, 10).bookIds());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(1L, 5L, 2L, 4L), page("title", true, 0, 10).bookIds());
+        assertEquals(List.of(1L, 2L, 4L, 5L), page("id", true, 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for the index still serving the listing after a registration, without the
+     * registered book until rebuilt.
+     */
+    @Test
+    void testRegistrationKeepsServingIndex() {
+        index.rebuild();
+
+        index.recordRegistered();
+        assertEquals(List.of(1L, 2L, 3L, 5L), page("id", true, 0, 10).bookIds());
+
+        when(bookRepository.streamIds(Sort.by("id"))).thenAnswer(invocation -> Stream.of(1L, 2L, 3L, 4L, 5L, 6L));
+        when(bookRepository.streamAvailableIds()).thenAnswer(invocation -> Stream.of(1L, 2L, 3L, 5L, 6L));
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L, 3L, 5L, 6L), page("id", true, 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for a rebuild missing a registration committed while loading, which still
+     * replaces the index.
+     */
+    @Test
+    void testRebuildMissingRegistrationStillServed() {
+        index.rebuild();
+        when(bookRepository.streamAvailableIds()).thenAnswer(invocation -> {
+            index.recordBorrowed(1L);
+            index.recordRegistered();
+            return Stream.of(1L, 2L, 3L, 5L);
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L, 5L), page("id", true, 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for a borrow committed while the index is rebuilding being replayed on the
+     * rebuilt index.
+     */
+    @Test
+    void testChangeDuringRebuildReplayed() {
+        index.rebuild();
+        when(bookRepository.streamAvailableIds()).thenAnswer(invocation -> {
+            index.recordBorrowed(1L);
+            return Stream.of(1L, 2L, 3L, 5L);
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L, 5L), page("id", true, 0, 10).bookIds());
+    }
+
+    private BookAvailabilityIndex.AvailablePage page(final String sortProperty, final boolean ascending,
+                                                     final int pageNo, final int pageSize) {
+        return index.findAvailable(sortProperty, ascending, pageNo, pageSize).orElseThrow();
+    }
+}
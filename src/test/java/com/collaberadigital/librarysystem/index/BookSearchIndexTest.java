@@ -0,0 +1,247 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.model.BookCatalog;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.BookCatalogView;
+import com.collaberadigital.librarysystem.repository.projection.BookCopyView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BookSearchIndex} class.
+ */
+class BookSearchIndexTest {
+
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private LibraryBookRepository bookRepository;
+
+    @Mock
+    private BookAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchIndex index;
+
+    private AutoCloseable mocks;
+
+    /**
+     * Set up method registering five titles, the first one with two copies.
+     */
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        index = new BookSearchIndex(catalogRepository, bookRepository, availabilityIndex,
+                transactionManager, Duration.ofHours(1));
+        when(availabilityIndex.readAvailability(any())).thenAnswer(invocation ->
+                invocation.<Function<LongPredicate, Object>>getArgument(0).apply(null));
+
+        when(catalogRepository.findAllViews()).thenReturn(List.of(
+                new BookCatalogView(10L, "978-0-14-044742-6", "Germinal", "Émile Zola"),
+                new BookCatalogView(20L, "978-0-19-953869-6", "Nana", "Emile Zola"),
+                new BookCatalogView(30L, "978-0-374-29742-1", "Zola: A Life", "Frederick Brown"),
+                new BookCatalogView(40L, "978-0-14-044430-2", "Les Misérables", "Victor Hugo"),
+                new BookCatalogView(50L, "0-000-00000-X", "Zola by Zola", "Anon")));
+        when(bookRepository.findAllCopyViews()).thenReturn(List.of(
+                new BookCopyView(1L, 10L), new BookCopyView(2L, 10L), new BookCopyView(3L, 20L),
+                new BookCopyView(4L, 30L), new BookCopyView(5L, 40L), new BookCopyView(6L, 50L)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        mocks.close();
+    }
+
+    /**
+     * Test case for terms matching regardless of case and diacritics.
+     */
+    @Test
+    void testFoldsCaseAndDiacritics() {
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L, 3L), search("EMILE", 0, 10).bookIds());
+        assertEquals(List.of(5L), search("miserables", 0, 10).bookIds());
+        assertEquals(List.of(5L), search("Misérables!", 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for books matching only when they hold every term of the query.
+     */
+    @Test
+    void testRequiresEveryTerm() {
+        index.rebuild();
+
+        assertEquals(List.of(4L), search("zola life", 0, 10).bookIds());
+        assertEquals(0, search("zola hugo", 0, 10).total());
+        assertEquals(0, search("unknown", 0, 10).total());
+        assertEquals(0, search(" - ", 0, 10).total());
+    }
+
+    /**
+     * Test case for books ranked by the frequency of the terms relative to their length.
+     */
+    @Test
+    void testRanksByTermFrequency() {
+        index.rebuild();
+
+        BookSearchIndex.SearchPage page = search("zola", 0, 10);
+
+        assertEquals(List.of(6L, 1L, 2L, 3L, 4L), page.bookIds());
+        assertEquals(5, page.total());
+    }
+
+    /**
+     * Test case for available copies listed before the borrowed ones, across pages.
+     */
+    @Test
+    void testAvailableFirst() {
+        doAnswer(invocation -> invocation.<Function<LongPredicate, Object>>getArgument(0)
+                .apply(bookId -> bookId != 1L && bookId != 6L)).when(availabilityIndex).readAvailability(any());
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L, 4L, 6L, 1L), search("zola", 0, 10).bookIds());
+        assertEquals(List.of(4L, 6L), search("zola", 1, 2).bookIds());
+        assertEquals(List.of(1L), search("zola", 2, 2).bookIds());
+        assertEquals(List.of(), search("zola", 3, 2).bookIds());
+        assertEquals(5, search("zola", 3, 2).total());
+    }
+
+    /**
+     * Test case for registered books searchable once their transaction commits.
+     */
+    @Test
+    void testRegisteredBooksAddedAfterCommit() {
+        index.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.recordRegistered(List.of(
+                book(7L, 60L, "Thérèse Raquin", "Émile Zola"),
+                book(8L, 10L, "Germinal", "Émile Zola")));
+        assertEquals(0, search("raquin", 0, 10).total());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(7L), search("therese", 0, 10).bookIds());
+        assertEquals(List.of(1L, 2L, 8L), search("germinal", 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for the search being unavailable until the index is built, and for books
+     * registered while it is rebuilt being added to it.
+     */
+    @Test
+    void testRegistrationDuringRebuildReplayed() {
+        assertTrue(index.search("zola", 0, 10).isEmpty());
+        when(bookRepository.findAllCopyViews()).thenAnswer(invocation -> {
+            index.recordRegistered(List.of(book(7L, 60L, "Thérèse Raquin", "Émile Zola")));
+            return List.of(new BookCopyView(1L, 10L));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(7L), search("raquin", 0, 10).bookIds());
+        assertEquals(List.of(1L), search("germinal", 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for a copy registered while the index is rebuilt and already loaded by the
+     * rebuild, which is listed once.
+     */
+    @Test
+    void testCopyLoadedAndReplayedListedOnce() {
+        when(bookRepository.findAllCopyViews()).thenAnswer(invocation -> {
+            index.recordRegistered(List.of(book(8L, 10L, "Germinal", "Émile Zola")));
+            return List.of(new BookCopyView(1L, 10L), new BookCopyView(8L, 10L));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 8L), search("germinal", 0, 10).bookIds());
+    }
+
+    /**
+     * Test case for ISBNs looked up within a few mistyped digits, ignoring separators.
+     */
+    @Test
+    void testLookupIsbnWithTypos() {
+        index.rebuild();
+
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(5L, 0)), lookup("9780140444302", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(5L, 1)), lookup("978 0 14 044430 3", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(1L, 1), new BookSearchIndex.LookupMatch(2L, 1)),
+                lookup("9780140444426", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(6L, 1)), lookup("000000001x", 1, 10));
+        assertEquals(List.of(), lookup("9780140444426", 0, 10));
+    }
+
+    /**
+     * Test case for titles and authors looked up with misspelled terms, ranked by the sum of
+     * the distances of their closest terms.
+     */
+    @Test
+    void testLookupTermsWithTypos() {
+        index.rebuild();
+
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(5L, 2)), lookup("Miserabels", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(1L, 2), new BookSearchIndex.LookupMatch(2L, 2)),
+                lookup("germnal zolla", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(4L, 1)), lookup("zola lfe", 2, 10));
+        assertEquals(List.of(), lookup("germinal hugo", 2, 10));
+        assertEquals(List.of(), lookup("zola lfe", 0, 10));
+        assertEquals(1, lookup("zola", 2, 1).size());
+    }
+
+    /**
+     * Test case for short terms only matching exactly, as a single edit turns them into other words.
+     */
+    @Test
+    void testLookupShortTermsExact() {
+        index.rebuild();
+
+        assertEquals(List.of(), lookup("zola bz", 2, 10));
+        assertEquals(List.of(new BookSearchIndex.LookupMatch(6L, 0)), lookup("zola by", 2, 10));
+        assertTrue(new BookSearchIndex(catalogRepository, bookRepository, availabilityIndex,
+                transactionManager, Duration.ofHours(1)).lookup("zola", 2, 10).isEmpty());
+    }
+
+    private List<BookSearchIndex.LookupMatch> lookup(final String query, final int maxDistance, final int limit) {
+        return index.lookup(query, maxDistance, limit).orElseThrow();
+    }
+
+    private BookSearchIndex.SearchPage search(final String query, final int pageNo, final int pageSize) {
+        return index.search(query, pageNo, pageSize).orElseThrow();
+    }
+
+    private static LibraryBook book(final long bookId, final long catalogId, final String title, final String author) {
+        return LibraryBook.builder()
+                .id(bookId)
+                .catalog(BookCatalog.builder().id(catalogId).isbn(String.valueOf(catalogId))
+                        .title(title).author(author).build())
+                .build();
+    }
+}
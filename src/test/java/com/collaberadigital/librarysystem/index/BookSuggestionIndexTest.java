@@ -0,0 +1,126 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.projection.CopyCountView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BookSuggestionIndex} class.
+ */
+class BookSuggestionIndexTest {
+
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSuggestionIndex index;
+
+    private AutoCloseable mocks;
+
+    /**
+     * Set up method counting the copies of three titles and three authors.
+     */
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        index = new BookSuggestionIndex(catalogRepository, transactionManager, Duration.ofHours(1));
+
+        when(catalogRepository.countCopiesByTitle()).thenReturn(List.of(
+                new CopyCountView("Germinal", 2L),
+                new CopyCountView("Zola: A Life", 1L),
+                new CopyCountView("Zola by Zola", 3L)));
+        when(catalogRepository.countCopiesByAuthor()).thenReturn(List.of(
+                new CopyCountView("Émile Zola", 2L),
+                new CopyCountView("Emile Zola", 1L),
+                new CopyCountView("Zoltan Kodaly", 1L)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+        mocks.close();
+    }
+
+    /**
+     * Test case for titles and authors suggested together, the ones with the most copies first
+     * and titles before authors on equal counts.
+     */
+    @Test
+    void testSuggestsTitlesAndAuthorsByCopies() {
+        index.rebuild();
+
+        assertEquals(List.of(
+                new BookSuggestionIndex.Suggestion("Zola by Zola", BookSuggestionIndex.Field.TITLE, 3),
+                new BookSuggestionIndex.Suggestion("Zola: A Life", BookSuggestionIndex.Field.TITLE, 1),
+                new BookSuggestionIndex.Suggestion("Zoltan Kodaly", BookSuggestionIndex.Field.AUTHOR, 1)),
+                index.suggest("zo", 10).orElseThrow());
+        assertEquals(List.of(
+                new BookSuggestionIndex.Suggestion("Émile Zola", BookSuggestionIndex.Field.AUTHOR, 3)),
+                index.suggest("emile", 10).orElseThrow());
+        assertEquals(1, index.suggest("zo", 1).orElseThrow().size());
+    }
+
+    /**
+     * Test case for no suggestions until the index is built, and for a rebuild replacing the
+     * suggestions.
+     */
+    @Test
+    void testRebuildReplacesSuggestions() {
+        assertTrue(index.suggest("zo", 10).isEmpty());
+        index.rebuild();
+
+        when(catalogRepository.countCopiesByTitle()).thenReturn(List.of(new CopyCountView("Nana", 1L)));
+        index.rebuild();
+
+        assertEquals(List.of("Nana"), index.suggest("n", 10).orElseThrow().stream()
+                .map(BookSuggestionIndex.Suggestion::text).toList());
+        assertEquals(List.of(), index.suggest("germ", 10).orElseThrow());
+    }
+
+    /**
+     * Test case for a scheduled rebuild failing with an exception other than a data access one,
+     * which keeps the periodic rebuilds scheduled.
+     */
+    @Test
+    void testFailedRebuildKeepsSchedule() throws Exception {
+        final CountDownLatch retried = new CountDownLatch(1);
+        final List<CopyCountView> titles = catalogRepository.countCopiesByTitle();
+        when(catalogRepository.countCopiesByTitle())
+                .thenThrow(new CannotCreateTransactionException("Could not open JDBC Connection"))
+                .thenAnswer(invocation -> {
+                    retried.countDown();
+                    return titles;
+                });
+
+        final BookSuggestionIndex scheduled = new BookSuggestionIndex(catalogRepository, transactionManager,
+                Duration.ofMillis(10));
+        try {
+            scheduled.afterPropertiesSet();
+
+            assertTrue(retried.await(5, TimeUnit.SECONDS));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (scheduled.suggest("zo", 10).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(scheduled.suggest("zo", 10).isPresent());
+        } finally {
+            scheduled.destroy();
+        }
+    }
+}
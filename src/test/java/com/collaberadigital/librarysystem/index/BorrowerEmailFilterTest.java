@@ -0,0 +1,74 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BorrowerEmailFilter} class.
+ */
+class BorrowerEmailFilterTest {
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BorrowerEmailFilter filter;
+
+    private AutoCloseable mocks;
+
+    /**
+     * Set up method loading the emails of two borrowers.
+     */
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        filter = new BorrowerEmailFilter(borrowerRepository, transactionManager, Duration.ofHours(1));
+
+        when(borrowerRepository.findAllEmails()).thenReturn(List.of("udarawikum@gmail.com", "Ada@Example.com"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        filter.destroy();
+        mocks.close();
+    }
+
+    /**
+     * Test case for every email reported as possibly registered until the filter is built.
+     */
+    @Test
+    void testReportsEveryEmailUntilBuilt() {
+        assertTrue(filter.mightBeRegistered("new@example.com"));
+
+        filter.rebuild();
+
+        assertFalse(filter.mightBeRegistered("new@example.com"));
+    }
+
+    /**
+     * Test case for the loaded and registered emails reported ignoring case and surrounding spaces.
+     */
+    @Test
+    void testReportsLoadedAndRegisteredEmails() {
+        filter.rebuild();
+        filter.recordRegistered("New@Example.com");
+
+        assertTrue(filter.mightBeRegistered("udarawikum@gmail.com"));
+        assertTrue(filter.mightBeRegistered(" ada@example.COM"));
+        assertTrue(filter.mightBeRegistered("new@example.com"));
+        assertFalse(filter.mightBeRegistered("other@example.com"));
+    }
+}
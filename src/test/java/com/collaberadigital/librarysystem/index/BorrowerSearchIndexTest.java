@@ -0,0 +1,122 @@
+package com.collaberadigital.librarysystem.index;
+
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BorrowerSearchIndex} class.
+ */
+class BorrowerSearchIndexTest {
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BorrowerSearchIndex index;
+
+    private AutoCloseable mocks;
+
+    /**
+     * Set up method loading four borrowers.
+     */
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        index = new BorrowerSearchIndex(borrowerRepository, transactionManager, Duration.ofHours(1));
+
+        when(borrowerRepository.findAllViews()).thenReturn(List.of(
+                new BorrowerView(1L, "Udara Wikum", "udarawikum@gmail.com"),
+                new BorrowerView(2L, "Émilie Dubois", "edubois@example.com"),
+                new BorrowerView(3L, "Wim Udara", "wim@example.com"),
+                new BorrowerView(4L, "Ada Lovelace", "udara.ada@example.com")));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+        mocks.close();
+    }
+
+    /**
+     * Test case for borrowers matched by the prefix of their name, of a later word of their name,
+     * or of their email, listed by the first name, word or email they match.
+     */
+    @Test
+    void testSearchesNameWordsAndEmailPrefixes() {
+        index.rebuild();
+
+        assertEquals(List.of(3L, 1L, 4L), ids(index.search("UDA", 0, 10).orElseThrow()));
+        assertEquals(List.of(1L, 3L), ids(index.search("wi", 0, 10).orElseThrow()));
+        assertEquals(List.of(1L), ids(index.search("udara wi", 0, 10).orElseThrow()));
+        assertEquals(List.of(2L), ids(index.search("emilie", 0, 10).orElseThrow()));
+        assertEquals(List.of(2L), ids(index.search("EDUBOIS@", 0, 10).orElseThrow()));
+        assertEquals(List.of(), ids(index.search("lovelacex", 0, 10).orElseThrow()));
+        assertEquals(List.of(), ids(index.search("  ", 0, 10).orElseThrow()));
+    }
+
+    /**
+     * Test case for a borrower matched by several keys, listed once.
+     */
+    @Test
+    void testListsBorrowersOnce() {
+        index.rebuild();
+
+        final BorrowerSearchIndex.BorrowerPage page = index.search("udara", 0, 10).orElseThrow();
+        assertEquals(List.of(3L, 1L, 4L), ids(page));
+        assertTrue(page.last());
+    }
+
+    /**
+     * Test case for the pages of the matching borrowers, the last one ending the matches.
+     */
+    @Test
+    void testPagesTheMatches() {
+        index.rebuild();
+
+        final BorrowerSearchIndex.BorrowerPage first = index.search("uda", 0, 2).orElseThrow();
+        assertEquals(List.of(3L, 1L), ids(first));
+        assertFalse(first.last());
+        final BorrowerSearchIndex.BorrowerPage second = index.search("uda", 1, 2).orElseThrow();
+        assertEquals(List.of(4L), ids(second));
+        assertTrue(second.last());
+        assertTrue(index.search("uda", 0, 3).orElseThrow().last());
+        assertEquals(List.of(), ids(index.search("uda", 5, 2).orElseThrow()));
+    }
+
+    /**
+     * Test case for no results until the index is built, and for registered borrowers found
+     * without a rebuild.
+     */
+    @Test
+    void testFindsRegisteredBorrowers() {
+        assertTrue(index.search("uda", 0, 10).isEmpty());
+
+        index.rebuild();
+        index.recordRegistered(Borrower.builder().id(5L).name("Udo Kier").email("udo@example.com").build());
+
+        assertEquals(List.of(3L, 1L, 4L, 5L), ids(index.search("ud", 0, 10).orElseThrow()));
+        verify(borrowerRepository, times(1)).findAllViews();
+    }
+
+    private static List<Long> ids(final BorrowerSearchIndex.BorrowerPage page) {
+        final List<Long> ids = new ArrayList<>();
+        page.borrowers().forEach(view -> ids.add(view.id()));
+        return ids;
+    }
+}
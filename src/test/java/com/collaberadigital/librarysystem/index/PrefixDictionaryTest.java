@@ -0,0 +1,127 @@
+package com.collaberadigital.librarysystem.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PrefixDictionary} class.
+ */
+class PrefixDictionaryTest {
+
+    /**
+     * Test case for texts merged by their folded key, keeping the spelling of the heaviest.
+     */
+    @Test
+    void testMergesTextsByFoldedKey() {
+        PrefixDictionary dictionary = PrefixDictionary.builder()
+                .add("Emile Zola", 1)
+                .add("Émile Zola", 2)
+                .add("émile  zola ", 1)
+                .add(" - ", 5)
+                .add(null, 5)
+                .build();
+
+        assertEquals(1, dictionary.size());
+        assertEquals(List.of(new PrefixDictionary.Match("Émile Zola", 4)), dictionary.suggest("EMILE Z", 10));
+    }
+
+    /**
+     * Test case for a prefix ending with a separator only matching its last word whole.
+     */
+    @Test
+    void testTrailingSeparatorEndsWord() {
+        PrefixDictionary dictionary = PrefixDictionary.builder()
+                .add("Zola: A Life", 1)
+                .add("Zolaesque", 2)
+                .build();
+
+        assertEquals(List.of("Zolaesque", "Zola: A Life"), texts(dictionary.suggest("zola", 10)));
+        assertEquals(List.of("Zola: A Life"), texts(dictionary.suggest("Zola:", 10)));
+        assertEquals(List.of(), dictionary.suggest("zola a life and", 10));
+    }
+
+    /**
+     * Test case for prefixes holding no term, and for an empty dictionary.
+     */
+    @Test
+    void testNoSuggestions() {
+        PrefixDictionary dictionary = PrefixDictionary.builder().add("Germinal", 1).build();
+
+        assertEquals(List.of(), dictionary.suggest("", 10));
+        assertEquals(List.of(), dictionary.suggest("?", 10));
+        assertEquals(List.of(), dictionary.suggest("germinal", 0));
+        assertEquals(List.of(), PrefixDictionary.builder().build().suggest("g", 10));
+    }
+
+    /**
+     * Test case for the suggestions of every short prefix of a dictionary spanning many blocks
+     * matching a scan of the texts, heaviest first and in key order on equal weights.
+     */
+    @Test
+    void testSuggestionsMatchScan() {
+        Random random = new Random(42);
+        Map<String, Integer> weights = new TreeMap<>();
+        PrefixDictionary.Builder builder = PrefixDictionary.builder();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int length = 1 + random.nextInt(6); length > 0; length--) {
+                text.append((char) ('a' + random.nextInt(4)));
+            }
+            int weight = random.nextInt(50);
+            builder.add(text.toString(), weight);
+            weights.merge(text.toString(), weight, Integer::sum);
+        }
+        PrefixDictionary dictionary = builder.build();
+
+        assertEquals(weights.size(), dictionary.size());
+        for (String prefix : weights.keySet()) {
+            if (prefix.length() > 3) {
+                continue;
+            }
+            List<PrefixDictionary.Match> expected = weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(7)
+                    .map(entry -> new PrefixDictionary.Match(entry.getKey(), entry.getValue()))
+                    .toList();
+            assertEquals(expected, dictionary.suggest(prefix, 7), prefix);
+        }
+    }
+
+    /**
+     * Test case for shared prefixes being stored once, the dictionary taking less memory than
+     * the texts and their keys.
+     */
+    @Test
+    void testFrontCodingCompactsSharedPrefixes() {
+        PrefixDictionary.Builder builder = PrefixDictionary.builder();
+        long textBytes = 0;
+        for (int i = 0; i < 1000; i++) {
+            String text = String.format("The Adventures of Sherlock Holmes, Volume %04d", i);
+            builder.add(text, i);
+            textBytes += 2L * text.length();
+        }
+        PrefixDictionary dictionary = builder.build();
+
+        assertTrue(dictionary.sizeInBytes() < textBytes / 4, () -> dictionary.sizeInBytes() + " bytes");
+        assertEquals(List.of("The Adventures of Sherlock Holmes, Volume 0999",
+                "The Adventures of Sherlock Holmes, Volume 0998"), texts(dictionary.suggest("the adventures", 2)));
+        assertEquals(List.of("The Adventures of Sherlock Holmes, Volume 0429"),
+                texts(dictionary.suggest("the adventures of sherlock holmes volume 042", 1)));
+    }
+
+    private static List<String> texts(final List<PrefixDictionary.Match> matches) {
+        List<String> texts = new ArrayList<>();
+        matches.forEach(match -> texts.add(match.text()));
+        return texts;
+    }
+}
@@ -0,0 +1,65 @@
+package com.collaberadigital.librarysystem.mapper;
+
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BorrowingMapper} and {@link BorrowerMapper} classes.
+ */
+class BorrowingMapperTest {
+
+    /**
+     * Test case for mapping a borrowing along with its borrower and book.
+     */
+    @Test
+    void testToDto() {
+        Borrower borrower = TestDataFactory.createBorrowerEntity(TestDataFactory.createBorrowerSuccessRequest());
+        LibraryBook book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
+
+        BorrowingInfoDTO response = BorrowingMapper.toDto(borrowing);
+
+        assertEquals(borrowing.getId(), response.getId());
+        assertEquals(borrowing.getBorrowDate(), response.getBorrowDate());
+        assertNull(response.getReturnDate());
+        assertEquals(borrower.getId(), response.getBorrower().getId());
+        assertEquals(borrower.getEmail(), response.getBorrower().getEmail());
+        assertEquals(book.getId(), response.getBookInfo().getId());
+        assertEquals(book.getCatalog().getTitle(), response.getBookInfo().getTitle());
+    }
+
+    /**
+     * Test case for mapping a borrowing view, which gives the same DTO as the entity.
+     */
+    @Test
+    void testToDtoFromView() {
+        Borrower borrower = TestDataFactory.createBorrowerEntity(TestDataFactory.createBorrowerSuccessRequest());
+        LibraryBook book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
+        borrowing.setReturnDate(borrowing.getBorrowDate().plusDays(1));
+
+        assertEquals(BorrowingMapper.toDto(borrowing),
+                BorrowingMapper.toDto(TestDataFactory.createBorrowingView(borrowing)));
+    }
+
+    /**
+     * Test case for mapping a borrower registration request to a borrower entity.
+     */
+    @Test
+    void testToBorrowerEntity() {
+        BorrowerRequestDTO request = TestDataFactory.createBorrowerSuccessRequest();
+
+        Borrower borrower = BorrowerMapper.toEntity(request);
+
+        assertNull(borrower.getId());
+        assertEquals(request.getName(), borrower.getName());
+        assertEquals(request.getEmail(), borrower.getEmail());
+    }
+}
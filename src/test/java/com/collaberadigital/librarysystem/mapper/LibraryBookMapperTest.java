@@ -0,0 +1,77 @@
+package com.collaberadigital.librarysystem.mapper;
+
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.model.BookCatalog;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LibraryBookMapper} class.
+ */
+class LibraryBookMapperTest {
+
+    /**
+     * Test case for mapping a library book along with its catalog entry.
+     */
+    @Test
+    void testToDto() {
+        LibraryBook book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        book.setId(5L);
+        book.setBorrowed(true);
+
+        LibraryBookDTO bookDto = LibraryBookMapper.toDto(book);
+
+        assertEquals(5L, bookDto.getId());
+        assertEquals(book.getCatalog().getIsbn(), bookDto.getIsbn());
+        assertEquals(book.getCatalog().getTitle(), bookDto.getTitle());
+        assertEquals(book.getCatalog().getAuthor(), bookDto.getAuthor());
+        assertTrue(bookDto.isBorrowed());
+    }
+
+    /**
+     * Test case for mapping a library book view, which gives the same DTO as the entity.
+     */
+    @Test
+    void testToDtoFromView() {
+        LibraryBook book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        book.setBorrowed(true);
+
+        assertEquals(LibraryBookMapper.toDto(book), LibraryBookMapper.toDto(TestDataFactory.createBookView(book)));
+    }
+
+    /**
+     * Test case for copying a LibraryBookDTO.
+     */
+    @Test
+    void testCopy() {
+        LibraryBookDTO bookDto = TestDataFactory.createBookSuccessResponse();
+
+        LibraryBookDTO copy = LibraryBookMapper.copy(bookDto);
+        copy.setBorrowed(true);
+
+        assertNotSame(bookDto, copy);
+        assertEquals(bookDto.getId(), copy.getId());
+        assertEquals(bookDto.getIsbn(), copy.getIsbn());
+        assertFalse(bookDto.isBorrowed());
+    }
+
+    /**
+     * Test case for mapping a book registration request to a catalog entry.
+     */
+    @Test
+    void testToCatalog() {
+        LibraryBookRequestDTO request = TestDataFactory.createBookSuccessRequest();
+
+        BookCatalog catalog = LibraryBookMapper.toCatalog(request);
+
+        assertNull(catalog.getId());
+        assertEquals(request.getIsbn(), catalog.getIsbn());
+        assertEquals(request.getTitle(), catalog.getTitle());
+        assertEquals(request.getAuthor(), catalog.getAuthor());
+        assertEquals(0, catalog.getTotalCopies());
+    }
+}
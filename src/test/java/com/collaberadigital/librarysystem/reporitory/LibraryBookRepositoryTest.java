@@ -1,7 +1,9 @@
 package com.collaberadigital.librarysystem.reporitory;
 
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
 import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -34,15 +36,16 @@ public class LibraryBookRepositoryTest {
         List<LibraryBook> expectedBooks = getBookList();
         expectedBooks.add(
                 LibraryBook.builder()
-                        .isbn("12345678910")
-                        .author("test auth 2")
-                        .title("title 2").build());
+                        .catalog(BookCatalog.builder()
+                                .isbn("12345678910")
+                                .author("test auth 2")
+                                .title("title 2").build()).build());
 
-        when(bookRepository.findByIsbn(eq(isbn))).thenReturn(expectedBooks);
+        when(bookRepository.findByCatalogIsbn(eq(isbn))).thenReturn(expectedBooks);
 
-        List<LibraryBook> actualBooks = bookRepository.findByIsbn(isbn);
+        List<LibraryBook> actualBooks = bookRepository.findByCatalogIsbn(isbn);
 
-        verify(bookRepository).findByIsbn(eq(isbn));
+        verify(bookRepository).findByCatalogIsbn(eq(isbn));
 
         assertEquals(expectedBooks, actualBooks);
     }
@@ -55,14 +58,14 @@ public class LibraryBookRepositoryTest {
         Boolean borrowStatus = false;
         Pageable pageable = PageRequest.of(
                 0, 10, Sort.by("title").ascending());
-        Page<LibraryBook> expectedPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        Slice<LibraryBookView> expectedPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
 
-        when(bookRepository.findByBorrowed(
+        when(bookRepository.findViewsByBorrowed(
                 eq(borrowStatus), eq(pageable))).thenReturn(expectedPage);
 
-        Page<LibraryBook> actualPage = bookRepository.findByBorrowed(borrowStatus, pageable);
+        Slice<LibraryBookView> actualPage = bookRepository.findViewsByBorrowed(borrowStatus, pageable);
 
-        verify(bookRepository).findByBorrowed(eq(borrowStatus), eq(pageable));
+        verify(bookRepository).findViewsByBorrowed(eq(borrowStatus), eq(pageable));
 
         assertEquals(expectedPage, actualPage);
     }
@@ -75,9 +78,11 @@ public class LibraryBookRepositoryTest {
     private List<LibraryBook> getBookList() {
         return IntStream.range(0, 4)
                 .mapToObj(i -> LibraryBook.builder()
-                        .isbn("12343443342")
-                        .title("test title")
-                        .author("test author")
+                        .catalog(BookCatalog.builder()
+                                .isbn("12343443342")
+                                .title("test title")
+                                .author("test author")
+                                .build())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,152 @@
+package com.collaberadigital.librarysystem.reporitory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the migrated schema, asserting that the H2 query plans of the repository
+ * queries use the indexes declared for them.
+ */
+@DataJpaTest
+@ActiveProfiles("dev")
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case for the open borrowing check of a book.
+     */
+    @Test
+    void testOpenBorrowingCheckUsesBookReturnIndex() {
+        assertUsesIndex("select b.id from borrow_map b where b.book_id = 1 and b.return_date is null "
+                + "fetch first 1 rows only", "idx_borrow_map_book_return");
+    }
+
+    /**
+     * Test case for the latest borrowing of a book by a borrower.
+     */
+    @Test
+    void testLatestBorrowingUsesBorrowerBookDateIndex() {
+        assertUsesIndex("select b.id from borrow_map b where b.borrower_id = 1 and b.book_id = 1 "
+                + "order by b.borrow_date desc fetch first 1 rows only", "idx_borrow_map_borrower_book_date");
+    }
+
+    /**
+     * Test case for the borrowing history of a borrower sorted by borrow date.
+     */
+    @Test
+    void testBorrowerHistoryUsesBorrowerDateIndex() {
+        assertUsesIndex("select b.id from borrow_map b where b.borrower_id = 1 "
+                + "order by b.borrow_date desc, b.id desc offset 0 rows fetch first 11 rows only",
+                "idx_borrow_map_borrower_date");
+    }
+
+    /**
+     * Test case for the available copy listing sorted by ID.
+     */
+    @Test
+    void testAvailableListingUsesBorrowedIndex() {
+        assertUsesIndex("select b.id from library_book b where b.borrowed = false "
+                + "order by b.id offset 0 rows fetch first 11 rows only", "idx_library_book_borrowed");
+    }
+
+    /**
+     * Test case for the available copy candidates of a catalog entry.
+     */
+    @Test
+    void testAvailableCopyIdsUseCatalogIndex() {
+        assertUsesIndex("select b.id from library_book b where b.catalog_id = 1 and b.borrowed = false "
+                + "and b.id > 0 order by b.id fetch first 16 rows only", "idx_library_book_catalog");
+    }
+
+    /**
+     * Test case for the keyset window of the books sorted by title, which seeks the title index
+     * of the copies past the last row of the previous window instead of sorting the catalog.
+     */
+    @Test
+    void testBookWindowByTitleUsesTitleIndex() {
+        final String sql = "select b.id from library_book b join book_catalog c on c.id = b.catalog_id "
+                + "where b.title > 'Germinal' or (b.title = 'Germinal' and b.id > 1) "
+                + "order by b.title, b.id fetch first 11 rows only";
+
+        assertUsesIndex(sql, "idx_library_book_title");
+        assertSortedByIndex(sql);
+    }
+
+    /**
+     * Test case for the keyset window of the books sorted by ISBN.
+     */
+    @Test
+    void testBookWindowByIsbnUsesIsbnIndex() {
+        final String sql = "select b.id from library_book b join book_catalog c on c.id = b.catalog_id "
+                + "where b.isbn > '0-061-96436-0' or (b.isbn = '0-061-96436-0' and b.id > 1) "
+                + "order by b.isbn, b.id fetch first 11 rows only";
+
+        assertUsesIndex(sql, "idx_library_book_isbn");
+        assertSortedByIndex(sql);
+    }
+
+    /**
+     * Test case for the copies of an ISBN, which look up the catalog entry by its unique ISBN
+     * and then its copies by catalog ID, without scanning either table.
+     */
+    @Test
+    void testCopiesByIsbnUseIsbnAndCatalogIndexes() {
+        final String sql = "select b.id from library_book b join book_catalog c on c.id = b.catalog_id "
+                + "where c.isbn = '0-061-96436-0'";
+
+        assertUsesIndex(sql, "uk_book_catalog_isbn");
+        assertFalse(jdbcTemplate.queryForObject("explain " + sql, String.class).contains("tableScan"));
+    }
+
+    /**
+     * Test case for a second open borrowing of the same book, which is rejected by the schema.
+     */
+    @Test
+    void testOpenBorrowingOfBookIsUnique() {
+        jdbcTemplate.update("insert into book_catalog (id, version, isbn, title, author, total_copies) "
+                + "values (1, 0, '0-061-96436-0', 'title', 'author', 1)");
+        jdbcTemplate.update("insert into library_book (id, version, catalog_id, isbn, title, borrowed) "
+                + "values (1, 0, 1, '0-061-96436-0', 'title', true)");
+        jdbcTemplate.update("insert into borrower (id, version, name, email, borrowing_count) "
+                + "values (1, 0, 'name', 'name@gmail.com', 1)");
+        jdbcTemplate.update("insert into borrow_map (id, version, book_id, borrower_id, borrow_date, active_book_id) "
+                + "values (1, 0, 1, 1, current_timestamp, 1)");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into borrow_map (id, version, book_id, borrower_id, borrow_date, active_book_id) "
+                        + "values (2, 0, 1, 1, current_timestamp, 1)"));
+    }
+
+    /**
+     * Asserts that the rows of a query are read in the order of an index, so no sort is run.
+     *
+     * @param sql the query.
+     */
+    private void assertSortedByIndex(final String sql) {
+        final String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    /**
+     * Asserts that the query plan of a query uses an index.
+     *
+     * @param sql the query.
+     * @param index the name of the index.
+     */
+    private void assertUsesIndex(final String sql, final String index) {
+        final String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertTrue(plan.contains("PUBLIC." + index.toUpperCase()), plan);
+    }
+}
@@ -3,27 +3,36 @@ package com.collaberadigital.librarysystem.service;
 import com.collaberadigital.librarysystem.dto.BorrowerDTO;
 import com.collaberadigital.librarysystem.dto.BorrowerPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.InvalidBorrowerException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
 import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.index.BorrowerEmailFilter;
+import com.collaberadigital.librarysystem.index.BorrowerSearchIndex;
 import com.collaberadigital.librarysystem.model.Borrower;
 import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowerView;
+import com.collaberadigital.librarysystem.util.AppConstant;
 import com.collaberadigital.librarysystem.service.impl.BorrowerServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -36,6 +45,12 @@ class BorrowerServiceImplTest {
     @Mock
     private BorrowerRepository borrowerRepository;
 
+    @Mock
+    private BorrowerSearchIndex searchIndex;
+
+    @Mock
+    private BorrowerEmailFilter emailFilter;
+
     @InjectMocks
     private BorrowerServiceImpl borrowerService;
 
@@ -60,15 +75,35 @@ class BorrowerServiceImplTest {
         BorrowerRequestDTO requestDTO = TestDataFactory.createBorrowerSuccessRequest();
         Borrower borrower = TestDataFactory.createBorrowerEntity(requestDTO);
 
+        when(emailFilter.mightBeRegistered(anyString())).thenReturn(true);
         when(borrowerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(borrowerRepository.save(any(Borrower.class))).thenReturn(borrower);
+        when(borrowerRepository.saveAndFlush(any(Borrower.class))).thenReturn(borrower);
 
         BorrowerDTO responseDTO = borrowerService.registerBorrower(requestDTO);
 
         assertNotNull(responseDTO);
         assertEquals(requestDTO.getName(), responseDTO.getName());
         assertEquals(requestDTO.getEmail(), responseDTO.getEmail());
-        verify(borrowerRepository, times(1)).save(any(Borrower.class));
+        verify(borrowerRepository, times(1)).saveAndFlush(any(Borrower.class));
+        verify(emailFilter, times(1)).recordRegistered(requestDTO.getEmail());
+        verify(searchIndex, times(1)).recordRegistered(any(Borrower.class));
+    }
+
+    /**
+     * Test case for registering a borrower whose email is definitely new,
+     * skipping the duplicate email query.
+     */
+    @Test
+    void testRegisterBorrower_NewEmailSkipsExistsQuery() {
+        BorrowerRequestDTO requestDTO = TestDataFactory.createBorrowerSuccessRequest();
+
+        when(emailFilter.mightBeRegistered(anyString())).thenReturn(false);
+
+        BorrowerDTO responseDTO = borrowerService.registerBorrower(requestDTO);
+
+        assertEquals(requestDTO.getEmail(), responseDTO.getEmail());
+        verify(borrowerRepository, never()).existsByEmail(anyString());
+        verify(borrowerRepository, times(1)).saveAndFlush(any(Borrower.class));
     }
 
     /**
@@ -79,10 +114,52 @@ class BorrowerServiceImplTest {
     void testRegisterBorrower_InvalidBorrowerException() {
         BorrowerRequestDTO requestDTO = TestDataFactory.createBorrowerSuccessRequest();
 
+        when(emailFilter.mightBeRegistered(anyString())).thenReturn(true);
         when(borrowerRepository.existsByEmail(anyString())).thenReturn(true);
 
         assertThrows(InvalidBorrowerException.class,
                 () -> borrowerService.registerBorrower(requestDTO));
+        verify(borrowerRepository, never()).saveAndFlush(any(Borrower.class));
+    }
+
+    /**
+     * Test case for registering a borrower whose existing email was missed by the email filter,
+     * expecting the unique constraint violation as an InvalidBorrowerException, whether reported
+     * by its SQL state as in H2 or by its name as in MySQL.
+     */
+    @Test
+    void testRegisterBorrower_UniqueConstraintViolation() {
+        BorrowerRequestDTO requestDTO = TestDataFactory.createBorrowerSuccessRequest();
+
+        when(emailFilter.mightBeRegistered(anyString())).thenReturn(false);
+        when(borrowerRepository.saveAndFlush(any(Borrower.class)))
+                .thenThrow(violation("Unique index or primary key violation", "23505", "PUBLIC.CONSTRAINT_INDEX_3"))
+                .thenThrow(violation("Duplicate entry", "23000", "borrower.UK_b32npirfvnbp9jrskluwkf3p2"));
+
+        assertThrows(InvalidBorrowerException.class,
+                () -> borrowerService.registerBorrower(requestDTO));
+        assertThrows(InvalidBorrowerException.class,
+                () -> borrowerService.registerBorrower(requestDTO));
+        verify(emailFilter, never()).recordRegistered(anyString());
+        verifyNoInteractions(searchIndex);
+    }
+
+    /**
+     * Test case for registering a borrower violating another constraint than the unique email,
+     * expecting the violation to be rethrown.
+     */
+    @Test
+    void testRegisterBorrower_OtherConstraintViolation() {
+        BorrowerRequestDTO requestDTO = TestDataFactory.createBorrowerSuccessRequest();
+        DataIntegrityViolationException notNull = violation("NULL not allowed for column", "23502", null);
+
+        when(emailFilter.mightBeRegistered(anyString())).thenReturn(false);
+        when(borrowerRepository.saveAndFlush(any(Borrower.class))).thenThrow(notNull);
+
+        assertSame(notNull, assertThrows(DataIntegrityViolationException.class,
+                () -> borrowerService.registerBorrower(requestDTO)));
+        verify(emailFilter, never()).recordRegistered(anyString());
+        verifyNoInteractions(searchIndex);
     }
 
     /**
@@ -122,10 +199,11 @@ class BorrowerServiceImplTest {
      */
     @Test
     void testGetAllBorrower_Success() {
-        List<Borrower> borrowers = Collections.singletonList(new Borrower());
-        Page<Borrower> pageBorrowers = new PageImpl<>(borrowers);
+        List<BorrowerView> borrowers = Collections.singletonList(
+                new BorrowerView(1L, "Borrower Name", "borrower@gmail.com"));
+        Page<BorrowerView> pageBorrowers = new PageImpl<>(borrowers);
 
-        when(borrowerRepository.findAll(
+        when(borrowerRepository.findAllViews(
                 any(PageRequest.class))).thenReturn(pageBorrowers);
 
         BorrowerPageResponseDTO response = borrowerService
@@ -135,7 +213,44 @@ class BorrowerServiceImplTest {
         assertEquals(1, response.getContent().size());
         assertEquals(pageBorrowers.getTotalElements(), response.getTotalElements());
         assertEquals(pageBorrowers.getTotalPages(), response.getTotalPages());
-        verify(borrowerRepository, times(1)).findAll(any(PageRequest.class));
+        verify(borrowerRepository, times(1)).findAllViews(any(PageRequest.class));
     }
-}
 
+    /**
+     * Test case for searching borrowers, served by the search index.
+     */
+    @Test
+    void testSearchBorrowers_Success() {
+        List<BorrowerView> views = List.of(
+                new BorrowerView(2L, "Ada Lovelace", "ada@example.com"),
+                new BorrowerView(1L, "Adam Smith", "adam@example.com"));
+        when(searchIndex.search("ada", 0, 2))
+                .thenReturn(Optional.of(new BorrowerSearchIndex.BorrowerPage(views, false)));
+
+        BorrowerPageResponseDTO response = borrowerService.searchBorrowers("ada", 0, 2);
+
+        assertEquals(List.of(2L, 1L), response.getContent().stream().map(BorrowerDTO::getId).toList());
+        assertEquals(AppConstant.UNKNOWN_TOTAL, response.getTotalElements());
+        assertEquals(2, response.getNumberOfElements());
+        assertEquals(AppConstant.UNKNOWN_TOTAL, response.getTotalPages());
+        assertFalse(response.isLast());
+        verifyNoInteractions(borrowerRepository);
+    }
+
+    /**
+     * Test case for searching borrowers before the search index is built,
+     * expecting a CommonSystemException.
+     */
+    @Test
+    void testSearchBorrowers_IndexNotBuilt() {
+        when(searchIndex.search(anyString(), anyInt(), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(CommonSystemException.class, () -> borrowerService.searchBorrowers("ada", 0, 10));
+    }
+
+    private static DataIntegrityViolationException violation(final String message, final String sqlState,
+                                                             final String constraintName) {
+        return new DataIntegrityViolationException(message, new ConstraintViolationException(
+                message, new SQLException(message, sqlState), constraintName));
+    }
+}
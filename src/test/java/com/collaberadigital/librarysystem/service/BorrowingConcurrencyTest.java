@@ -0,0 +1,214 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests borrowing and returning a single book from many threads, asserting that the
+ * losers of a race only ever get the business errors, and that the book, its catalog entry,
+ * its borrowings and the borrowing counts of the borrowers stay consistent.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class BorrowingConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private LibraryBookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private LibraryBookDTO book;
+
+    private List<Long> borrowerIds;
+
+    /**
+     * Set up method registering a book with a single copy and one borrower per thread.
+     */
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000);
+        LibraryBookRequestDTO request = TestDataFactory.createBookSuccessRequest();
+        request.setIsbn("978" + String.format("%06d", Long.parseLong(suffix)) + "0");
+        book = bookService.registerBook(request);
+
+        borrowerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            borrowerIds.add(borrowerService.registerBorrower(BorrowerRequestDTO.builder()
+                    .name("Borrower " + i)
+                    .email("borrower" + i + "." + suffix + "@library.com")
+                    .build()).getId());
+        }
+    }
+
+    /**
+     * Test case for many borrowers borrowing and returning the same book concurrently.
+     */
+    @Test
+    void testConcurrentBorrowAndReturnOfHotBook() throws Exception {
+        AtomicInteger borrows = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                BorrowingInfoDTO borrowing;
+                try {
+                    borrowing = borrowingService.borrowBook(book.getId(), borrowerIds.get(thread));
+                } catch (CommonSystemException expected) {
+                    continue;
+                } catch (RuntimeException exception) {
+                    unexpected.add(exception);
+                    continue;
+                }
+                borrows.incrementAndGet();
+                try {
+                    borrowingService.returnBook(borrowing.getId());
+                } catch (RuntimeException exception) {
+                    unexpected.add(exception);
+                }
+            }
+            return null;
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertTrue(borrows.get() > 0);
+        assertFalse(jdbcTemplate.queryForObject(
+                "select borrowed from library_book where id = ?", Boolean.class, book.getId()));
+        assertEquals(1, availableCopies());
+        assertEquals(0, count("select count(*) from borrow_map where book_id = ? and return_date is null"));
+        assertEquals(borrows.get(), count("select count(*) from borrow_map where book_id = ?"));
+        assertEquals(borrows.get(), borrowerIds.stream().mapToLong(id -> jdbcTemplate.queryForObject(
+                "select borrowing_count from borrower where id = ?", Long.class, id)).sum());
+        assertNull(meterRegistry.find("library.conflicts").tag("outcome", "exhausted").counter());
+    }
+
+    /**
+     * Test case for the same borrowing being returned concurrently, which succeeds only once.
+     */
+    @Test
+    void testConcurrentReturnOfSameBorrowing() throws Exception {
+        long borrowingId = borrowingService.borrowBook(book.getId(), borrowerIds.get(0)).getId();
+        AtomicInteger returns = new AtomicInteger();
+        AtomicInteger alreadyReturned = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(thread -> {
+            try {
+                borrowingService.returnBook(borrowingId);
+                returns.incrementAndGet();
+            } catch (CommonSystemException expected) {
+                alreadyReturned.incrementAndGet();
+            } catch (RuntimeException exception) {
+                unexpected.add(exception);
+            }
+            return null;
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(1, returns.get());
+        assertEquals(THREADS - 1, alreadyReturned.get());
+        assertEquals(1, availableCopies());
+    }
+
+    /**
+     * Test case for as many borrowers as copies borrowing any copy of the book concurrently,
+     * each claiming a different copy.
+     */
+    @Test
+    void testConcurrentBorrowsByIsbnClaimDistinctCopies() throws Exception {
+        LibraryBookRequestDTO request = TestDataFactory.createBookSuccessRequest();
+        request.setIsbn(book.getIsbn());
+        for (int i = 1; i < THREADS; i++) {
+            bookService.registerBook(request);
+        }
+        Queue<Long> borrowedIds = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(thread -> {
+            try {
+                borrowedIds.add(borrowingService.borrowBookByIsbn(book.getIsbn(), borrowerIds.get(thread))
+                        .getBookInfo().getId());
+            } catch (RuntimeException exception) {
+                unexpected.add(exception);
+            }
+            return null;
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(THREADS, borrowedIds.stream().distinct().count());
+        assertEquals(0, availableCopies());
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int thread = i;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    return task.run(thread);
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int availableCopies() {
+        return jdbcTemplate.queryForObject("select count(*) from library_book b join library_book c "
+                + "on c.catalog_id = b.catalog_id where b.id = ? and c.borrowed = false", Integer.class, book.getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, book.getId());
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        Void run(int thread) throws Exception;
+    }
+}
@@ -4,25 +4,33 @@ import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
 import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
 import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
 import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
 import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.aspect.BookLocks;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
 import com.collaberadigital.librarysystem.model.Borrower;
 import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
 import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
 import com.collaberadigital.librarysystem.repository.BorrowerRepository;
 import com.collaberadigital.librarysystem.repository.BorrowingRepository;
+import com.collaberadigital.librarysystem.repository.projection.BorrowingView;
 import com.collaberadigital.librarysystem.service.impl.BorrowingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +54,24 @@ class BorrowingServiceImplTest {
     @Mock
     private BorrowerRepository borrowerRepository;
 
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private LibraryBookService bookService;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    @Mock
+    private LibraryCountService countService;
+
+    @Mock
+    private BookAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookLocks bookLocks;
+
     @InjectMocks
     private BorrowingServiceImpl borrowingService;
 
@@ -80,20 +106,31 @@ class BorrowingServiceImplTest {
      */
     @Test
     void testBorrowBook_Success() {
-        when(borrowerRepository.findById(borrower.getId())).thenReturn(Optional.of(borrower));
-        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(borrowingRepository.existsByBookIdAndReturnDateIsNull(book.getId())).thenReturn(false);
+        when(borrowerService.getBorrowerById(borrower.getId()))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(borrowerRepository.getReferenceById(borrower.getId())).thenReturn(borrower);
+        when(bookRepository.claimForBorrow(book.getId())).thenReturn(1);
+        when(bookRepository.getReferenceById(book.getId())).thenReturn(book);
+        LibraryBookDTO cachedBook = TestDataFactory.createBookSuccessResponse();
+        when(bookService.getBookById(book.getId())).thenReturn(cachedBook);
 
         Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
 
-        when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
+        when(borrowingRepository.saveAndFlush(any(Borrowing.class))).thenReturn(borrowing);
 
         BorrowingInfoDTO response = borrowingService.borrowBook(book.getId(), borrower.getId());
 
         assertNotNull(response);
         assertEquals(book.getId(), response.getBookInfo().getId());
         assertEquals(borrower.getId(), response.getBorrower().getId());
-        verify(borrowingRepository, times(1)).save(any(Borrowing.class));
+        assertTrue(response.getBookInfo().isBorrowed());
+        assertFalse(cachedBook.isBorrowed());
+        verify(borrowingRepository, times(1)).saveAndFlush(any(Borrowing.class));
+        verify(bookRepository, never()).findById(anyLong());
+        verify(borrowerRepository, never()).findById(anyLong());
+        verify(availabilityIndex, times(1)).recordBorrowed(book.getId());
+        verify(borrowerRepository, times(1)).incrementBorrowingCount(borrower.getId());
+        verifyNoInteractions(catalogRepository);
     }
 
     /**
@@ -101,12 +138,29 @@ class BorrowingServiceImplTest {
      */
     @Test
     void testBorrowBook_AlreadyBorrowed() {
-        when(borrowerRepository.findById(borrowerId))
-                .thenReturn(Optional.of(new Borrower()));
-        when(bookRepository.findById(bookId))
-                .thenReturn(Optional.of(new LibraryBook()));
-        when(borrowingRepository.existsByBookIdAndReturnDateIsNull(bookId))
-                .thenReturn(true);
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(bookRepository.claimForBorrow(bookId)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        assertThrows(CommonSystemException.class,
+                () -> borrowingService.borrowBook(bookId, borrowerId));
+        verify(borrowingRepository, never()).saveAndFlush(any(Borrowing.class));
+    }
+
+    /**
+     * Test case for a borrow rejected by the open borrowing uniqueness constraint.
+     */
+    @Test
+    void testBorrowBook_OpenBorrowingConstraintViolation() {
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(borrowerRepository.getReferenceById(borrowerId)).thenReturn(borrower);
+        when(bookRepository.claimForBorrow(bookId)).thenReturn(1);
+        when(bookRepository.getReferenceById(bookId)).thenReturn(book);
+        when(bookService.getBookById(bookId)).thenReturn(TestDataFactory.createBookSuccessResponse());
+        when(borrowingRepository.saveAndFlush(any(Borrowing.class)))
+                .thenThrow(new DataIntegrityViolationException("active_book_id"));
 
         assertThrows(CommonSystemException.class,
                 () -> borrowingService.borrowBook(bookId, borrowerId));
@@ -117,10 +171,12 @@ class BorrowingServiceImplTest {
      */
     @Test
     void testBorrowBook_BorrowerNotFound() {
-        when(borrowerRepository.findById(borrowerId)).thenReturn(Optional.empty());
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenThrow(new ResourceNotFoundException("Borrower", "id", borrowerId));
 
         assertThrows(ResourceNotFoundException.class,
                 () -> borrowingService.borrowBook(bookId, borrowerId));
+        verify(bookRepository, never()).claimForBorrow(anyLong());
     }
 
     /**
@@ -128,14 +184,74 @@ class BorrowingServiceImplTest {
      */
     @Test
     void testBorrowBook_BookNotFound() {
-        when(borrowerRepository.findById(borrowerId))
-                .thenReturn(Optional.of(new Borrower()));
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(bookRepository.claimForBorrow(bookId)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class,
                 () -> borrowingService.borrowBook(bookId, borrowerId));
     }
 
+    /**
+     * Test case for borrowing any copy of a book by ISBN, where the first locked copy was
+     * borrowed since it was read and the next one is claimed.
+     */
+    @Test
+    void testBorrowBookByIsbn_Success() {
+        BookCatalog catalog = book.getCatalog();
+        catalog.setTotalCopies(2);
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(borrowerRepository.getReferenceById(borrowerId)).thenReturn(borrower);
+        when(catalogRepository.findByIsbn(catalog.getIsbn())).thenReturn(Optional.of(catalog));
+        when(bookRepository.lockAvailableCopyId(catalog.getId(), 0L)).thenReturn(Optional.of(2L));
+        when(bookRepository.claimForBorrow(2L)).thenReturn(0);
+        when(bookRepository.lockAvailableCopyId(catalog.getId(), 2L)).thenReturn(Optional.of(bookId));
+        when(bookRepository.claimForBorrow(bookId)).thenReturn(1);
+        when(bookRepository.getReferenceById(bookId)).thenReturn(book);
+        when(bookService.getBookById(bookId)).thenReturn(TestDataFactory.createBookSuccessResponse());
+        when(borrowingRepository.saveAndFlush(any(Borrowing.class)))
+                .thenReturn(TestDataFactory.createBorrowingEntity(borrower, book));
+
+        BorrowingInfoDTO response = borrowingService.borrowBookByIsbn(catalog.getIsbn(), borrowerId);
+
+        assertEquals(bookId, response.getBookInfo().getId());
+        assertTrue(response.getBookInfo().isBorrowed());
+        verify(bookRepository, never()).getReferenceById(2L);
+    }
+
+    /**
+     * Test case for attempting to borrow a book by an ISBN that isn't registered.
+     */
+    @Test
+    void testBorrowBookByIsbn_BookNotFound() {
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(catalogRepository.findByIsbn("0-000-00000-0")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> borrowingService.borrowBookByIsbn("0-000-00000-0", borrowerId));
+        verify(bookRepository, never()).claimForBorrow(anyLong());
+    }
+
+    /**
+     * Test case for attempting to borrow a book by ISBN when all of its copies are borrowed.
+     */
+    @Test
+    void testBorrowBookByIsbn_NoCopyAvailable() {
+        BookCatalog catalog = book.getCatalog();
+        when(borrowerService.getBorrowerById(borrowerId))
+                .thenReturn(TestDataFactory.createBorrowerSuccessResponse());
+        when(catalogRepository.findByIsbn(catalog.getIsbn())).thenReturn(Optional.of(catalog));
+        when(bookRepository.lockAvailableCopyId(catalog.getId(), 0L)).thenReturn(Optional.empty());
+
+        assertThrows(CommonSystemException.class,
+                () -> borrowingService.borrowBookByIsbn(catalog.getIsbn(), borrowerId));
+        verify(bookRepository, never()).claimForBorrow(anyLong());
+        verify(borrowingRepository, never()).saveAndFlush(any(Borrowing.class));
+    }
+
     /**
      * Test case for successfully returning a borrowed book.
      */
@@ -144,18 +260,50 @@ class BorrowingServiceImplTest {
         Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
         //borrowing.setReturnDate(LocalDateTime.now());
 
-        when(borrowerRepository.findById(borrower.getId())).thenReturn(Optional.of(borrower));
-        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
-        when(borrowingRepository.existsByBookIdAndReturnDateIsNull(book.getId())).thenReturn(false);
         when(borrowingRepository.findById(1L)).thenReturn(Optional.of(borrowing));
+        when(bookRepository.releaseBorrowed(book.getId())).thenReturn(1);
         when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
 
         BorrowingInfoDTO response = borrowingService.returnBook(borrowingId);
 
         assertNotNull(response);
         assertNotNull(response.getReturnDate());
+        assertFalse(response.getBookInfo().isBorrowed());
+        assertNull(borrowing.getActiveBookId());
         verify(borrowingRepository, times(1)).save(any(Borrowing.class));
-        verify(bookRepository, times(1)).save(any(LibraryBook.class));
+        verify(bookRepository, times(1)).releaseBorrowed(book.getId());
+        verifyNoInteractions(catalogRepository);
+        verify(availabilityIndex, times(1)).recordReturned(book.getId());
+    }
+
+    /**
+     * Test case for attempting to return a book whose copy is not marked as borrowed.
+     */
+    @Test
+    void testReturnBook_NotMarkedBorrowed() {
+        Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
+
+        when(borrowingRepository.findById(borrowingId)).thenReturn(Optional.of(borrowing));
+        when(bookRepository.releaseBorrowed(book.getId())).thenReturn(0);
+
+        assertThrows(CommonSystemException.class,
+                () -> borrowingService.returnBook(borrowingId));
+        verify(borrowingRepository, never()).save(any(Borrowing.class));
+    }
+
+    /**
+     * Test case for attempting to return a book that was already returned.
+     */
+    @Test
+    void testReturnBook_AlreadyReturned() {
+        Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
+        borrowing.setReturnDate(LocalDateTime.now());
+
+        when(borrowingRepository.findById(borrowingId)).thenReturn(Optional.of(borrowing));
+
+        assertThrows(CommonSystemException.class,
+                () -> borrowingService.returnBook(borrowingId));
+        verify(bookRepository, never()).releaseBorrowed(anyLong());
     }
 
     /**
@@ -180,7 +328,7 @@ class BorrowingServiceImplTest {
 
         Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
 
-        when(borrowingRepository.findTopByBorrowerIdAndBookId(borrowerId, bookId))
+        when(borrowingRepository.findTopByBorrowerIdAndBookIdOrderByBorrowDateDesc(borrowerId, bookId))
                 .thenReturn(Optional.of(borrowing));
 
         BorrowingInfoDTO response = borrowingService
@@ -199,7 +347,7 @@ class BorrowingServiceImplTest {
         Long borrowerId = 1L;
         Long bookId = 1L;
 
-        when(borrowingRepository.findTopByBorrowerIdAndBookId(borrowerId, bookId))
+        when(borrowingRepository.findTopByBorrowerIdAndBookIdOrderByBorrowDateDesc(borrowerId, bookId))
                 .thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
@@ -214,18 +362,21 @@ class BorrowingServiceImplTest {
         Long borrowerId = 1L;
         Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
 
-        List<Borrowing> borrowings = Collections.singletonList(borrowing);
-        Page<Borrowing> pageBorrowings = new PageImpl<>(borrowings);
+        List<BorrowingView> borrowings = Collections.singletonList(TestDataFactory.createBorrowingView(borrowing));
+        Slice<BorrowingView> sliceBorrowings = new SliceImpl<>(borrowings, PageRequest.of(pageNo, pageSize), false);
 
-        when(borrowingRepository.findByBorrowerId(anyLong(), any(PageRequest.class)))
-                .thenReturn(pageBorrowings);
+        when(borrowingRepository.findViewsByBorrowerId(anyLong(), any(PageRequest.class)))
+                .thenReturn(sliceBorrowings);
+        when(countService.countBorrowings(borrowerId)).thenReturn(1L);
 
         BorrowingPageResponseDTO response = borrowingService.getBorrowingInfoByBorrower(
-                borrowerId, pageNo, pageSize, sortBy, sortDir);
+                borrowerId, pageNo, pageSize, sortBy, sortDir, true);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
+        assertEquals(1L, response.getTotalElements());
+        assertEquals(1, response.getTotalPages());
         verify(borrowingRepository, times(1))
-                .findByBorrowerId(anyLong(), any(PageRequest.class));
+                .findViewsByBorrowerId(anyLong(), any(PageRequest.class));
     }
 }
@@ -0,0 +1,138 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the borrowing listings and lookups load the books and borrowers of their rows in the
+ * same statement, whatever the number of rows. Statements are counted per thread, so the rebuilds
+ * of the in-memory indexes running in the background are not counted.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.collaberadigital.librarysystem.service.BorrowingStatementCountTest$StatementCounter")
+@ActiveProfiles("dev")
+class BorrowingStatementCountTest {
+
+    private static final int BOOKS = 5;
+
+    @Autowired
+    private LibraryBookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    private long borrowerId;
+
+    private List<LibraryBookDTO> books;
+
+    /**
+     * Set up method registering a borrower borrowing several books.
+     */
+    @BeforeEach
+    void setUp() {
+        String suffix = String.format("%06d", System.nanoTime() % 1_000_000);
+        borrowerId = borrowerService.registerBorrower(BorrowerRequestDTO.builder()
+                .name("Statement Counter")
+                .email("statements." + suffix + "@library.com")
+                .build()).getId();
+
+        books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            LibraryBookRequestDTO request = TestDataFactory.createBookSuccessRequest();
+            request.setIsbn("97" + suffix + i + "0");
+            LibraryBookDTO book = bookService.registerBook(request);
+            borrowingService.borrowBook(book.getId(), borrowerId);
+            books.add(book);
+        }
+    }
+
+    /**
+     * Test case for the offset page of the borrowings of a borrower, read in one statement.
+     */
+    @Test
+    void testBorrowingPageRunsOneStatement() {
+        BorrowingPageResponseDTO page = countStatements(1, () -> borrowingService.getBorrowingInfoByBorrower(
+                borrowerId, 0, BOOKS, "id", "asc", false));
+
+        assertEquals(BOOKS, page.getContent().size());
+        page.getContent().forEach(this::assertLoaded);
+    }
+
+    /**
+     * Test case for the keyset window of the borrowings of a borrower, read in one statement.
+     */
+    @Test
+    void testBorrowingWindowRunsOneStatement() {
+        CursorPageResponseDTO<BorrowingInfoDTO> window = countStatements(1, () ->
+                borrowingService.scrollBorrowingInfoByBorrower(borrowerId, null, BOOKS, "id", "asc"));
+
+        assertEquals(BOOKS, window.getContent().size());
+        window.getContent().forEach(this::assertLoaded);
+    }
+
+    /**
+     * Test case for the latest borrowing of a book by a borrower, read in one statement.
+     */
+    @Test
+    void testBorrowingLookupRunsOneStatement() {
+        BorrowingInfoDTO borrowing = countStatements(1, () -> borrowingService.getBorrowingInfoByBorrowerAndBook(
+                borrowerId, books.get(0).getId()));
+
+        assertLoaded(borrowing);
+    }
+
+    private void assertLoaded(final BorrowingInfoDTO borrowing) {
+        assertEquals(borrowerId, borrowing.getBorrower().getId());
+        assertEquals("Statement Counter", borrowing.getBorrower().getName());
+        assertEquals(TestDataFactory.createBookSuccessRequest().getTitle(), borrowing.getBookInfo().getTitle());
+    }
+
+    private static <T> T countStatements(final int expected, final Supplier<T> call) {
+        StatementCounter.reset();
+        final T result = call.get();
+        assertEquals(expected, StatementCounter.count(), "Statements run");
+        return result;
+    }
+
+    /**
+     * Counts the statements prepared by Hibernate on the current thread.
+     */
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+        @Override
+        public String inspect(final String sql) {
+            COUNT.get()[0]++;
+            return sql;
+        }
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+    }
+}
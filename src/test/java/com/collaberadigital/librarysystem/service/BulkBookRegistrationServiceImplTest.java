@@ -0,0 +1,133 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.BulkRegistrationResponseDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.service.impl.BulkBookRegistrationServiceImpl;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BulkBookRegistrationServiceImpl} class.
+ */
+class BulkBookRegistrationServiceImplTest {
+
+    @Mock
+    private LibraryBookService libraryBookService;
+
+    private BulkBookRegistrationServiceImpl bulkRegistrationService;
+
+    /**
+     * Set up method to initialize Mockito mocks and the service under test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkRegistrationService = new BulkBookRegistrationServiceImpl(
+                libraryBookService, Validation.buildDefaultValidatorFactory().getValidator());
+
+        when(libraryBookService.registerBookBatch(anyList())).thenAnswer(invocation -> {
+            List<LibraryBookRequestDTO> books = invocation.getArgument(0);
+            return IntStream.range(0, books.size())
+                    .mapToObj(index -> BookRegistrationResultDTO.builder()
+                            .index(index)
+                            .isbn(books.get(index).getIsbn())
+                            .status(BookRegistrationResultDTO.Status.REGISTERED)
+                            .bookId((long) index)
+                            .build())
+                    .toList();
+        });
+    }
+
+    /**
+     * Test case for registering books in chunks while rejecting invalid books in request order.
+     */
+    @Test
+    void testRegisterBooks_ChunksAndValidation() {
+        List<LibraryBookRequestDTO> books = new ArrayList<>();
+        for (int index = 0; index < AppConstant.BULK_CHUNK_SIZE + 10; index++) {
+            books.add(TestDataFactory.createBookSuccessRequest());
+        }
+        books.get(3).setTitle("");
+        books.get(AppConstant.BULK_CHUNK_SIZE + 5).setIsbn("123");
+
+        BulkRegistrationResponseDTO response = bulkRegistrationService.registerBooks(books.iterator());
+
+        assertEquals(books.size(), response.getTotalItems());
+        assertEquals(2, response.getRejected());
+        assertEquals(books.size() - 2, response.getRegistered());
+        for (int index = 0; index < books.size(); index++) {
+            assertEquals(index, response.getResults().get(index).getIndex());
+        }
+        assertEquals(BookRegistrationResultDTO.Status.REJECTED, response.getResults().get(3).getStatus());
+        assertEquals(BookRegistrationResultDTO.Status.REJECTED,
+                response.getResults().get(AppConstant.BULK_CHUNK_SIZE + 5).getStatus());
+        verify(libraryBookService, times(2)).registerBookBatch(anyList());
+    }
+
+    /**
+     * Test case for a chunk that cannot be stored, which is rejected without affecting other chunks
+     * and without exposing the cause of the failure.
+     */
+    @Test
+    void testRegisterBooks_FailedChunkIsRejected() {
+        List<LibraryBookRequestDTO> books = new ArrayList<>();
+        for (int index = 0; index < AppConstant.BULK_CHUNK_SIZE + 1; index++) {
+            books.add(TestDataFactory.createBookSuccessRequest());
+        }
+        when(libraryBookService.registerBookBatch(anyList()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of(BookRegistrationResultDTO.builder()
+                        .index(0).status(BookRegistrationResultDTO.Status.REGISTERED).build()));
+
+        BulkRegistrationResponseDTO response = bulkRegistrationService.registerBooks(books.iterator());
+
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, response.getRejected());
+        assertEquals(1, response.getRegistered());
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, response.getResults().get(AppConstant.BULK_CHUNK_SIZE).getIndex());
+        assertEquals("Unable to register book, please retry", response.getResults().get(0).getMessage());
+    }
+
+    /**
+     * Test case for a payload that becomes unreadable, which stops the registration.
+     */
+    @Test
+    void testRegisterBooks_UnreadablePayload() {
+        Iterator<LibraryBookRequestDTO> books = new Iterator<>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public LibraryBookRequestDTO next() {
+                if (position++ == 2) {
+                    throw new IllegalStateException("Unexpected character");
+                }
+                return TestDataFactory.createBookSuccessRequest();
+            }
+        };
+
+        BulkRegistrationResponseDTO response = bulkRegistrationService.registerBooks(books);
+
+        assertEquals(3, response.getTotalItems());
+        assertEquals(2, response.getRegistered());
+        assertEquals(BookRegistrationResultDTO.Status.REJECTED, response.getResults().get(2).getStatus());
+    }
+}
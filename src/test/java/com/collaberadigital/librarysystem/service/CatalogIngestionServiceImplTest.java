@@ -0,0 +1,218 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.IngestionReportDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.model.IngestionCheckpoint;
+import com.collaberadigital.librarysystem.repository.IngestionCheckpointRepository;
+import com.collaberadigital.librarysystem.service.impl.CatalogIngestionServiceImpl;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CatalogIngestionServiceImpl} class.
+ */
+class CatalogIngestionServiceImplTest {
+
+    @Mock
+    private LibraryBookService libraryBookService;
+
+    @Mock
+    private IngestionCheckpointRepository ingestionCheckpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private CatalogIngestionServiceImpl catalogIngestionService;
+
+    /**
+     * Books and checkpoints written by committed transactions.
+     */
+    private final List<LibraryBookRequestDTO> registeredBooks = new ArrayList<>();
+
+    private final Map<String, IngestionCheckpoint> checkpoints = new HashMap<>();
+
+    /**
+     * Books and checkpoint written by the current transaction, dropped on rollback.
+     */
+    private final List<LibraryBookRequestDTO> pendingBooks = new ArrayList<>();
+
+    private IngestionCheckpoint pendingCheckpoint;
+
+    /**
+     * Set up method to initialize Mockito mocks and the service under test. The transaction
+     * manager only applies the books and checkpoint of a transaction when it commits.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogIngestionService = new CatalogIngestionServiceImpl(libraryBookService, ingestionCheckpointRepository,
+                transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        when(libraryBookService.registerBookBatch(anyList())).thenAnswer(invocation -> registerAll(invocation.getArgument(0)));
+        when(ingestionCheckpointRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(ingestionCheckpointRepository.save(any())).thenAnswer(invocation -> pendingCheckpoint = invocation.getArgument(0));
+        doAnswer(invocation -> checkpoints.remove(invocation.<String>getArgument(0)))
+                .when(ingestionCheckpointRepository).deleteById(anyString());
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doAnswer(invocation -> commit()).when(transactionManager).commit(any());
+        doAnswer(invocation -> rollback()).when(transactionManager).rollback(any());
+    }
+
+    /**
+     * Test case for ingesting a comma separated file with a header, quoted columns and invalid rows.
+     * @throws IOException if the test files cannot be written.
+     */
+    @Test
+    void testIngest_CsvWithHeader() throws IOException {
+        final Path file = directory.resolve("catalog.csv");
+        Files.writeString(file, """
+                author,title,isbn
+                Enid Bliton,"Five on a Treasure Island, Part 1",0-061-96436-0
+
+                Enid Bliton,Famous five
+                "J. R. ""John"" Tolkien",The Hobbit,0-261-10221-4
+                """);
+
+        final IngestionReportDTO report = catalogIngestionService.ingest(file, "catalog.csv");
+
+        assertEquals(3, report.getProcessedRows());
+        assertEquals(2, report.getRegistered());
+        assertEquals(1, report.getRejected());
+        assertEquals("Five on a Treasure Island, Part 1", registeredBooks.get(0).getTitle());
+        assertEquals("J. R. \"John\" Tolkien", registeredBooks.get(1).getAuthor());
+        assertTrue(Files.readString(Path.of(report.getRejectsFile())).startsWith("4\tMissing columns\t"));
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    /**
+     * Test case for resuming an ingestion that failed, without registering any row twice.
+     * @throws IOException if the test files cannot be written.
+     */
+    @Test
+    void testIngest_ResumesFromCheckpoint() throws IOException {
+        final Path file = directory.resolve("catalog.tsv");
+        final int rows = AppConstant.BULK_CHUNK_SIZE * 3;
+        Files.write(file, IntStream.range(0, rows)
+                .mapToObj(row -> String.format("%010d\tTitle %d\tAuthor", row, row))
+                .toList());
+        final String checkpoint = "catalog.tsv";
+
+        when(libraryBookService.registerBookBatch(anyList()))
+                .thenAnswer(invocation -> registerAll(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> catalogIngestionService.ingest(file, checkpoint));
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, checkpoints.get(checkpoint).getLine());
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, registeredBooks.size());
+
+        doAnswer(invocation -> registerAll(invocation.getArgument(0))).when(libraryBookService).registerBookBatch(anyList());
+        final IngestionReportDTO report = catalogIngestionService.ingest(file, checkpoint);
+
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, report.getResumedFromLine());
+        assertEquals(rows, report.getRegistered());
+        assertEquals(rows, registeredBooks.size());
+        assertEquals(rows, registeredBooks.stream().map(LibraryBookRequestDTO::getIsbn).distinct().count());
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    /**
+     * Test case for resuming an ingestion whose block failed to commit, which must neither skip
+     * nor register twice the rows of that block.
+     * @throws IOException if the test files cannot be written.
+     */
+    @Test
+    void testIngest_ResumesAfterFailedCommit() throws IOException {
+        final Path file = directory.resolve("catalog.tsv");
+        final int rows = AppConstant.BULK_CHUNK_SIZE * 3;
+        Files.write(file, IntStream.range(0, rows)
+                .mapToObj(row -> String.format("%010d\tTitle %d\tAuthor", row, row))
+                .toList());
+
+        doAnswer(invocation -> commit())
+                .doThrow(new TransactionSystemException("connection lost"))
+                .when(transactionManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> catalogIngestionService.ingest(file, "catalog.tsv"));
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, registeredBooks.size());
+        assertEquals(AppConstant.BULK_CHUNK_SIZE, checkpoints.get("catalog.tsv").getLine());
+
+        rollback();
+        doAnswer(invocation -> commit()).when(transactionManager).commit(any());
+        final IngestionReportDTO report = catalogIngestionService.ingest(file, "catalog.tsv");
+
+        assertEquals(rows, report.getRegistered());
+        assertEquals(rows, registeredBooks.stream().map(LibraryBookRequestDTO::getIsbn).distinct().count());
+        assertEquals(rows, registeredBooks.size());
+    }
+
+    /**
+     * Applies the books and checkpoint of the current transaction.
+     *
+     * @return null, as the answer of a void method.
+     */
+    private Object commit() {
+        registeredBooks.addAll(pendingBooks);
+        if (pendingCheckpoint != null) {
+            checkpoints.put(pendingCheckpoint.getName(), pendingCheckpoint);
+        }
+        return rollback();
+    }
+
+    /**
+     * Drops the books and checkpoint of the current transaction.
+     *
+     * @return null, as the answer of a void method.
+     */
+    private Object rollback() {
+        pendingBooks.clear();
+        pendingCheckpoint = null;
+        return null;
+    }
+
+    /**
+     * Registers every book of a batch within the current transaction.
+     *
+     * @param books the books of the batch.
+     * @return the registered results of the batch.
+     */
+    private List<BookRegistrationResultDTO> registerAll(final List<LibraryBookRequestDTO> books) {
+        pendingBooks.addAll(books);
+        return IntStream.range(0, books.size())
+                .mapToObj(index -> BookRegistrationResultDTO.builder()
+                        .index(index)
+                        .isbn(books.get(index).getIsbn())
+                        .status(BookRegistrationResultDTO.Status.REGISTERED)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.dto.BorrowerRequestDTO;
+import com.collaberadigital.librarysystem.dto.BorrowingInfoDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
+import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.service.impl.GroupCommitBorrowingService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for borrows and returns applied in group commits, asserting that concurrent writes
+ * share a commit while each caller still gets its own result or error.
+ */
+@SpringBootTest(properties = {"library.group-commit.enabled=true", "library.group-commit.window=200ms"})
+@ActiveProfiles("dev")
+class GroupCommitBorrowingServiceTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime() % 100_000);
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private LibraryBookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test case for the group commit service replacing the borrowing service.
+     */
+    @Test
+    void testGroupCommitServiceIsUsed() {
+        assertInstanceOf(GroupCommitBorrowingService.class, unwrap(borrowingService));
+    }
+
+    /**
+     * Test case for concurrent borrows of different books committed together.
+     */
+    @Test
+    void testConcurrentBorrowsShareCommit() {
+        List<Supplier<BorrowingInfoDTO>> borrows = new ArrayList<>();
+        List<LibraryBookDTO> books = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            LibraryBookDTO book = registerBook();
+            long borrowerId = registerBorrower();
+            books.add(book);
+            borrows.add(() -> borrowingService.borrowBook(book.getId(), borrowerId));
+        }
+        DistributionSummary groupSizes = meterRegistry.get("library.group.commit.size").summary();
+        double groupedBefore = groupSizes.totalAmount();
+        long groupsBefore = groupSizes.count();
+
+        List<CompletableFuture<BorrowingInfoDTO>> results = runConcurrently(borrows);
+
+        for (int i = 0; i < books.size(); i++) {
+            assertEquals(books.get(i).getId(), results.get(i).join().getBookInfo().getId());
+            assertTrue(isBorrowed(books.get(i).getId()));
+        }
+        assertEquals(8, groupSizes.totalAmount() - groupedBefore);
+        assertTrue(groupSizes.count() - groupsBefore < 8);
+    }
+
+    /**
+     * Test case for a failing borrow leaving the other writes of its group in place.
+     */
+    @Test
+    void testFailingBorrowIsIsolated() {
+        LibraryBookDTO borrowedBook = registerBook();
+        LibraryBookDTO freeBook = registerBook();
+        borrowingService.borrowBook(borrowedBook.getId(), registerBorrower());
+        long borrowerId = registerBorrower();
+
+        List<CompletableFuture<BorrowingInfoDTO>> results = runConcurrently(List.of(
+                () -> borrowingService.borrowBook(borrowedBook.getId(), borrowerId),
+                () -> borrowingService.borrowBook(freeBook.getId(), borrowerId)));
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> results.get(0).join());
+        assertInstanceOf(CommonSystemException.class, failure.getCause());
+        assertEquals(freeBook.getId(), results.get(1).join().getBookInfo().getId());
+        assertTrue(isBorrowed(freeBook.getId()));
+        assertEquals(1, openBorrowings(borrowedBook.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select borrowing_count from borrower where id = ?", Long.class, borrowerId));
+    }
+
+    /**
+     * Test case for a borrow failing with a database error, which marks the group transaction
+     * rollback-only, leaving the writes of its group to run in their own transactions.
+     */
+    @Test
+    void testDatabaseErrorRunsGroupAlone() {
+        LibraryBookDTO inconsistentBook = registerBook();
+        LibraryBookDTO freeBook = registerBook();
+        long borrowerId = registerBorrower();
+        // An open borrowing of a book not marked as borrowed, rejected by the unique open borrowing index
+        jdbcTemplate.update("insert into borrow_map (id, version, book_id, borrower_id, borrow_date, active_book_id) "
+                + "values (?, 0, ?, ?, current_timestamp, ?)", 900_000_000L + SEQUENCE.incrementAndGet(),
+                inconsistentBook.getId(), borrowerId, inconsistentBook.getId());
+
+        List<CompletableFuture<BorrowingInfoDTO>> results = runConcurrently(List.of(
+                () -> borrowingService.borrowBook(inconsistentBook.getId(), borrowerId),
+                () -> borrowingService.borrowBook(freeBook.getId(), borrowerId)));
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> results.get(0).join());
+        assertInstanceOf(CommonSystemException.class, failure.getCause());
+        assertEquals(freeBook.getId(), results.get(1).join().getBookInfo().getId());
+        assertTrue(isBorrowed(freeBook.getId()));
+        assertFalse(isBorrowed(inconsistentBook.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select borrowing_count from borrower where id = ?", Long.class, borrowerId));
+    }
+
+    /**
+     * Test case for the same borrowing returned twice within one group, which succeeds only once.
+     */
+    @Test
+    void testDuplicateReturnInGroup() {
+        LibraryBookDTO book = registerBook();
+        long borrowingId = borrowingService.borrowBook(book.getId(), registerBorrower()).getId();
+
+        List<CompletableFuture<BorrowingInfoDTO>> results = runConcurrently(List.of(
+                () -> borrowingService.returnBook(borrowingId),
+                () -> borrowingService.returnBook(borrowingId)));
+
+        long returned = results.stream().filter(result -> !result.isCompletedExceptionally()).count();
+        assertEquals(1, returned);
+        assertFalse(isBorrowed(book.getId()));
+        assertEquals(0, openBorrowings(book.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from library_book b join library_book c "
+                + "on c.catalog_id = b.catalog_id where b.id = ? and c.borrowed = false", Integer.class, book.getId()));
+    }
+
+    private List<CompletableFuture<BorrowingInfoDTO>> runConcurrently(List<Supplier<BorrowingInfoDTO>> writes) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<BorrowingInfoDTO>> results = new ArrayList<>();
+        for (Supplier<BorrowingInfoDTO> write : writes) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return write.get();
+            }));
+        }
+        start.countDown();
+        results.forEach(result -> result.handle((value, error) -> value).join());
+        return results;
+    }
+
+    private LibraryBookDTO registerBook() {
+        LibraryBookRequestDTO request = TestDataFactory.createBookSuccessRequest();
+        request.setIsbn("979" + String.format("%07d", SEQUENCE.incrementAndGet()));
+        return bookService.registerBook(request);
+    }
+
+    private long registerBorrower() {
+        long sequence = SEQUENCE.incrementAndGet();
+        return borrowerService.registerBorrower(BorrowerRequestDTO.builder()
+                .name("Borrower " + sequence)
+                .email("group" + sequence + "@library.com")
+                .build()).getId();
+    }
+
+    private boolean isBorrowed(long bookId) {
+        return jdbcTemplate.queryForObject("select borrowed from library_book where id = ?", Boolean.class, bookId);
+    }
+
+    private long openBorrowings(long bookId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from borrow_map where book_id = ? and return_date is null", Long.class, bookId);
+    }
+
+    private static Object unwrap(Object bean) {
+        return AopTestUtils.getUltimateTargetObject(bean);
+    }
+}
@@ -1,25 +1,43 @@
 package com.collaberadigital.librarysystem.service;
 
+import com.collaberadigital.librarysystem.dto.BookMatchDTO;
+import com.collaberadigital.librarysystem.dto.BookRegistrationResultDTO;
+import com.collaberadigital.librarysystem.dto.BookSuggestionDTO;
+import com.collaberadigital.librarysystem.dto.CursorPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookPageResponseDTO;
 import com.collaberadigital.librarysystem.dto.LibraryBookRequestDTO;
+import com.collaberadigital.librarysystem.exception.CommonSystemException;
 import com.collaberadigital.librarysystem.exception.InvalidBookException;
 import com.collaberadigital.librarysystem.exception.ResourceNotFoundException;
 import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.index.BookSearchIndex;
+import com.collaberadigital.librarysystem.index.BookSuggestionIndex;
+import com.collaberadigital.librarysystem.model.BookCatalog;
 import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
 import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.repository.projection.LibraryBookView;
 import com.collaberadigital.librarysystem.service.impl.LibraryBookServiceImpl;
+import com.collaberadigital.librarysystem.util.AppConstant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +53,21 @@ class LibraryBookServiceImplTest {
     @Mock
     private LibraryBookRepository bookRepository;
 
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private LibraryCountService countService;
+
+    @Mock
+    private BookAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private BookSuggestionIndex suggestionIndex;
+
     @InjectMocks
     private LibraryBookServiceImpl bookService;
 
@@ -59,7 +92,8 @@ class LibraryBookServiceImplTest {
         LibraryBookRequestDTO requestDTO = TestDataFactory.createBookSuccessRequest();
         LibraryBook book = TestDataFactory.createBookEntity(requestDTO);
 
-        when(bookRepository.findByIsbn(anyString())).thenReturn(Collections.emptyList());
+        when(catalogRepository.findByIsbn(anyString())).thenReturn(Optional.empty());
+        when(catalogRepository.saveAndFlush(any(BookCatalog.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(bookRepository.save(any(LibraryBook.class))).thenReturn(book);
 
         LibraryBookDTO responseDTO = bookService.registerBook(requestDTO);
@@ -69,6 +103,29 @@ class LibraryBookServiceImplTest {
         assertEquals(requestDTO.getTitle(), responseDTO.getTitle());
         assertEquals(requestDTO.getAuthor(), responseDTO.getAuthor());
         verify(bookRepository, times(1)).save(any(LibraryBook.class));
+        verify(catalogRepository, times(1)).saveAndFlush(argThat(catalog -> catalog.getTotalCopies() == 1));
+        verify(availabilityIndex, times(1)).recordRegistered();
+        verify(searchIndex, times(1)).recordRegistered(argThat(books -> books.size() == 1));
+    }
+
+    /**
+     * Test case for registering another copy of a registered ISBN, which only updates the
+     * copy counters of its catalog entry.
+     */
+    @Test
+    void testRegisterBook_AdditionalCopy() {
+        LibraryBookRequestDTO requestDTO = TestDataFactory.createBookSuccessRequest();
+        BookCatalog catalog = TestDataFactory.createCatalogEntity(requestDTO);
+
+        when(catalogRepository.findByIsbn(requestDTO.getIsbn())).thenReturn(Optional.of(catalog));
+        when(bookRepository.save(any(LibraryBook.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LibraryBookDTO responseDTO = bookService.registerBook(requestDTO);
+
+        assertEquals(requestDTO.getTitle(), responseDTO.getTitle());
+        verify(catalogRepository, times(1)).addCopies(catalog.getId(), 1);
+        verify(catalogRepository, never()).saveAndFlush(any(BookCatalog.class));
+        verify(bookRepository, never()).findByCatalogIsbn(anyString());
     }
 
     /**
@@ -77,12 +134,53 @@ class LibraryBookServiceImplTest {
     @Test
     void testRegisterBook_InvalidBookException() {
         LibraryBookRequestDTO requestDTO = TestDataFactory.createBookSuccessRequest();
-        LibraryBook existingBook = TestDataFactory.createBookEntity(requestDTO);
-        existingBook.setAuthor("Different Author");
+        BookCatalog existingCatalog = TestDataFactory.createCatalogEntity(requestDTO);
+        existingCatalog.setAuthor("Different Author");
 
-        when(bookRepository.findByIsbn(anyString())).thenReturn(Collections.singletonList(existingBook));
+        when(catalogRepository.findByIsbn(anyString())).thenReturn(Optional.of(existingCatalog));
 
         assertThrows(InvalidBookException.class, () -> bookService.registerBook(requestDTO));
+        verify(catalogRepository, never()).addCopies(anyLong(), anyInt());
+        verify(bookRepository, never()).save(any(LibraryBook.class));
+    }
+
+    /**
+     * Test case for registering a batch of books, rejecting the books that conflict with
+     * registered or batch ISBNs.
+     */
+    @Test
+    void testRegisterBookBatch_RejectsInconsistentIsbns() {
+        LibraryBookRequestDTO registered = TestDataFactory.createBookSuccessRequest();
+        LibraryBookRequestDTO conflicting = TestDataFactory.createBookSuccessRequest();
+        conflicting.setAuthor("Different Author");
+        LibraryBookRequestDTO newIsbn = LibraryBookRequestDTO.builder()
+                .isbn("0-061-96436-1").title("Famous five").author("Enid Bliton").build();
+        LibraryBookRequestDTO conflictingNewIsbn = LibraryBookRequestDTO.builder()
+                .isbn("0-061-96436-1").title("Famous six").author("Enid Bliton").build();
+
+        BookCatalog registeredCatalog = TestDataFactory.createCatalogEntity(registered);
+        when(catalogRepository.findByIsbnIn(anyCollection())).thenReturn(List.of(registeredCatalog));
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<LibraryBook> books = invocation.getArgument(0);
+            books.forEach(book -> book.setId(10L));
+            return books;
+        });
+
+        List<BookRegistrationResultDTO> results = bookService.registerBookBatch(
+                List.of(registered, conflicting, newIsbn, conflictingNewIsbn));
+
+        assertEquals(4, results.size());
+        assertEquals(BookRegistrationResultDTO.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getBookId());
+        assertEquals(BookRegistrationResultDTO.Status.REJECTED, results.get(1).getStatus());
+        assertEquals(BookRegistrationResultDTO.Status.REGISTERED, results.get(2).getStatus());
+        assertEquals(BookRegistrationResultDTO.Status.REJECTED, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+        verify(catalogRepository, times(1)).findByIsbnIn(anyCollection());
+        verify(catalogRepository, never()).findByIsbn(anyString());
+        verify(catalogRepository, times(1)).addCopies(registeredCatalog.getId(), 1);
+        verify(catalogRepository, times(1)).saveAll(argThat((List<BookCatalog> catalogs) -> catalogs.size() == 1
+                && catalogs.get(0).getTotalCopies() == 1 && "Famous five".equals(catalogs.get(0).getTitle())));
     }
 
     /**
@@ -100,9 +198,9 @@ class LibraryBookServiceImplTest {
 
         assertNotNull(responseDTO);
         assertEquals(book.getId(), responseDTO.getId());
-        assertEquals(book.getIsbn(), responseDTO.getIsbn());
-        assertEquals(book.getTitle(), responseDTO.getTitle());
-        assertEquals(book.getAuthor(), responseDTO.getAuthor());
+        assertEquals(book.getCatalog().getIsbn(), responseDTO.getIsbn());
+        assertEquals(book.getCatalog().getTitle(), responseDTO.getTitle());
+        assertEquals(book.getCatalog().getAuthor(), responseDTO.getAuthor());
     }
 
     /**
@@ -122,18 +220,41 @@ class LibraryBookServiceImplTest {
      */
     @Test
     void testGetAllBooks_Success() {
-        List<LibraryBook> books = Collections.singletonList(new LibraryBook());
-        Page<LibraryBook> pageBooks = new PageImpl<>(books);
+        List<LibraryBookView> books = Collections.singletonList(TestDataFactory.createBookView(
+                TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest())));
+        Slice<LibraryBookView> sliceBooks = new SliceImpl<>(books, PageRequest.of(pageNo, pageSize), false);
 
-        when(bookRepository.findAll(any(PageRequest.class))).thenReturn(pageBooks);
+        when(bookRepository.findAllViews(any(PageRequest.class))).thenReturn(sliceBooks);
+        when(countService.countBooks()).thenReturn(25L);
 
-        LibraryBookPageResponseDTO response = bookService.getAllBooks(pageNo, pageSize, sortBy, sortDir);
+        LibraryBookPageResponseDTO response = bookService.getAllBooks(pageNo, pageSize, sortBy, sortDir, true);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
-        assertEquals(pageBooks.getTotalElements(), response.getTotalElements());
-        assertEquals(pageBooks.getTotalPages(), response.getTotalPages());
-        verify(bookRepository, times(1)).findAll(any(PageRequest.class));
+        assertEquals(25L, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+        assertTrue(response.isLast());
+        verify(bookRepository, times(1)).findAllViews(any(PageRequest.class));
+    }
+
+    /**
+     * Test case for retrieving all books without the total, which must not count the books.
+     */
+    @Test
+    void testGetAllBooks_WithoutTotal() {
+        List<LibraryBookView> books = Collections.singletonList(TestDataFactory.createBookView(
+                TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest())));
+        Slice<LibraryBookView> sliceBooks = new SliceImpl<>(books, PageRequest.of(pageNo, pageSize), true);
+
+        when(bookRepository.findAllViews(any(PageRequest.class))).thenReturn(sliceBooks);
+
+        LibraryBookPageResponseDTO response = bookService.getAllBooks(pageNo, pageSize, sortBy, sortDir, false);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(-1, response.getTotalElements());
+        assertEquals(-1, response.getTotalPages());
+        assertFalse(response.isLast());
+        verifyNoInteractions(countService);
     }
 
     /**
@@ -141,18 +262,175 @@ class LibraryBookServiceImplTest {
      */
     @Test
     void testGetAllAvailableBorrow_Success() {
-        List<LibraryBook> books = Collections.singletonList(new LibraryBook());
-        Page<LibraryBook> pageBooks = new PageImpl<>(books);
+        List<LibraryBookView> books = Collections.singletonList(TestDataFactory.createBookView(
+                TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest())));
+        Slice<LibraryBookView> sliceBooks = new SliceImpl<>(books, PageRequest.of(pageNo, pageSize), false);
 
-        when(bookRepository.findByBorrowed(anyBoolean(), any(PageRequest.class))).thenReturn(pageBooks);
+        when(bookRepository.findViewsByBorrowed(anyBoolean(), any(PageRequest.class))).thenReturn(sliceBooks);
+        when(countService.countAvailableBooks()).thenReturn(1L);
 
-        LibraryBookPageResponseDTO response = bookService.getAllAvailableBorrow(pageNo, pageSize, sortBy, sortDir);
+        LibraryBookPageResponseDTO response = bookService.getAllAvailableBorrow(pageNo, pageSize, sortBy, sortDir, true);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
-        assertEquals(pageBooks.getTotalElements(), response.getTotalElements());
-        assertEquals(pageBooks.getTotalPages(), response.getTotalPages());
+        assertEquals(1L, response.getTotalElements());
+        assertEquals(1, response.getTotalPages());
         verify(bookRepository, times(1))
-                .findByBorrowed(anyBoolean(), any(PageRequest.class));
+                .findViewsByBorrowed(anyBoolean(), any(PageRequest.class));
+    }
+
+    /**
+     * Test case for available books selected from the availability index, loading only the
+     * page's rows and leaving out the ones borrowed since the index was read.
+     */
+    @Test
+    void testGetAllAvailableBorrow_FromIndex() {
+        when(availabilityIndex.findAvailable("title", true, 0, 3)).thenReturn(Optional.of(
+                new BookAvailabilityIndex.AvailablePage(List.of(3L, 1L, 2L), 5)));
+        when(bookRepository.findViewsByIdIn(List.of(3L, 1L, 2L))).thenReturn(List.of(
+                new LibraryBookView(1L, "9780000000001", "Alpha", "Author", false),
+                new LibraryBookView(2L, "9780000000002", "Beta", "Author", true),
+                new LibraryBookView(3L, "9780000000003", "Aardvark", "Author", false)));
+
+        LibraryBookPageResponseDTO response = bookService.getAllAvailableBorrow(0, 3, "title", "asc", true);
+
+        assertEquals(List.of(3L, 1L), response.getContent().stream().map(LibraryBookDTO::getId).toList());
+        assertEquals(2, response.getNumberOfElements());
+        assertEquals(5L, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+        assertFalse(response.isLast());
+        verify(bookRepository, never()).findViewsByBorrowed(anyBoolean(), any(PageRequest.class));
+        verifyNoInteractions(countService);
+    }
+
+    /**
+     * Test case for searching books, loading only the page's rows in the order of the index.
+     */
+    @Test
+    void testSearchBooks_Success() {
+        when(searchIndex.search("zola", 0, 2)).thenReturn(Optional.of(
+                new BookSearchIndex.SearchPage(List.of(2L, 1L), 3)));
+        when(bookRepository.findViewsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                new LibraryBookView(1L, "9780000000001", "Germinal", "Emile Zola", true),
+                new LibraryBookView(2L, "9780000000002", "Nana", "Emile Zola", false)));
+
+        LibraryBookPageResponseDTO response = bookService.searchBooks("zola", 0, 2);
+
+        assertEquals(List.of(2L, 1L), response.getContent().stream().map(LibraryBookDTO::getId).toList());
+        assertEquals(3L, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+        assertFalse(response.isLast());
+    }
+
+    /**
+     * Test case for searching books before the search index is built.
+     */
+    @Test
+    void testSearchBooks_IndexNotBuilt() {
+        when(searchIndex.search(anyString(), anyInt(), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(CommonSystemException.class, () -> bookService.searchBooks("zola", 0, 10));
+        verifyNoInteractions(bookRepository);
+    }
+
+    /**
+     * Test case for suggesting titles and authors, with the limit capped.
+     */
+    @Test
+    void testSuggestBooks_Success() {
+        when(suggestionIndex.suggest("zol", AppConstant.MAX_SUGGESTION_LIMIT)).thenReturn(Optional.of(List.of(
+                new BookSuggestionIndex.Suggestion("Emile Zola", BookSuggestionIndex.Field.AUTHOR, 3),
+                new BookSuggestionIndex.Suggestion("Zola: A Life", BookSuggestionIndex.Field.TITLE, 1))));
+
+        List<BookSuggestionDTO> suggestions = bookService.suggestBooks("zol", 100);
+
+        assertEquals(List.of(
+                new BookSuggestionDTO("Emile Zola", BookSuggestionDTO.Type.AUTHOR, 3),
+                new BookSuggestionDTO("Zola: A Life", BookSuggestionDTO.Type.TITLE, 1)), suggestions);
+        verifyNoInteractions(bookRepository, catalogRepository);
+    }
+
+    /**
+     * Test case for suggesting titles and authors before the suggestion index is built.
+     */
+    @Test
+    void testSuggestBooks_IndexNotBuilt() {
+        when(suggestionIndex.suggest(anyString(), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(CommonSystemException.class, () -> bookService.suggestBooks("zol", 10));
+    }
+
+    /**
+     * Test case for looking up books with typos, loading only the matched rows in the order of
+     * the index, with the distance and limit capped.
+     */
+    @Test
+    void testLookupBooks_Success() {
+        when(searchIndex.lookup("germnal", AppConstant.MAX_LOOKUP_DISTANCE, AppConstant.MAX_LOOKUP_LIMIT))
+                .thenReturn(Optional.of(List.of(
+                        new BookSearchIndex.LookupMatch(2L, 1),
+                        new BookSearchIndex.LookupMatch(1L, 2))));
+        when(bookRepository.findViewsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                new LibraryBookView(1L, "9780000000001", "Germinal II", "Emile Zola", false),
+                new LibraryBookView(2L, "9780000000002", "Germinal", "Emile Zola", true)));
+
+        List<BookMatchDTO> matches = bookService.lookupBooks("germnal", 5, 100);
+
+        assertEquals(List.of(2L, 1L), matches.stream().map(match -> match.getBook().getId()).toList());
+        assertEquals(List.of(1, 2), matches.stream().map(BookMatchDTO::getDistance).toList());
+        assertTrue(matches.get(0).getBook().isBorrowed());
+    }
+
+    /**
+     * Test case for looking up books before the search index is built.
+     */
+    @Test
+    void testLookupBooks_IndexNotBuilt() {
+        when(searchIndex.lookup(anyString(), anyInt(), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(CommonSystemException.class, () -> bookService.lookupBooks("germnal", 2, 10));
+        verifyNoInteractions(bookRepository);
+    }
+
+    /**
+     * Test case for scrolling through books with a continuation token.
+     */
+    @Test
+    void testScrollAllBooks_Success() {
+        LibraryBook book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        Window<LibraryBook> firstWindow = Window.from(Collections.singletonList(book),
+                index -> ScrollPosition.forward(Map.of("title", book.getCatalog().getTitle(), "id", book.getId())), true);
+
+        when(bookRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(firstWindow);
+
+        CursorPageResponseDTO<LibraryBookDTO> firstPage = bookService.scrollAllBooks(null, 1, sortBy, sortDir);
+
+        assertEquals(1, firstPage.getContent().size());
+        assertFalse(firstPage.isLast());
+        assertNotNull(firstPage.getNextCursor());
+
+        when(bookRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+
+        CursorPageResponseDTO<LibraryBookDTO> lastPage = bookService.scrollAllBooks(
+                firstPage.getNextCursor(), 1, "id", "desc");
+
+        assertTrue(lastPage.isLast());
+        assertNull(lastPage.getNextCursor());
+        verify(bookRepository).findBy(
+                eq(ScrollPosition.forward(Map.of("title", book.getCatalog().getTitle(), "id", book.getId()))),
+                eq(Sort.by(Sort.Direction.ASC, "title").and(Sort.by(Sort.Direction.ASC, "id"))),
+                eq(Limit.of(1)));
+    }
+
+    /**
+     * Test case for scrolling through books by a sort key that is not index-backed.
+     */
+    @Test
+    void testScrollAllBooks_UnsupportedSortKey() {
+        assertThrows(CommonSystemException.class,
+                () -> bookService.scrollAllBooks(null, pageSize, "author", sortDir));
+        verify(bookRepository, never()).findBy(any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class));
     }
 }
@@ -0,0 +1,168 @@
+package com.collaberadigital.librarysystem.service;
+
+import com.collaberadigital.librarysystem.config.CacheConfig;
+import com.collaberadigital.librarysystem.factory.TestDataFactory;
+import com.collaberadigital.librarysystem.aspect.BookLocks;
+import com.collaberadigital.librarysystem.index.BookAvailabilityIndex;
+import com.collaberadigital.librarysystem.index.BookSearchIndex;
+import com.collaberadigital.librarysystem.index.BookSuggestionIndex;
+import com.collaberadigital.librarysystem.index.BorrowerEmailFilter;
+import com.collaberadigital.librarysystem.index.BorrowerSearchIndex;
+import com.collaberadigital.librarysystem.model.Borrower;
+import com.collaberadigital.librarysystem.model.Borrowing;
+import com.collaberadigital.librarysystem.model.LibraryBook;
+import com.collaberadigital.librarysystem.repository.BookCatalogRepository;
+import com.collaberadigital.librarysystem.repository.BorrowerRepository;
+import com.collaberadigital.librarysystem.repository.BorrowingRepository;
+import com.collaberadigital.librarysystem.repository.LibraryBookRepository;
+import com.collaberadigital.librarysystem.service.impl.BorrowerServiceImpl;
+import com.collaberadigital.librarysystem.service.impl.BorrowingServiceImpl;
+import com.collaberadigital.librarysystem.service.impl.LibraryCountServiceImpl;
+import com.collaberadigital.librarysystem.service.impl.LibraryBookServiceImpl;
+import com.collaberadigital.librarysystem.util.AppConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the caching of book and borrower lookups and the eviction of books on borrow and return.
+ */
+@SpringJUnitConfig(classes = {CacheConfig.class, LibraryBookServiceImpl.class,
+        BorrowerServiceImpl.class, BorrowingServiceImpl.class, LibraryCountServiceImpl.class})
+@TestPropertySource(properties = {"library.cache.spec=maximumSize=100,expireAfterWrite=1m",
+        "library.cache.count-spec=expireAfterWrite=1m"})
+class LibraryCacheTest {
+
+    @MockBean
+    private LibraryBookRepository bookRepository;
+
+    @MockBean
+    private BorrowerRepository borrowerRepository;
+
+    @MockBean
+    private BorrowingRepository borrowingRepository;
+
+    @MockBean
+    private BookCatalogRepository catalogRepository;
+
+    @MockBean
+    private BookAvailabilityIndex availabilityIndex;
+
+    @MockBean
+    private BookLocks bookLocks;
+
+    @MockBean
+    private BookSearchIndex searchIndex;
+
+    @MockBean
+    private BookSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private BorrowerSearchIndex borrowerSearchIndex;
+
+    @MockBean
+    private BorrowerEmailFilter borrowerEmailFilter;
+
+    @Autowired
+    private LibraryBookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private LibraryCountService countService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private LibraryBook book;
+
+    private Borrower borrower;
+
+    /**
+     * Set up method to clear the caches and create test data.
+     */
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        book = TestDataFactory.createBookEntity(TestDataFactory.createBookSuccessRequest());
+        borrower = TestDataFactory.createBorrowerEntity(TestDataFactory.createBorrowerSuccessRequest());
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(borrowerRepository.findById(borrower.getId())).thenReturn(Optional.of(borrower));
+    }
+
+    /**
+     * Test case for repeated lookups served from the cache.
+     */
+    @Test
+    void testLookupsAreCached() {
+        bookService.getBookById(book.getId());
+        bookService.getBookById(book.getId());
+        borrowerService.getBorrowerById(borrower.getId());
+        borrowerService.getBorrowerById(borrower.getId());
+
+        verify(bookRepository, times(1)).findById(book.getId());
+        verify(borrowerRepository, times(1)).findById(borrower.getId());
+    }
+
+    /**
+     * Test case for borrowing and returning a book, which evicts the cached book.
+     */
+    @Test
+    void testBorrowAndReturnEvictBook() {
+        when(bookRepository.claimForBorrow(book.getId())).thenReturn(1);
+        when(bookRepository.getReferenceById(book.getId())).thenReturn(book);
+        when(borrowerRepository.getReferenceById(borrower.getId())).thenReturn(borrower);
+
+        assertFalse(bookService.getBookById(book.getId()).isBorrowed());
+        borrowingService.borrowBook(book.getId(), borrower.getId());
+
+        verify(borrowerRepository, times(1)).findById(borrower.getId());
+        assertNull(cacheManager.getCache(AppConstant.BOOK_CACHE).get(book.getId()));
+
+        book.setBorrowed(true);
+        assertTrue(bookService.getBookById(book.getId()).isBorrowed());
+
+        Borrowing borrowing = TestDataFactory.createBorrowingEntity(borrower, book);
+        when(borrowingRepository.findById(borrowing.getId())).thenReturn(Optional.of(borrowing));
+        when(bookRepository.releaseBorrowed(book.getId())).thenReturn(1);
+        when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
+        borrowingService.returnBook(borrowing.getId());
+
+        assertNull(cacheManager.getCache(AppConstant.BOOK_CACHE).get(book.getId()));
+        book.setBorrowed(false);
+        assertFalse(bookService.getBookById(book.getId()).isBorrowed());
+        verify(bookRepository, times(3)).findById(book.getId());
+    }
+
+    /**
+     * Test case for the book totals served from the count cache.
+     */
+    @Test
+    void testBookCountsAreCached() {
+        when(catalogRepository.sumTotalCopies()).thenReturn(42L);
+        when(bookRepository.countByBorrowedFalse()).thenReturn(40L);
+
+        assertEquals(42L, countService.countBooks());
+        assertEquals(42L, countService.countBooks());
+        assertEquals(40L, countService.countAvailableBooks());
+        assertEquals(40L, countService.countAvailableBooks());
+
+        verify(catalogRepository, times(1)).sumTotalCopies();
+        verify(bookRepository, times(1)).countByBorrowedFalse();
+    }
+}